@@ -0,0 +1,84 @@
+package config;
+
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide registry of MyBatis SqlSessionFactory instances.
+ * Each configuration resource is parsed exactly once, the first time it is requested,
+ * so every DatabaseManager in the application shares the same mapper configuration
+ * and the same pooled data source.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class SqlSessionFactoryRegistry {
+
+    /** The default MyBatis configuration resource used by the application */
+    public static final String DEFAULT_RESOURCE = "mybatis-config.xml";
+
+    /** Factories that have already been built, keyed by configuration resource */
+    private static final Map<String, SqlSessionFactory> FACTORIES = new ConcurrentHashMap<>();
+
+    /** Number of factories built since the application started */
+    private static final AtomicInteger BUILD_COUNT = new AtomicInteger();
+
+    private SqlSessionFactoryRegistry() {
+    }
+
+    /**
+     * Gets the shared factory for the default configuration resource.
+     *
+     * @return the shared SqlSessionFactory
+     */
+    public static SqlSessionFactory getFactory() {
+        return getFactory(DEFAULT_RESOURCE);
+    }
+
+    /**
+     * Gets the shared factory for the given configuration resource, building it on first use.
+     * Concurrent callers asking for the same resource block until the single build has finished.
+     *
+     * @param resource the classpath location of the MyBatis configuration file
+     * @return the shared SqlSessionFactory for the resource
+     * @throws UncheckedIOException if the configuration resource cannot be read
+     */
+    public static SqlSessionFactory getFactory(String resource) {
+        return FACTORIES.computeIfAbsent(resource, SqlSessionFactoryRegistry::build);
+    }
+
+    /**
+     * Gets the number of factories built so far.
+     * Useful for verifying that screens do not rebuild the MyBatis configuration.
+     *
+     * @return the number of factory builds since startup
+     */
+    public static int getBuildCount() {
+        return BUILD_COUNT.get();
+    }
+
+    /**
+     * Parses the configuration resource and builds a new factory.
+     *
+     * @param resource the classpath location of the MyBatis configuration file
+     * @return the newly built SqlSessionFactory
+     */
+    private static SqlSessionFactory build(String resource) {
+        try (InputStream inputStream = Resources.getResourceAsStream(resource)) {
+            SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(inputStream);
+            BUILD_COUNT.incrementAndGet();
+            return factory;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load MyBatis configuration " + resource, e);
+        }
+    }
+}
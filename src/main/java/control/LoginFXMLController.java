@@ -6,12 +6,16 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.Alert;
 import javafx.event.ActionEvent;
+import javafx.application.Platform;
+import model.AsyncModel;
 import model.Model;
 import view.RecipeSelectView;
 import view.SignupView;
 import javafx.stage.Stage;
 import javafx.scene.Node;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * FXML Controller class for the login view.
  * This class handles user authentication including login validation,
@@ -41,6 +45,9 @@ public class LoginFXMLController {
     
     /** Model instance for business logic operations */
     private Model model;
+
+    /** Runs model calls off the JavaFX thread */
+    private final AsyncModel asyncModel = new AsyncModel(() -> model);
     
     /**
      * Initializes the controller after FXML loading.
@@ -49,6 +56,7 @@ public class LoginFXMLController {
     @FXML
     public void initialize() {
         model = new Model();
+        asyncModel.cancelWhenHidden(loginButton);
     }
 
     /**
@@ -74,17 +82,20 @@ public class LoginFXMLController {
             return;
         }
 
-        // Attempt login
-        boolean loginSuccessful = model.login(username, password);
-
-        if (loginSuccessful) {
-            // Close current window and open recipe selection view
-            Node source = (Node) event.getSource();
-            Stage currentStage = (Stage) source.getScene().getWindow();
-            currentStage.close();
-            RecipeSelectView recipeSelectView = new RecipeSelectView();
-            recipeSelectView.show();
-        }
+        // Attempt login in the background; the button stays disabled until the answer arrives
+        Node source = (Node) event.getSource();
+        loginButton.setDisable(true);
+        CompletableFuture<Boolean> login = asyncModel.login(username, password);
+        login.whenComplete((result, error) -> Platform.runLater(() -> loginButton.setDisable(false)));
+        asyncModel.onFxThread(login, loginSuccessful -> {
+            if (loginSuccessful) {
+                // Close current window and open recipe selection view
+                Stage currentStage = (Stage) source.getScene().getWindow();
+                currentStage.close();
+                RecipeSelectView recipeSelectView = new RecipeSelectView();
+                recipeSelectView.show();
+            }
+        });
     }
 
     /**
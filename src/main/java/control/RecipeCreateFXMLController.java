@@ -3,11 +3,15 @@ package control;
 import dao.mappers.PreparationStep;
 import dao.mappers.Recipe;
 import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeTag;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
+import javafx.collections.FXCollections;
+import javafx.scene.control.cell.ComboBoxTableCell;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.control.cell.TextFieldTableCell;
 import javafx.scene.image.Image;
@@ -15,18 +19,27 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import javafx.util.StringConverter;
 import javafx.util.converter.FloatStringConverter;
 import javafx.util.converter.IntegerStringConverter;
+import model.AsyncModel;
 import model.Model;
+import service.NutritionColumns;
 import service.NutritionService;
 import view.RecipeCreateView;
 
 import java.io.File;
 import java.net.URL;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * RecipeCreateFXMLController manages the user interface and business logic for recipe creation and editing.
@@ -52,8 +65,10 @@ public class RecipeCreateFXMLController implements Initializable {
     @FXML private TabPane tabPane;
     @FXML private Tab ingredientsTab;
     @FXML private Tab instructionTab;
+    @FXML private Tab tagsTab;
     @FXML private TableView<RecipeIngredient> tableView;
     @FXML private TableView<PreparationStep> instructionTableView;
+    @FXML private TableView<RecipeTag> tagTableView;
     @FXML private Button backButton;
     @FXML private Button addButton;
     @FXML private Button deleteButton;
@@ -61,13 +76,35 @@ public class RecipeCreateFXMLController implements Initializable {
     @FXML private Button clearButton;
     @FXML private Button submitButton;
 
+    /** Facets a recipe can be tagged with, with their labels */
+    private static final Map<String, String> FACET_LABELS = new LinkedHashMap<>();
+    /** Longest tag value the recipe_tag table holds */
+    private static final int MAX_TAG_LENGTH = 45;
+
+    static {
+        FACET_LABELS.put(RecipeTag.CATEGORY, "Category");
+        FACET_LABELS.put(RecipeTag.CUISINE, "Cuisine");
+        FACET_LABELS.put(RecipeTag.MEAL_TYPE, "Meal");
+        FACET_LABELS.put(RecipeTag.DIET, "Diet");
+        FACET_LABELS.put(RecipeTag.ALLERGEN, "Allergen");
+    }
+
     private boolean isEdited = false;
     private Integer editedRecipeId = 0;
 
+    private Model model = new Model();
+    /** Runs database and image work off the JavaFX thread; pending calls are cancelled when the window closes */
+    private final AsyncModel asyncModel = new AsyncModel(() -> model);
+    /** Images uploaded in this editor, kept from collection until the editor is saved or closed */
+    private final List<Path> uploadedImages = new ArrayList<>();
+
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        asyncModel.cancelWhenHidden(tableView);
+        AsyncModel.whenHidden(tableView, this::releaseUploadedImages);
         setupIngredientsTable();
         setupInstructionsTable();
+        setupTagsTable();
         updateNutritionPreview();
     }
 
@@ -90,6 +127,8 @@ public class RecipeCreateFXMLController implements Initializable {
             PreparationStep newStep = new PreparationStep();
             newStep.setStep(instructionTableView.getItems().size() + 1);
             instructionTableView.getItems().add(newStep);
+        } else if (tagsTab.isSelected()) {
+            tagTableView.getItems().add(new RecipeTag(0, RecipeTag.CATEGORY, ""));
         }
     }
 
@@ -107,6 +146,11 @@ public class RecipeCreateFXMLController implements Initializable {
             if (selected != null) {
                 instructionTableView.getItems().remove(selected);
             }
+        } else if (tagsTab.isSelected()) {
+            RecipeTag selected = tagTableView.getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                tagTableView.getItems().remove(selected);
+            }
         }
     }
 
@@ -120,13 +164,38 @@ public class RecipeCreateFXMLController implements Initializable {
         
         File selectedFile = fileChooser.showOpenDialog(uploadButton.getScene().getWindow());
         if (selectedFile != null) {
-            // Copy the image to the project directory and update the image view
-            Model model = new Model();
-            String duplicatedImagePath = model.duplicateImage(selectedFile.getAbsolutePath()).toString();
-            updateImage(duplicatedImagePath);
+            // Hash and copy the image into the image store in the background, then update the image view
+            uploadButton.setDisable(true);
+            CompletableFuture<Path> duplicate = asyncModel.duplicateImage(selectedFile.getAbsolutePath());
+            duplicate.whenComplete((result, error) -> Platform.runLater(() -> uploadButton.setDisable(false)));
+            asyncModel.onFxThread(duplicate, duplicatedImage -> {
+                if (duplicatedImage == null) {
+                    Model.displayAlert(Alert.AlertType.ERROR, "Error", "Failed to store the selected image.");
+                    return;
+                }
+                uploadedImages.add(duplicatedImage);
+                String duplicatedImagePath = duplicatedImage.toString();
+                updateImage(duplicatedImagePath);
+
+                // Generate the thumbnail and detail renditions while the form is filled in
+                Recipe renditionTarget = new Recipe();
+                renditionTarget.setImageUrl(duplicatedImagePath);
+                asyncModel.createImageRenditions(renditionTarget);
+            });
         }
     }
 
+    /**
+     * Releases the images uploaded in this editor; once saved, the recipe references the one it uses.
+     * An upload still running when the editor closes stays pinned until the application exits.
+     */
+    private void releaseUploadedImages() {
+        for (Path image : uploadedImages) {
+            model.releaseImage(image);
+        }
+        uploadedImages.clear();
+    }
+
     @FXML
     private void handleClearButton(ActionEvent event) {
         // Show confirmation dialog using project's standard format
@@ -142,6 +211,7 @@ public class RecipeCreateFXMLController implements Initializable {
                 cookingTimeTextField.clear();
                 tableView.getItems().clear();
                 instructionTableView.getItems().clear();
+                tagTableView.getItems().clear();
                 recipeImage.setImage(null);
                 updateNutritionPreview();
             }
@@ -151,29 +221,36 @@ public class RecipeCreateFXMLController implements Initializable {
 
     @FXML
     private void handleSubmitButton(ActionEvent event) {
-        // Handle the save logic directly in this controller
-        boolean saveSuccessful = saveRecipe();
-        
-        // Only close window and navigate if save was successful
-        if (saveSuccessful) {
+        // Validation runs here; the write itself runs in the background
+        CompletableFuture<Integer> save = saveRecipe();
+        if (save == null) {
+            return; // Validation failed, stay on current window so user can fix errors
+        }
+
+        submitButton.setDisable(true);
+        save.whenComplete((result, error) -> Platform.runLater(() -> submitButton.setDisable(false)));
+        asyncModel.onFxThread(save, recipeId -> {
+            if (recipeId == 0) {
+                Model.displayAlert(Alert.AlertType.ERROR, "Error", "Failed to save the recipe. Please try again.");
+                return; // Save failed, stay on current window
+            }
+            showSaveSuccess();
+
             // Close this window after saving
             Stage stage = (Stage) submitButton.getScene().getWindow();
             stage.close();
-            
+
             // Open recipe select view
             view.RecipeSelectView recipeSelectView = new view.RecipeSelectView();
             recipeSelectView.show();
-        }
-        // If save failed, stay on current window so user can fix errors
+        });
     }
 
     /**
-     * Save the recipe with all its ingredients and preparation steps
-     * @return true if save was successful, false if validation failed
+     * Validate the recipe and start saving it with all its ingredients and preparation steps
+     * @return the background save, completed with the recipe ID or 0 on failure, or null if validation failed
      */
-    private boolean saveRecipe() {
-        Model model = new Model();
-        
+    private CompletableFuture<Integer> saveRecipe() {
         // Retrieve input values
         String recipeName = recipeNameTextField.getText();
         String cookingTime = cookingTimeTextField.getText();
@@ -188,81 +265,52 @@ public class RecipeCreateFXMLController implements Initializable {
         )) {
             // Clear invalid fields but keep valid data
             clearInvalidRecipeFields(recipeName, cookingTime, preparationTime);
-            return false; // Validation failed, stay on current window
+            return null; // Validation failed, stay on current window
+        }
+        
+        // Check for duplicate ingredient names before saving
+        if (!validateUniqueIngredientNames()) {
+            return null; // Validation failed, stay on current window
+        }
+        
+        // Validate all numeric fields in ingredients
+        if (!validateIngredientNumericFields()) {
+            return null; // Validation failed, stay on current window
+        }
+
+        // Collect the tags, skipping empty rows and repeated values
+        List<RecipeTag> updatedRecipeTags = collectRecipeTags();
+        if (updatedRecipeTags == null) {
+            return null; // Validation failed, stay on current window
         }
         
         Recipe recipe;
-        Integer recipeId = 0;
         String fullImageUrl = recipeImage.getImage().getUrl().replace("file:", "");
-        String fileName = Paths.get(fullImageUrl).getFileName().toString();
         
         // Calculate total nutrition from ingredients
-        int totalCalories = 0;
-        double totalProtein = 0.0;
-        double totalCarbohydrates = 0.0;
-        double totalFat = 0.0;
-        double totalFiber = 0.0;
-        
-        for(RecipeIngredient ingredient : tableView.getItems()) {
-            if (ingredient.getUnitCalories() != null && ingredient.getUnitCalories() > 0) {
-                totalCalories += ingredient.getUnitCalories() * ingredient.getQuantity();
-                totalProtein += ingredient.getUnitProtein() * ingredient.getQuantity();
-                totalCarbohydrates += ingredient.getUnitCarbohydrates() * ingredient.getQuantity();
-                totalFat += ingredient.getUnitFat() * ingredient.getQuantity();
-            }
-        }
+        float[] totals = NutritionColumns.totalsOf(tableView.getItems());
         
-        // Create or update recipe based on editing status
+        // Build a new recipe or the edited one; nothing is written until every row is valid
         if(!isEdited) {
-            System.out.println(fileName);
-            recipe = new Recipe(0, recipeName, 1, Integer.parseInt(cookingTime), Integer.parseInt(preparationTime), "src/images/dishes/" + fileName);
-            // Set calculated nutrition values
-            recipe.setCalories(totalCalories);
-            recipe.setProtein(totalProtein);
-            recipe.setCarbohydrates(totalCarbohydrates);
-            recipe.setFat(totalFat);
-            recipe.setFiber(totalFiber);
-            recipeId = model.addRecipe(recipe);
+            recipe = new Recipe(0, recipeName, 1, Integer.parseInt(cookingTime), Integer.parseInt(preparationTime), fullImageUrl);
         } else {
-            recipe = new Recipe(editedRecipeId, recipeName, 1, Integer.parseInt(cookingTime), Integer.parseInt(preparationTime), recipeImage.getImage().getUrl().replace("file:", ""));
-            // Set calculated nutrition values
-            recipe.setCalories(totalCalories);
-            recipe.setProtein(totalProtein);
-            recipe.setCarbohydrates(totalCarbohydrates);
-            recipe.setFat(totalFat);
-            recipe.setFiber(totalFiber);
-            recipeId = editedRecipeId;
-            model.updateRecipe(recipe);
-        }
-        
-        // Check for duplicate ingredient names before saving
-        if (!validateUniqueIngredientNames()) {
-            if(!isEdited) {
-                model.deleteRecipe(recipeId);
-            }
-            return false; // Validation failed, stay on current window
+            recipe = new Recipe(editedRecipeId, recipeName, 1, Integer.parseInt(cookingTime), Integer.parseInt(preparationTime), fullImageUrl);
         }
+        // Set calculated nutrition values
+        recipe.setCalories(Math.round(totals[NutritionColumns.CALORIES]));
+        recipe.setProtein(totals[NutritionColumns.PROTEIN]);
+        recipe.setCarbohydrates(totals[NutritionColumns.CARBOHYDRATES]);
+        recipe.setFat(totals[NutritionColumns.FAT]);
+        recipe.setFiber(totals[NutritionColumns.FIBER]);
         
-        // Validate all numeric fields in ingredients
-        if (!validateIngredientNumericFields()) {
-            if(!isEdited) {
-                model.deleteRecipe(recipeId);
-            }
-            return false; // Validation failed, stay on current window
-        }
-        
-        // Prepare updated recipe ingredients
+        // Prepare recipe ingredients
         List<RecipeIngredient> updatedRecipeIngredients = new ArrayList<>();
         for(RecipeIngredient recipeIngredient: tableView.getItems()){
-            recipeIngredient.setRecipeId(recipeId);
             // Validate ingredient fields
             if(!model.validateRecipeIngredient(recipeIngredient.getName(), recipeIngredient.getQuantity(), recipeIngredient.getUnit())){
                 // Clear invalid ingredient fields but keep valid data
                 clearInvalidIngredientFields(recipeIngredient);
-                if(!isEdited) {
-                    model.deleteRecipe(recipeId);
-                }
-                return false; // Validation failed, stay on current window
+                return null; // Validation failed, stay on current window
             }
             
             // Auto-fill nutrition data if not manually entered and ingredient is recognized
@@ -275,43 +323,52 @@ public class RecipeCreateFXMLController implements Initializable {
                     recipeIngredient.setUnitProtein(nutritionData.protein / recipeIngredient.getQuantity());
                     recipeIngredient.setUnitFat(nutritionData.fat / recipeIngredient.getQuantity());
                     recipeIngredient.setUnitCarbohydrates(nutritionData.carbohydrates / recipeIngredient.getQuantity());
+                    recipeIngredient.setUnitFiber(nutritionData.fiber / recipeIngredient.getQuantity());
                 }
             }
-            // Directly add recipe ingredient when creating recipe
-            if(!isEdited) {
-                model.addRecipeIngredient(recipeIngredient);
-            }
-            // Temporarily store recipe ingredient to List when editing recipe
-            else {
-                updatedRecipeIngredients.add(recipeIngredient);
-            }
+            updatedRecipeIngredients.add(recipeIngredient);
         }
+
+        // Prepare preparation steps
+        List<PreparationStep> updatedPreparationSteps = new ArrayList<>(instructionTableView.getItems());
         
-        // Update recipe ingredients if editing
-        if(isEdited){
-            model.updateRecipeIngredient(recipeId, updatedRecipeIngredients);
-        }
+        // Look up or generate the card and detail renditions, then write the recipe,
+        // its ingredients, its steps and its tags in one transaction
+        return asyncModel.submit(m -> {
+            m.createImageRenditions(recipe);
+            return m.saveRecipeAggregate(recipe, updatedRecipeIngredients, updatedPreparationSteps, updatedRecipeTags);
+        });
+    }
 
-        // Prepare updated preparation steps
-        List<PreparationStep> updatedPreparationSteps = new ArrayList<>();
-        for(PreparationStep preparationStep : instructionTableView.getItems()){
-            preparationStep.setRecipeId(recipeId);
-            // Directly add recipe preparation step when creating recipe
-            if(!isEdited) {
-                model.addRecipePreparationStep(preparationStep);
+    /**
+     * Collect the tags of the tag table for saving
+     * @return the tags with trimmed values, without empty or repeated ones, or null if a value is too long
+     */
+    private List<RecipeTag> collectRecipeTags() {
+        List<RecipeTag> recipeTags = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (RecipeTag recipeTag : tagTableView.getItems()) {
+            String value = recipeTag.getValue() == null ? "" : recipeTag.getValue().trim();
+            if (value.isEmpty()) {
+                continue;
             }
-            // Temporarily store recipe preparation step to List when editing recipe
-            else{
-                updatedPreparationSteps.add(preparationStep);
+            if (value.length() > MAX_TAG_LENGTH) {
+                Model.displayAlert(Alert.AlertType.WARNING, "Warning",
+                    "Tag \"" + value + "\" is too long. Tags can have at most " + MAX_TAG_LENGTH + " characters.");
+                return null;
+            }
+            // The table compares tags ignoring case
+            if (seen.add(recipeTag.getFacet() + "\n" + value.toLowerCase(Locale.ROOT))) {
+                recipeTags.add(new RecipeTag(0, recipeTag.getFacet(), value));
             }
         }
-        
-        // Update preparation steps if editing
-        if(isEdited){
-            model.updateRecipePreparationStep(recipeId, updatedPreparationSteps);
-        }
-        
-        // Show success message with nutrition auto-fill info
+        return recipeTags;
+    }
+
+    /**
+     * Show the success message with nutrition auto-fill info
+     */
+    private void showSaveSuccess() {
         String message = "Recipe saved successfully!";
         int autoFilledCount = 0;
         for(RecipeIngredient ingredient : tableView.getItems()) {
@@ -323,8 +380,6 @@ public class RecipeCreateFXMLController implements Initializable {
             message += "\n\nAuto-filled nutrition data for " + autoFilledCount + " ingredients.";
         }
         Model.displayAlert(Alert.AlertType.INFORMATION,"Success", message);
-        
-        return true; // Save was successful
     }
 
     private void setupIngredientsTable() {
@@ -478,6 +533,46 @@ public class RecipeCreateFXMLController implements Initializable {
         instructionTableView.setEditable(true);
     }
 
+    private void setupTagsTable() {
+        StringConverter<String> facetConverter = new StringConverter<String>() {
+            @Override
+            public String toString(String facet) {
+                return facet == null ? "" : FACET_LABELS.getOrDefault(facet, facet);
+            }
+
+            @Override
+            public String fromString(String label) {
+                for (Map.Entry<String, String> facet : FACET_LABELS.entrySet()) {
+                    if (facet.getValue().equals(label)) {
+                        return facet.getKey();
+                    }
+                }
+                return label;
+            }
+        };
+        TableColumn<RecipeTag, String> facetColumn = new TableColumn<>("Facet");
+        facetColumn.setCellValueFactory(new PropertyValueFactory<>("facet"));
+        facetColumn.setCellFactory(ComboBoxTableCell.forTableColumn(facetConverter,
+            FXCollections.observableArrayList(FACET_LABELS.keySet())));
+        facetColumn.setPrefWidth(130);
+        facetColumn.setOnEditCommit(event -> {
+            RecipeTag tag = event.getRowValue();
+            tag.setFacet(event.getNewValue());
+        });
+
+        TableColumn<RecipeTag, String> valueColumn = new TableColumn<>("Value");
+        valueColumn.setCellValueFactory(new PropertyValueFactory<>("value"));
+        valueColumn.setCellFactory(TextFieldTableCell.forTableColumn());
+        valueColumn.setPrefWidth(440);
+        valueColumn.setOnEditCommit(event -> {
+            RecipeTag tag = event.getRowValue();
+            tag.setValue(event.getNewValue());
+        });
+
+        tagTableView.getColumns().addAll(facetColumn, valueColumn);
+        tagTableView.setEditable(true);
+    }
+
     private void autoFillNutrition(RecipeIngredient ingredient) {
         if (ingredient.getName() != null && !ingredient.getName().isEmpty() && 
             ingredient.getQuantity() != null && ingredient.getUnit() != null) {
@@ -490,30 +585,19 @@ public class RecipeCreateFXMLController implements Initializable {
                 ingredient.setUnitProtein(nutritionData.protein / ingredient.getQuantity());
                 ingredient.setUnitFat(nutritionData.fat / ingredient.getQuantity());
                 ingredient.setUnitCarbohydrates(nutritionData.carbohydrates / ingredient.getQuantity());
+                ingredient.setUnitFiber(nutritionData.fiber / ingredient.getQuantity());
                 tableView.refresh();
             }
         }
     }
 
     public void updateNutritionPreview() {
-        float totalCalories = 0;
-        float totalProtein = 0;
-        float totalFat = 0;
-        float totalCarbs = 0;
-
-        for (RecipeIngredient ingredient : tableView.getItems()) {
-            if (ingredient != null) {
-                totalCalories += ingredient.getTotalCalories();
-                totalProtein += ingredient.getTotalProtein();
-                totalFat += ingredient.getTotalFat();
-                totalCarbs += ingredient.getTotalCarbohydrates();
-            }
-        }
+        float[] totals = NutritionColumns.totalsOf(tableView.getItems());
 
-        previewCaloriesLabel.setText(String.format("%.0f", totalCalories));
-        previewProteinLabel.setText(String.format("%.1f", totalProtein));
-        previewFatLabel.setText(String.format("%.1f", totalFat));
-        previewCarbsLabel.setText(String.format("%.1f", totalCarbs));
+        previewCaloriesLabel.setText(String.format("%.0f", totals[NutritionColumns.CALORIES]));
+        previewProteinLabel.setText(String.format("%.1f", totals[NutritionColumns.PROTEIN]));
+        previewFatLabel.setText(String.format("%.1f", totals[NutritionColumns.FAT]));
+        previewCarbsLabel.setText(String.format("%.1f", totals[NutritionColumns.CARBOHYDRATES]));
     }
 
     public void updateImage(String imagePath) {
@@ -587,46 +671,56 @@ public class RecipeCreateFXMLController implements Initializable {
      */
     private void loadRecipeDataForEditing() {
         if (editedRecipeId != null && editedRecipeId > 0) {
-            try {
-                // Use Model to get recipe data
-                Model model = new Model();
-                model.getRecipes();
-                
-                // Get recipe basic data
-                model.getRecipeBasicData(editedRecipeId);
-                recipeNameTextField.setText(model.getRecipeName());
-                cookingTimeTextField.setText(String.valueOf(model.getCookingTime()));
-                preparationTextField.setText(String.valueOf(model.getPreparationTime()));
-                
-                // Load image if available
-                String imageUrl = model.getImagePath();
-                if (imageUrl != null && !imageUrl.isEmpty()) {
-                    try {
-                        Image image = new Image("file:" + imageUrl);
-                        recipeImage.setImage(image);
-                    } catch (Exception e) {
-                        System.err.println("Error loading image: " + e.getMessage());
-                    }
+            // Load recipe, ingredients and steps in a single background query
+            asyncModel.onFxThread(asyncModel.getRecipeAggregate(editedRecipeId), this::showRecipeForEditing);
+        }
+    }
+
+    /**
+     * Fill the form with a recipe loaded for editing
+     */
+    private void showRecipeForEditing(Recipe recipe) {
+        if (recipe == null) {
+            return;
+        }
+        try {
+            // Get recipe basic data
+            recipeNameTextField.setText(recipe.getRecipeName());
+            cookingTimeTextField.setText(String.valueOf(recipe.getCookingTime()));
+            preparationTextField.setText(String.valueOf(recipe.getPreparationTime()));
+
+            // Load image if available
+            String imageUrl = recipe.getImageUrl();
+            if (imageUrl != null && !imageUrl.isEmpty()) {
+                try {
+                    Image image = new Image("file:" + imageUrl);
+                    recipeImage.setImage(image);
+                } catch (Exception e) {
+                    System.err.println("Error loading image: " + e.getMessage());
                 }
-                
-                // Load ingredients
-                tableView.getItems().clear();
-                tableView.getItems().addAll(model.getIngredientByID(editedRecipeId));
-                
-                // Load instructions
-                instructionTableView.getItems().clear();
-                instructionTableView.getItems().addAll(model.getRecipePreparationSteps(editedRecipeId));
-                
-                // Update nutrition preview
-                updateNutritionPreview();
-                
-            } catch (Exception e) {
-                System.err.println("Error loading recipe data for editing: " + e.getMessage());
-                e.printStackTrace();
             }
+
+            // Load ingredients
+            tableView.getItems().clear();
+            tableView.getItems().addAll(recipe.getIngredients());
+
+            // Load instructions
+            instructionTableView.getItems().clear();
+            instructionTableView.getItems().addAll(recipe.getPreparationSteps());
+
+            // Load categories and tags
+            tagTableView.getItems().clear();
+            asyncModel.onFxThread(asyncModel.getRecipeTags(recipe.getRecipeId()), tagTableView.getItems()::setAll);
+
+            // Update nutrition preview
+            updateNutritionPreview();
+
+        } catch (Exception e) {
+            System.err.println("Error loading recipe data for editing: " + e.getMessage());
+            e.printStackTrace();
         }
     }
-    
+
     /**
      * Validates that all ingredient names in the recipe are unique.
      * Performs case-insensitive comparison and trims whitespace.
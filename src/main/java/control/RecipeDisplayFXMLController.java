@@ -1,6 +1,13 @@
 package control;
 
+import dao.mappers.Recipe;
 import dao.mappers.RecipeIngredient;
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.ObjectBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -8,12 +15,14 @@ import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.beans.property.SimpleFloatProperty;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import model.AsyncModel;
 import model.Model;
+import service.ImageLoader;
+import service.NutritionColumns;
+import service.UnitConverter;
 import view.RecipeCreateView;
 import view.RecipeDisplayView;
 import view.RecipeSelectView;
@@ -21,10 +30,9 @@ import view.RecipeSelectView;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.ResourceBundle;
-import java.nio.file.Files; 
-import java.nio.file.Path; 
-import java.nio.file.Paths; 
-import java.nio.file.InvalidPathException; 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * RecipeDisplayFXMLController manages the user interface for displaying recipe details.
@@ -60,22 +68,45 @@ public class RecipeDisplayFXMLController implements Initializable {
     @FXML private ComboBox<String> unitFromCombo;
     @FXML private ComboBox<String> unitToCombo;
 
+    private Model model;
+    /** Runs database calls off the JavaFX thread; pending calls are cancelled when the window closes */
+    private final AsyncModel asyncModel = new AsyncModel(() -> model);
     private Integer selectedRecipeNumber;
     private ObservableList<RecipeIngredient> selectedIngredients = FXCollections.observableArrayList();
     private String imageUrl = "";
 
+    /** Validated serving size; table cells and nutrition totals are bound to it */
+    private final IntegerProperty servingSize = new SimpleIntegerProperty(1);
+
     public void setRecipeNumber(Integer recipeNumber) {
         this.selectedRecipeNumber = recipeNumber;
     }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
+        model = new Model();
+        asyncModel.cancelWhenHidden(ingredientsTableView);
         setupIngredientsTable();
         setupUnitConversion();
 
+        // Validate once per edit; everything else reads the resulting property
         serveNumberTextField.textProperty().addListener((obs, oldVal, newVal) -> {
-            updateNutritionalDisplay();
+            if (model.validateServingNumber(newVal)) {
+                servingSize.set(Integer.parseInt(newVal));
+            } else {
+                serveNumberTextField.setText("1");
+            }
         });
+        servingSize.addListener((obs, oldVal, newVal) -> updateNutritionalDisplay());
+    }
+
+    /**
+     * Gets the validated serving size currently applied to the ingredient table.
+     *
+     * @return the read-only serving size property
+     */
+    public ReadOnlyIntegerProperty servingSizeProperty() {
+        return servingSize;
     }
 
     private void setupUnitConversion() {
@@ -87,29 +118,33 @@ public class RecipeDisplayFXMLController implements Initializable {
     public void initializeData() {
         if (selectedRecipeNumber != null) {
 
-            Model model = new Model();
-            model.getRecipes();
+            // Recipe, ingredients and steps arrive in a single background query
+            asyncModel.onFxThread(asyncModel.getRecipeAggregate(selectedRecipeNumber), this::showRecipe);
+        }
+    }
 
-            model.getRecipeBasicData(selectedRecipeNumber);
-            recipeNameLabel.setText(model.getRecipeName());
-            cookingTimeLabel.setText("Cook Time: " + model.getCookingTime() + " min");
-            preparationTimeLabel.setText("Prep Time: " + model.getPreparationTime() + " min");
-            serveNumberTextField.setText("1");
+    private void showRecipe(Recipe recipe) {
+        if (recipe == null) {
+            return;
+        }
+        recipeNameLabel.setText(recipe.getRecipeName());
+        cookingTimeLabel.setText("Cook Time: " + recipe.getCookingTime() + " min");
+        preparationTimeLabel.setText("Prep Time: " + recipe.getPreparationTime() + " min");
+        serveNumberTextField.setText("1");
+
+        imageUrl = recipe.getDetailImageUrl() != null ? recipe.getDetailImageUrl() : recipe.getImageUrl();
+        if (imageUrl != null && !imageUrl.isEmpty()) {
+            setupImageView(imageUrl);
+        }
 
-            imageUrl = model.getImagePath();
-            if (imageUrl != null && !imageUrl.isEmpty()) {
-                setupImageView(imageUrl);
-            }
+        selectedIngredients.clear();
+        selectedIngredients.addAll(recipe.getIngredients());
+        ingredientsTableView.setItems(selectedIngredients);
 
-            selectedIngredients.clear();
-            selectedIngredients.addAll(model.getIngredients(selectedRecipeNumber));
-            ingredientsTableView.setItems(selectedIngredients);
+        String instructions = model.formatInstructions(recipe.getPreparationSteps());
+        instructionsTextArea.setText(instructions);
 
-            String instructions = model.getInstructions(selectedRecipeNumber);
-            instructionsTextArea.setText(instructions);
-            
-            updateNutritionalDisplay();
-        }
+        updateNutritionalDisplay();
     }
 
     @FXML
@@ -151,16 +186,18 @@ public class RecipeDisplayFXMLController implements Initializable {
             
             alert.showAndWait().ifPresent(response -> {
                 if (response == ButtonType.YES) {
-                    Model model = new Model();
-                    model.deleteRecipe(selectedRecipeNumber);
-                    Model.displayAlert(Alert.AlertType.INFORMATION, "Info", "Successfully deleted this recipe");
-                    
-                    
-                    Stage stage = (Stage) deleteRecipeButton.getScene().getWindow();
-                    stage.close();
-                    
-                    RecipeSelectView recipeSelectView = new RecipeSelectView();
-                    recipeSelectView.show();
+                    deleteRecipeButton.setDisable(true);
+                    CompletableFuture<Void> delete = asyncModel.deleteRecipe(selectedRecipeNumber);
+                    delete.whenComplete((result, error) -> Platform.runLater(() -> deleteRecipeButton.setDisable(false)));
+                    asyncModel.onFxThread(delete, deleted -> {
+                        Model.displayAlert(Alert.AlertType.INFORMATION, "Info", "Successfully deleted this recipe");
+
+                        Stage stage = (Stage) deleteRecipeButton.getScene().getWindow();
+                        stage.close();
+
+                        RecipeSelectView recipeSelectView = new RecipeSelectView();
+                        recipeSelectView.show();
+                    });
                 }
             });
         }
@@ -170,24 +207,29 @@ public class RecipeDisplayFXMLController implements Initializable {
     private void handleSaveNutritionButton(ActionEvent event) {
 
         if (selectedRecipeNumber != null) {
-            try {
-                Model model = new Model();
-                model.updateRecipeIngredient(selectedRecipeNumber, 
-                    new ArrayList<>(selectedIngredients));
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("Success");
-                alert.setHeaderText("Nutrition data saved successfully!");
-                alert.setContentText("All nutrition values have been updated in the database.");
-                alert.showAndWait();
-                updateNutritionalDisplay();
-                
-            } catch (Exception e) {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Error");
-                alert.setHeaderText("Failed to save nutrition data");
-                alert.setContentText("Error: " + e.getMessage());
-                alert.showAndWait();
-            }
+            saveNutritionButton.setDisable(true);
+            asyncModel.updateRecipeIngredient(selectedRecipeNumber, new ArrayList<>(selectedIngredients))
+                    .whenComplete((result, error) -> Platform.runLater(() -> {
+                        saveNutritionButton.setDisable(false);
+                        if (error instanceof CancellationException) {
+                            return;
+                        }
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            Alert alert = new Alert(Alert.AlertType.ERROR);
+                            alert.setTitle("Error");
+                            alert.setHeaderText("Failed to save nutrition data");
+                            alert.setContentText("Error: " + cause.getMessage());
+                            alert.showAndWait();
+                            return;
+                        }
+                        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                        alert.setTitle("Success");
+                        alert.setHeaderText("Nutrition data saved successfully!");
+                        alert.setContentText("All nutrition values have been updated in the database.");
+                        alert.showAndWait();
+                        updateNutritionalDisplay();
+                    }));
         }
     }
 
@@ -205,36 +247,28 @@ public class RecipeDisplayFXMLController implements Initializable {
             return;
         }
 
-        double conversionFactor = getConversionFactor(fromUnit, toUnit);
+        // Conversions between mass and volume use the density of the selected ingredient, or of water
+        RecipeIngredient selected = ingredientsTableView.getSelectionModel().getSelectedItem();
+        String ingredientName = selected == null ? null : selected.getName();
+        UnitConverter.Unit from = UnitConverter.parse(fromUnit);
+        UnitConverter.Unit to = UnitConverter.parse(toUnit);
         
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle("Unit Conversion");
         alert.setHeaderText("Conversion Result");
-        alert.setContentText(String.format("1 %s = %.4f %s", fromUnit, conversionFactor, toUnit));
+        if (from == null || to == null) {
+            // An unknown unit cannot be converted, so the quantity is shown as written
+            alert.setContentText(String.format("1 %s (unknown unit \"%s\", not converted)", fromUnit,
+                    from == null ? fromUnit : toUnit));
+        } else {
+            double conversionFactor = UnitConverter.getFactor(from, to, ingredientName);
+            boolean usesDensity = from.getDimension() != to.getDimension();
+            alert.setContentText(String.format("1 %s = %.4f %s", fromUnit, conversionFactor, toUnit)
+                    + (usesDensity ? " (" + (ingredientName == null ? "water" : ingredientName) + ")" : ""));
+        }
         alert.showAndWait();
     }
 
-    private double getConversionFactor(String fromUnit, String toUnit) {
-        if (fromUnit.equals(toUnit)) return 1.0;
-
-        if (fromUnit.equals("kg") && toUnit.equals("grams")) return 1000.0;
-        if (fromUnit.equals("grams") && toUnit.equals("kg")) return 0.001;
-        if (fromUnit.equals("lbs") && toUnit.equals("grams")) return 453.592;
-        if (fromUnit.equals("grams") && toUnit.equals("lbs")) return 0.00220462;
-        if (fromUnit.equals("oz") && toUnit.equals("grams")) return 28.3495;
-        if (fromUnit.equals("grams") && toUnit.equals("oz")) return 0.035274;
-        if (fromUnit.equals("liters") && toUnit.equals("ml")) return 1000.0;
-        if (fromUnit.equals("ml") && toUnit.equals("liters")) return 0.001;
-        if (fromUnit.equals("cups") && toUnit.equals("ml")) return 236.588;
-        if (fromUnit.equals("ml") && toUnit.equals("cups")) return 0.00422675;
-        if (fromUnit.equals("tbsp") && toUnit.equals("ml")) return 14.7868;
-        if (fromUnit.equals("ml") && toUnit.equals("tbsp")) return 0.067628;
-        if (fromUnit.equals("tsp") && toUnit.equals("ml")) return 4.92892;
-        if (fromUnit.equals("ml") && toUnit.equals("tsp")) return 0.202884;
-        
-        return 1.0;
-    }
-
     private void setupIngredientsTable() {
         // Disable editing in display view and show warning when user tries to edit
         ingredientsTableView.setEditable(false);
@@ -258,12 +292,7 @@ public class RecipeDisplayFXMLController implements Initializable {
         // });
         nameColumn.setPrefWidth(140);
         TableColumn<RecipeIngredient, Float> quantityColumn = new TableColumn<>("Quantity");
-        quantityColumn.setCellValueFactory(cellData -> {
-            RecipeIngredient ingredient = cellData.getValue();
-            float servingSize = getServingSize();
-            float adjustedQuantity = ingredient.getQuantity() * servingSize;
-            return new SimpleFloatProperty(adjustedQuantity).asObject();
-        });
+        quantityColumn.setCellValueFactory(cellData -> scaledByServings(cellData.getValue(), RecipeIngredient::getQuantity));
         // Remove cell factory and edit handler to prevent editing
         // quantityColumn.setCellFactory(javafx.scene.control.cell.TextFieldTableCell.forTableColumn(...));
         // quantityColumn.setOnEditCommit(event -> {...});
@@ -286,48 +315,28 @@ public class RecipeDisplayFXMLController implements Initializable {
         // });
         descriptionColumn.setPrefWidth(100);
         TableColumn<RecipeIngredient, Float> caloriesColumn = new TableColumn<>("Calories (kcal)");
-        caloriesColumn.setCellValueFactory(cellData -> {
-            RecipeIngredient ingredient = cellData.getValue();
-            float servingSize = getServingSize();
-            float totalCalories = ingredient.getTotalCalories() * servingSize;
-            return new SimpleFloatProperty(totalCalories).asObject();
-        });
+        caloriesColumn.setCellValueFactory(cellData -> scaledByServings(cellData.getValue(), RecipeIngredient::getTotalCalories));
         // Remove cell factory and edit handler to prevent editing
         // caloriesColumn.setCellFactory(javafx.scene.control.cell.TextFieldTableCell.forTableColumn(...));
         // caloriesColumn.setOnEditCommit(event -> {...});
         caloriesColumn.setPrefWidth(100);
 
         TableColumn<RecipeIngredient, Float> proteinColumn = new TableColumn<>("Protein (g)");
-        proteinColumn.setCellValueFactory(cellData -> {
-            RecipeIngredient ingredient = cellData.getValue();
-            float servingSize = getServingSize();
-            float totalProtein = ingredient.getTotalProtein() * servingSize;
-            return new SimpleFloatProperty(totalProtein).asObject();
-        });
+        proteinColumn.setCellValueFactory(cellData -> scaledByServings(cellData.getValue(), RecipeIngredient::getTotalProtein));
         // Remove cell factory and edit handler to prevent editing
         // proteinColumn.setCellFactory(javafx.scene.control.cell.TextFieldTableCell.forTableColumn(...));
         // proteinColumn.setOnEditCommit(event -> {...});
         proteinColumn.setPrefWidth(90);
 
         TableColumn<RecipeIngredient, Float> fatColumn = new TableColumn<>("Fat (g)");
-        fatColumn.setCellValueFactory(cellData -> {
-            RecipeIngredient ingredient = cellData.getValue();
-            float servingSize = getServingSize();
-            float totalFat = ingredient.getTotalFat() * servingSize;
-            return new SimpleFloatProperty(totalFat).asObject();
-        });
+        fatColumn.setCellValueFactory(cellData -> scaledByServings(cellData.getValue(), RecipeIngredient::getTotalFat));
         // Remove cell factory and edit handler to prevent editing
         // fatColumn.setCellFactory(javafx.scene.control.cell.TextFieldTableCell.forTableColumn(...));
         // fatColumn.setOnEditCommit(event -> {...});
         fatColumn.setPrefWidth(80);
 
         TableColumn<RecipeIngredient, Float> carbsColumn = new TableColumn<>("Carbs (g)");
-        carbsColumn.setCellValueFactory(cellData -> {
-            RecipeIngredient ingredient = cellData.getValue();
-            float servingSize = getServingSize();
-            float totalCarbs = ingredient.getTotalCarbohydrates() * servingSize;
-            return new SimpleFloatProperty(totalCarbs).asObject();
-        });
+        carbsColumn.setCellValueFactory(cellData -> scaledByServings(cellData.getValue(), RecipeIngredient::getTotalCarbohydrates));
         // Remove cell factory and edit handler to prevent editing
         // carbsColumn.setCellFactory(javafx.scene.control.cell.TextFieldTableCell.forTableColumn(...));
         // carbsColumn.setOnEditCommit(event -> {...});
@@ -339,73 +348,28 @@ public class RecipeDisplayFXMLController implements Initializable {
 
 
     private void setupImageView(String url) {
-        String imageUrlToLoad = null;
-        if (url != null && !url.isEmpty()) {
-            try {
-                Path imagePath = Paths.get(url);
-                if (Files.exists(imagePath)) {
-                    imageUrlToLoad = imagePath.toUri().toString();
-                } else {
-                    imageUrlToLoad = url;
-                }
-            } catch (InvalidPathException e) {
-                imageUrlToLoad = url;
-            }
-        }
-
-        if (imageUrlToLoad != null) {
-            try {
-                Image image = new Image(imageUrlToLoad);
-                recipeImage.setImage(image);
-            } catch (IllegalArgumentException e) {
-                System.err.println("Error loading image from URL: " + imageUrlToLoad);
-                e.printStackTrace();
-                recipeImage.setImage(null);
-            }
-        } else {
-            recipeImage.setImage(null);
-        }
+        // Decoded in the background at the size of the view, then swapped in
+        ImageLoader.getShared().loadInto(recipeImage, url, recipeImage.getFitWidth(), recipeImage.getFitHeight());
     }
 
-    private float getServingSize() {
-        String serveText = serveNumberTextField.getText();
-        
-        
-        Model model = new Model();
-        if (!model.validateServingNumber(serveText)) {
-            
-            serveNumberTextField.setText("1");
-            return 1.0f;
-        }
-        
-        try {
-            return Float.parseFloat(serveText);
-        } catch (NumberFormatException e) {
-            serveNumberTextField.setText("1");
-            return 1.0f;
-        }
+    /**
+     * Binds a per-ingredient value to the serving size so the cell updates without a table refresh.
+     *
+     * @param ingredient the ingredient shown in the row
+     * @param value the unscaled value of the column
+     * @return a binding of the value multiplied by the serving size
+     */
+    private ObjectBinding<Float> scaledByServings(RecipeIngredient ingredient, Function<RecipeIngredient, Float> value) {
+        return Bindings.createObjectBinding(() -> value.apply(ingredient) * servingSize.get(), servingSize);
     }
 
     public void updateNutritionalDisplay() {
-        float totalCalories = 0;
-        float totalProtein = 0;
-        float totalFat = 0;
-        float totalCarbs = 0;
-        float servingSize = getServingSize();
-
-        for (RecipeIngredient ingredient : selectedIngredients) {
-            if (ingredient != null) {
-                
-                totalCalories += ingredient.getTotalCalories() * servingSize;
-                totalProtein += ingredient.getTotalProtein() * servingSize;
-                totalFat += ingredient.getTotalFat() * servingSize;
-                totalCarbs += ingredient.getTotalCarbohydrates() * servingSize;
-            }
-        }
-        totalCaloriesLabel.setText(String.format("%.0f", totalCalories));
-        totalProteinLabel.setText(String.format("%.1f", totalProtein));
-        totalFatLabel.setText(String.format("%.1f", totalFat));
-        totalCarbsLabel.setText(String.format("%.1f", totalCarbs));
-        ingredientsTableView.refresh();
+        float[] totals = NutritionColumns.totalsOf(selectedIngredients);
+        float servingSize = this.servingSize.get();
+
+        totalCaloriesLabel.setText(String.format("%.0f", totals[NutritionColumns.CALORIES] * servingSize));
+        totalProteinLabel.setText(String.format("%.1f", totals[NutritionColumns.PROTEIN] * servingSize));
+        totalFatLabel.setText(String.format("%.1f", totals[NutritionColumns.FAT] * servingSize));
+        totalCarbsLabel.setText(String.format("%.1f", totals[NutritionColumns.CARBOHYDRATES] * servingSize));
     }
 }
\ No newline at end of file
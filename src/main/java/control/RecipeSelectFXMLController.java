@@ -1,25 +1,27 @@
 package control;
 
-import dao.mappers.Recipe;
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
-import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.Alert;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
-import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import model.AsyncModel;
 import model.Model;
+import service.FacetIndex;
+import service.FacetQuery;
+import service.ImageLoader;
+import service.PantryIndex;
+import service.RecipeQuery;
 import view.*;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * RecipeSelectFXMLController manages the main recipe selection interface.
@@ -43,30 +45,187 @@ public class RecipeSelectFXMLController implements Initializable {
     @FXML private Button refreshButton;
     @FXML private Label pageLabel;
     @FXML private Label recipeCountLabel;
-
-    private Model model;
-    private LinkedHashMap<Integer, String> imageUrls = new LinkedHashMap<>();
-    private List<String> imageNames;
-    private HashMap<Button, Integer> buttonMap = new HashMap<>();
+    @FXML private TextField maxCaloriesField;
+    @FXML private TextField minProteinField;
+    @FXML private TextField maxCookingTimeField;
+    @FXML private ComboBox<String> sortComboBox;
+    @FXML private Button filterButton;
+    @FXML private HBox facetBox;
+    @FXML private TextField pantryField;
+    @FXML private TextField minMatchField;
+    @FXML private Button pantryButton;
+
+    /** Runs database calls off the JavaFX thread; pending calls are cancelled when the window closes */
+    private AsyncModel asyncModel;
+    /** Search results, or null while browsing the whole catalog page by page */
+    private List<RecipeSummary> searchResults;
+    /** Note shown under the name of each listed recipe, by recipe ID */
+    private Map<Integer, String> tileNotes = Collections.emptyMap();
+    /** Recipes shown on the current page */
+    private List<RecipeSummary> pageRecipes = new ArrayList<>();
+    /** ID of the last recipe before each known catalog page; the first page starts after 0 */
+    private final List<Integer> pageCursors = new ArrayList<>();
+    /** Background fetch of the catalog page following the current one */
+    private CompletableFuture<List<RecipeSummary>> nextPageFetch;
+    private int nextPageFetchIndex = -1;
+    /** Incremented whenever another page or search is requested, so late answers are ignored */
+    private int viewRequest = 0;
+    private int totalRecipes = 0;
+    /** Facet menus, and the item of every facet value as the values become known */
+    private final Map<String, MenuButton> facetMenus = new LinkedHashMap<>();
+    private final Map<String, Map<String, CheckMenuItem>> facetItems = new HashMap<>();
+    /** Recipe cards created once and rebound on every page flip */
+    private final List<RecipeTile> tilePool = new ArrayList<>();
     private int currentPage = 0;
     private static final int ITEMS_PER_PAGE = 3;
+    /** Most recipes a filter returns, the best ones in the chosen order */
+    private static final int MAX_FILTER_RESULTS = 300;
+    /** Most missing ingredients named on a pantry result tile */
+    private static final int MAX_MISSING_SHOWN = 3;
+    /** Separators between the ingredients typed into the pantry field */
+    private static final String PANTRY_SEPARATORS = "[,;，、\\n]+";
+    /** Sort choices of the filter panel */
+    private static final Map<String, RecipeQuery.Attribute> SORT_OPTIONS = new LinkedHashMap<>();
+    private static final String PROTEIN_SORT = "Protein (most first)";
+
+    /** Facets shown in the facet panel, with their menu labels */
+    private static final Map<String, String> FACET_LABELS = new LinkedHashMap<>();
+
+    static {
+        FACET_LABELS.put(RecipeTag.CATEGORY, "Category");
+        FACET_LABELS.put(RecipeTag.CUISINE, "Cuisine");
+        FACET_LABELS.put(RecipeTag.MEAL_TYPE, "Meal");
+        FACET_LABELS.put(RecipeTag.DIET, "Diet");
+        // Allergens are chosen to be left out
+        FACET_LABELS.put(RecipeTag.ALLERGEN, "Free from");
+        SORT_OPTIONS.put("Cook time", RecipeQuery.Attribute.COOKING_TIME);
+        SORT_OPTIONS.put("Preparation time", RecipeQuery.Attribute.PREPARATION_TIME);
+        SORT_OPTIONS.put("Calories", RecipeQuery.Attribute.CALORIES);
+        SORT_OPTIONS.put(PROTEIN_SORT, RecipeQuery.Attribute.PROTEIN);
+    }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        model = new Model();
+        Model model = new Model();
+        asyncModel = new AsyncModel(() -> model);
+        asyncModel.cancelWhenHidden(recipePane);
+        sortComboBox.getItems().setAll(SORT_OPTIONS.keySet());
+        sortComboBox.getSelectionModel().selectFirst();
+        for (Map.Entry<String, String> facet : FACET_LABELS.entrySet()) {
+            MenuButton menu = new MenuButton(facet.getValue());
+            menu.setStyle("-fx-background-color: rgba(255,255,255,0.9); -fx-background-radius: 17; -fx-font-size: 14;");
+            facetMenus.put(facet.getKey(), menu);
+            facetItems.put(facet.getKey(), new HashMap<>());
+            facetBox.getChildren().add(menu);
+        }
         initializeData();
+        loadFacetCounts();
+    }
+
+    private void initializeData() {
+        searchResults = null;
+        tileNotes = Collections.emptyMap();
+        nextPageFetch = null;
+        pageCursors.clear();
+        pageCursors.add(0);
+        currentPage = 0;
+        asyncModel.onFxThread(asyncModel.countRecipes(), count -> {
+            totalRecipes = count;
+            updatePageInfo();
+        });
+        showCurrentPage();
+    }
+
+    /**
+     * Shows currentPage. Catalog pages are read in the background with a keyset query
+     * (or taken from the prefetch) and shown once they arrive; the tiles keep the previous
+     * page until then, so the window never blocks on the database.
+     */
+    private void showCurrentPage() {
+        int request = ++viewRequest;
+        if (searchResults != null) {
+            int start = currentPage * ITEMS_PER_PAGE;
+            int end = Math.min(start + ITEMS_PER_PAGE, searchResults.size());
+            pageRecipes = searchResults.subList(start, end);
+            int nextEnd = Math.min(end + ITEMS_PER_PAGE, searchResults.size());
+            prefetchImages(searchResults.subList(end, nextEnd));
+            updateRecipeButtons();
+            updatePageInfo();
+            return;
+        }
+
+        CompletableFuture<List<RecipeSummary>> page = takePrefetchedPage(currentPage);
+        if (page == null) {
+            page = asyncModel.getRecipeSummariesAfter(pageCursors.get(currentPage), ITEMS_PER_PAGE);
+        }
+        if (page.isDone() && !page.isCompletedExceptionally()) {
+            // Prefetched page already here: flip without waiting for the next pulse
+            showCatalogPage(page.join());
+            return;
+        }
+        prevButton.setDisable(true);
+        nextButton.setDisable(true);
+        asyncModel.onFxThread(page, recipes -> {
+            if (request == viewRequest) {
+                showCatalogPage(recipes);
+            }
+        });
+    }
+
+    /**
+     * Shows a catalog page that has been read and starts fetching the page after it.
+     */
+    private void showCatalogPage(List<RecipeSummary> recipes) {
+        pageRecipes = recipes;
+        if (pageRecipes.size() == ITEMS_PER_PAGE) {
+            int nextCursor = pageRecipes.get(ITEMS_PER_PAGE - 1).getRecipeId();
+            if (pageCursors.size() == currentPage + 1) {
+                pageCursors.add(nextCursor);
+            } else {
+                pageCursors.set(currentPage + 1, nextCursor);
+            }
+            prefetchPage(currentPage + 1);
+        }
         updateRecipeButtons();
         updatePageInfo();
     }
 
-    private void initializeData() {
-        List<Recipe> allRecipes = model.getAllRecipes();
-        imageUrls = new LinkedHashMap<>();
-        imageNames = new ArrayList<>();
-        for(Recipe recipe : allRecipes) {
-            imageNames.add(recipe.getRecipeName());
-            imageUrls.put(recipe.getRecipeId(), recipe.getImageUrl());
+    private CompletableFuture<List<RecipeSummary>> takePrefetchedPage(int page) {
+        if (nextPageFetch == null || nextPageFetchIndex != page) {
+            return null;
         }
+        CompletableFuture<List<RecipeSummary>> prefetched = nextPageFetch;
+        nextPageFetch = null;
+        return prefetched.isCompletedExceptionally() || prefetched.isCancelled() ? null : prefetched;
+    }
+
+    private void prefetchPage(int page) {
+        if (nextPageFetch != null && nextPageFetchIndex == page) {
+            return;
+        }
+        nextPageFetchIndex = page;
+        nextPageFetch = asyncModel.getRecipeSummariesAfter(pageCursors.get(page), ITEMS_PER_PAGE);
+        nextPageFetch.thenAccept(this::prefetchImages);
+    }
+
+    /**
+     * Starts decoding the images of a page that is likely to be shown next.
+     */
+    private void prefetchImages(List<RecipeSummary> summaries) {
+        for (RecipeSummary summary : summaries) {
+            ImageLoader.getShared().prefetch(summary.getImageUrl(), RecipeTile.IMAGE_WIDTH, RecipeTile.IMAGE_HEIGHT);
+        }
+    }
+
+    private int getTotalCount() {
+        return searchResults != null ? searchResults.size() : totalRecipes;
+    }
+
+    private boolean hasNextPage() {
+        if (searchResults == null && pageCursors.size() <= currentPage + 1) {
+            return false;
+        }
+        return (currentPage + 1) * ITEMS_PER_PAGE < getTotalCount();
     }
 
     @FXML
@@ -85,36 +244,290 @@ public class RecipeSelectFXMLController implements Initializable {
             return;
         }
         
-        updateImageData(model.updateImageUrls(recipeName), model.updateImageNames(recipeName));
-        updateRecipeButtons();
+        int request = ++viewRequest;
+        asyncModel.onFxThread(asyncModel.searchRecipes(recipeName), results -> {
+            if (request == viewRequest) {
+                updateRecipeData(results);
+            }
+        });
         searchField.setText(recipeName);
     }
 
+    @FXML
+    private void handleFilterButton(ActionEvent event) {
+        RecipeQuery query = new RecipeQuery();
+        try {
+            Float maxCalories = parseFilterValue(maxCaloriesField);
+            Float minProtein = parseFilterValue(minProteinField);
+            Float maxCookingTime = parseFilterValue(maxCookingTimeField);
+            if (maxCalories != null) {
+                query.atMost(RecipeQuery.Attribute.CALORIES, maxCalories);
+            }
+            if (minProtein != null) {
+                query.atLeast(RecipeQuery.Attribute.PROTEIN, minProtein);
+            }
+            if (maxCookingTime != null) {
+                query.atMost(RecipeQuery.Attribute.COOKING_TIME, maxCookingTime);
+            }
+        } catch (NumberFormatException e) {
+            Model.displayAlert(Alert.AlertType.WARNING, "Warning", "Filter values must be non-negative numbers!");
+            return;
+        }
+        String sort = sortComboBox.getValue();
+        if (sort != null) {
+            query.orderBy(SORT_OPTIONS.get(sort), PROTEIN_SORT.equals(sort));
+        }
+
+        // The filter narrows the active search and facet selection rather than replacing them
+        String searchTerm = searchField.getText() == null ? "" : searchField.getText().trim();
+        FacetQuery facetQuery = getFacetQuery();
+        boolean searching = !searchTerm.isEmpty() && searchTerm.length() <= 30;
+        CompletableFuture<Set<Integer>> allowed = CompletableFuture.completedFuture(null);
+        if (searching) {
+            allowed = allowed.thenCombine(asyncModel.searchRecipes(searchTerm), RecipeSelectFXMLController::retainIds);
+        }
+        if (!facetQuery.isEmpty()) {
+            allowed = allowed.thenCombine(asyncModel.browseRecipes(facetQuery),
+                    (ids, result) -> retainIds(ids, result.getRecipes()));
+        }
+        // Every match is needed to combine them, the limit applies to the combined list
+        query.limit(searching || !facetQuery.isEmpty() ? Integer.MAX_VALUE : MAX_FILTER_RESULTS);
+        CompletableFuture<List<RecipeSummary>> filtered = asyncModel.queryRecipes(query).thenCombine(allowed, (results, ids) -> {
+            if (ids == null) {
+                return results;
+            }
+            List<RecipeSummary> combined = new ArrayList<>();
+            for (RecipeSummary summary : results) {
+                if (combined.size() == MAX_FILTER_RESULTS) {
+                    break;
+                }
+                if (ids.contains(summary.getRecipeId())) {
+                    combined.add(summary);
+                }
+            }
+            return combined;
+        });
+
+        int request = ++viewRequest;
+        asyncModel.onFxThread(filtered, results -> {
+            if (request == viewRequest) {
+                updateRecipeData(results);
+            }
+        });
+    }
+
+    /**
+     * Narrows a set of recipe IDs to the recipes of a result list.
+     *
+     * @param ids the IDs allowed so far, or null if there is no restriction yet
+     * @param recipes the recipes of another condition
+     * @return the IDs allowed by both
+     */
+    private static Set<Integer> retainIds(Set<Integer> ids, List<RecipeSummary> recipes) {
+        Set<Integer> retained = new HashSet<>();
+        for (RecipeSummary summary : recipes) {
+            if (ids == null || ids.contains(summary.getRecipeId())) {
+                retained.add(summary.getRecipeId());
+            }
+        }
+        return retained;
+    }
+
+    @FXML
+    private void handlePantryButton(ActionEvent event) {
+        List<String> pantry = new ArrayList<>();
+        for (String item : pantryField.getText() == null ? new String[0] : pantryField.getText().split(PANTRY_SEPARATORS)) {
+            if (!item.trim().isEmpty()) {
+                pantry.add(item.trim());
+            }
+        }
+        if (pantry.isEmpty()) {
+            Model.displayAlert(Alert.AlertType.WARNING, "Warning", "Please list the ingredients you have, separated by commas!");
+            return;
+        }
+        int minMatches = pantry.size();
+        String minText = minMatchField.getText() == null ? "" : minMatchField.getText().trim();
+        if (!minText.isEmpty()) {
+            try {
+                minMatches = Integer.parseInt(minText);
+            } catch (NumberFormatException e) {
+                minMatches = 0;
+            }
+            if (minMatches < 1) {
+                Model.displayAlert(Alert.AlertType.WARNING, "Warning", "The number of ingredients to use must be a positive whole number!");
+                return;
+            }
+        }
+
+        int request = ++viewRequest;
+        asyncModel.onFxThread(asyncModel.findRecipesByPantry(pantry, minMatches, MAX_FILTER_RESULTS), matches -> {
+            if (request == viewRequest) {
+                List<RecipeSummary> recipes = new ArrayList<>(matches.size());
+                Map<Integer, String> notes = new HashMap<>();
+                for (PantryIndex.Match match : matches) {
+                    recipes.add(match.getRecipe());
+                    notes.put(match.getRecipe().getRecipeId(), getPantryNote(match));
+                }
+                updateRecipeData(recipes, notes);
+            }
+        });
+    }
+
+    /**
+     * Describes how much of a recipe a pantry covers, for the note of its tile.
+     *
+     * @param match the recipe found for the pantry
+     * @return the share of ingredients at hand and the first few missing ones
+     */
+    public static String getPantryNote(PantryIndex.Match match) {
+        int missingCount = match.getMissingIngredients().size();
+        String note = "Have " + (match.getIngredientCount() - missingCount) + " of " + match.getIngredientCount()
+                + " ingredients (" + Math.round(match.getCoverage() * 100) + "%)";
+        if (missingCount == 0) {
+            return note;
+        }
+        List<String> shown = match.getMissingIngredients().subList(0, Math.min(missingCount, MAX_MISSING_SHOWN));
+        note += "\nMissing: " + String.join(", ", shown);
+        if (missingCount > shown.size()) {
+            note += " and " + (missingCount - shown.size()) + " more";
+        }
+        return note;
+    }
+
+    /**
+     * Reads a filter field.
+     *
+     * @return the value, or null if the field is empty
+     * @throws NumberFormatException if the text is not a non-negative number
+     */
+    private Float parseFilterValue(TextField field) {
+        String text = field.getText() == null ? "" : field.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        float value = Float.parseFloat(text);
+        if (!(value >= 0) || Float.isInfinite(value)) {
+            throw new NumberFormatException(text);
+        }
+        return value;
+    }
+
+    /**
+     * Shows the recipes matching the selected facet values, or the whole catalog when none is selected.
+     * Both the matches and the counts come from the bitmap index, without a database round trip.
+     */
+    private void handleFacetChanged() {
+        FacetQuery query = getFacetQuery();
+        int request = ++viewRequest;
+        asyncModel.onFxThread(asyncModel.browseRecipes(query), result -> {
+            if (request == viewRequest) {
+                updateFacetCounts(result);
+                if (query.isEmpty()) {
+                    initializeData();
+                } else {
+                    updateRecipeData(result.getRecipes());
+                }
+            }
+        });
+    }
+
+    /**
+     * Fills the facet menus with the values and counts of the whole catalog.
+     */
+    private void loadFacetCounts() {
+        asyncModel.onFxThread(asyncModel.browseRecipes(getFacetQuery()), this::updateFacetCounts);
+    }
+
+    /**
+     * Builds the query of the checked facet values: allergens are excluded, all other values included.
+     */
+    private FacetQuery getFacetQuery() {
+        FacetQuery query = new FacetQuery();
+        for (Map.Entry<String, Map<String, CheckMenuItem>> facet : facetItems.entrySet()) {
+            for (Map.Entry<String, CheckMenuItem> value : facet.getValue().entrySet()) {
+                if (!value.getValue().isSelected()) {
+                    continue;
+                }
+                if (RecipeTag.ALLERGEN.equals(facet.getKey())) {
+                    query.exclude(facet.getKey(), value.getKey());
+                } else {
+                    query.include(facet.getKey(), value.getKey());
+                }
+            }
+        }
+        return query;
+    }
+
+    private void updateFacetCounts(FacetIndex.Result result) {
+        for (Map.Entry<String, MenuButton> facet : facetMenus.entrySet()) {
+            Map<String, CheckMenuItem> items = facetItems.get(facet.getKey());
+            int selected = 0;
+            Map<String, Integer> counts = result.getCounts().getOrDefault(facet.getKey(), Collections.emptyMap());
+            for (Map.Entry<String, Integer> value : counts.entrySet()) {
+                CheckMenuItem item = items.get(value.getKey());
+                if (item == null) {
+                    item = new CheckMenuItem();
+                    item.setOnAction(e -> handleFacetChanged());
+                    items.put(value.getKey(), item);
+                    facet.getValue().getItems().add(item);
+                }
+                item.setText(getFacetItemText(result, facet.getKey(), value.getKey()));
+                if (item.isSelected()) {
+                    selected++;
+                }
+            }
+            String label = FACET_LABELS.get(facet.getKey());
+            facet.getValue().setText(selected == 0 ? label : label + " (" + selected + ")");
+        }
+    }
+
+    /**
+     * Labels a facet value with the number of recipes checking it would give. An allergen is checked
+     * to leave it out, so it is labelled with the matching recipes that are free from it.
+     *
+     * @param result the current browse result
+     * @param facet the facet
+     * @param value the value of the facet
+     * @return the menu item text
+     */
+    public static String getFacetItemText(FacetIndex.Result result, String facet, String value) {
+        int count = RecipeTag.ALLERGEN.equals(facet)
+                ? result.getCountWithout(facet, value)
+                : result.getCount(facet, value);
+        return value + " (" + count + ")";
+    }
+
     @FXML
     private void handlePrevButton(ActionEvent event) {
         if (currentPage > 0) {
             currentPage--;
-            updateRecipeButtons();
-            updatePageInfo();
+            showCurrentPage();
         }
     }
 
     @FXML
     private void handleNextButton(ActionEvent event) {
-        if ((currentPage + 1) * ITEMS_PER_PAGE < imageUrls.size()) {
+        if (hasNextPage()) {
             currentPage++;
-            updateRecipeButtons();
-            updatePageInfo();
+            showCurrentPage();
         }
     }
 
     @FXML
     private void handleRefreshButton(ActionEvent event) {
         initializeData();
-        currentPage = 0;
-        updateRecipeButtons();
-        updatePageInfo();
         searchField.clear();
+        maxCaloriesField.clear();
+        minProteinField.clear();
+        maxCookingTimeField.clear();
+        pantryField.clear();
+        minMatchField.clear();
+        for (Map<String, CheckMenuItem> items : facetItems.values()) {
+            for (CheckMenuItem item : items.values()) {
+                item.setSelected(false);
+            }
+        }
+        loadFacetCounts();
     }
 
     @FXML
@@ -134,164 +547,68 @@ public class RecipeSelectFXMLController implements Initializable {
         recipeCreateView.show();
     }
 
-    private void updateImageData(LinkedHashMap<Integer, String> newImageUrls, ArrayList<String> newImageNames) {
-        this.imageUrls = newImageUrls;
-        this.imageNames = newImageNames;
+    private void updateRecipeData(List<RecipeSummary> newRecipes) {
+        updateRecipeData(newRecipes, Collections.emptyMap());
+    }
+
+    private void updateRecipeData(List<RecipeSummary> newRecipes, Map<Integer, String> notes) {
+        this.searchResults = newRecipes;
+        this.tileNotes = notes;
         this.currentPage = 0;
-        updatePageInfo();
+        showCurrentPage();
     }
 
     private void updatePageInfo() {
-        int totalPages = (int) Math.ceil((double) imageUrls.size() / ITEMS_PER_PAGE);
+        int totalCount = getTotalCount();
+        int totalPages = (int) Math.ceil((double) totalCount / ITEMS_PER_PAGE);
         if (totalPages == 0) totalPages = 1;
         pageLabel.setText("Page " + (currentPage + 1) + " of " + totalPages);
-        recipeCountLabel.setText(imageUrls.size() + " recipe(s) found");
+        recipeCountLabel.setText(totalCount + " recipe(s) found");
 
         prevButton.setDisable(currentPage == 0);
-        nextButton.setDisable((currentPage + 1) * ITEMS_PER_PAGE >= imageUrls.size());
+        nextButton.setDisable(!hasNextPage());
     }
 
+    /**
+     * Shows the current page by rebinding the pooled tiles; no card nodes are created or removed.
+     */
     private void updateRecipeButtons() {
-        recipePane.getChildren().clear();
-        buttonMap.clear();
-        
-        int start = currentPage * ITEMS_PER_PAGE;
-        int end = Math.min(start + ITEMS_PER_PAGE, imageUrls.size());
-        
-        for (int i = start; i < end; i++) {
-            Map.Entry<Integer, String> entry = new ArrayList<>(imageUrls.entrySet()).get(i);
-            String url = entry.getValue();
-            String imageName = imageNames.get(i);
-            File imageUrl = new File(url);
-            
-            if (!imageUrl.exists()) {
-                System.out.println("Image not found: " + url);
-                continue;
-            }
+        ensureTilePool();
 
-            Image recipeImage;
-            try {
-                recipeImage = new Image(new FileInputStream(imageUrl));
-            } catch (FileNotFoundException e) {
-                System.out.println("Image not found: " + e.getMessage());
+        for (int i = 0; i < tilePool.size(); i++) {
+            RecipeTile tile = tilePool.get(i);
+            if (i >= pageRecipes.size()) {
+                tile.unbind();
                 continue;
             }
 
-            VBox recipeButton = createButtonWithImage(entry.getKey(), recipeImage, imageName, 
-                                                    50 + (i - start) * 320, 20);
-            recipePane.getChildren().add(recipeButton);
+            RecipeSummary summary = pageRecipes.get(i);
+            tile.bind(summary, tileNotes.get(summary.getRecipeId()));
+            ImageLoader.getShared().loadInto(tile.getImageView(), summary.getImageUrl(),
+                    RecipeTile.IMAGE_WIDTH, RecipeTile.IMAGE_HEIGHT);
         }
     }
 
-    private VBox createButtonWithImage(Integer recipeNumber, Image recipeImage, String imageName, int x, int y) {
-        VBox recipeCard = new VBox();
-        recipeCard.setAlignment(Pos.CENTER);
-        recipeCard.setLayoutX(x);
-        recipeCard.setLayoutY(y);
-        recipeCard.setSpacing(15);
-        recipeCard.setPrefWidth(280);
-        recipeCard.setPrefHeight(350);
-
-        String cardStyle = "-fx-background-color: rgba(255,255,255,0.95); " +
-                          "-fx-background-radius: 20; " +
-                          "-fx-padding: 20; " +
-                          "-fx-border-color: rgba(255,255,255,0.8); " +
-                          "-fx-border-radius: 20; " +
-                          "-fx-border-width: 1; " +
-                          "-fx-cursor: hand;";
-        recipeCard.setStyle(cardStyle);
-
-        javafx.scene.effect.DropShadow shadow = new javafx.scene.effect.DropShadow();
-        shadow.setColor(javafx.scene.paint.Color.valueOf("#00000025"));
-        shadow.setOffsetX(0);
-        shadow.setOffsetY(5);
-        shadow.setRadius(15);
-        recipeCard.setEffect(shadow);
-
-        VBox imageContainer = new VBox();
-        imageContainer.setAlignment(Pos.CENTER);
-        imageContainer.setStyle("-fx-background-color: #f5f5f5; " +
-                               "-fx-background-radius: 15; " +
-                               "-fx-padding: 10;");
-                               
-        ImageView imageView = new ImageView(recipeImage);
-        imageView.setFitHeight(180);
-        imageView.setFitWidth(200);
-        imageView.setPreserveRatio(true);
-        imageView.setSmooth(true);
-
-        javafx.scene.shape.Rectangle clip = new javafx.scene.shape.Rectangle();
-        clip.setWidth(200);
-        clip.setHeight(180);
-        clip.setArcHeight(15);
-        clip.setArcWidth(15);
-        imageView.setClip(clip);
-        
-        imageContainer.getChildren().add(imageView);
-
-        Label nameLabel = new Label(imageName);
-        nameLabel.setStyle("-fx-font-size: 16; " +
-                          "-fx-font-weight: bold; " +
-                          "-fx-text-fill: #333; " +
-                          "-fx-text-alignment: center;");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(240);
-
-        Button viewButton = new Button("View Recipe");
-        String buttonStyle = "-fx-background-color: linear-gradient(to bottom, #667eea, #764ba2); " +
-                            "-fx-text-fill: white; " +
-                            "-fx-font-weight: bold; " +
-                            "-fx-background-radius: 15; " +
-                            "-fx-cursor: hand; " +
-                            "-fx-font-size: 14; " +
-                            "-fx-padding: 8 20;";
-        viewButton.setStyle(buttonStyle);
-        
-        String hoverStyle = "-fx-background-color: linear-gradient(to bottom, #5a67d8, #6b46c1); " +
-                           "-fx-text-fill: white; " +
-                           "-fx-font-weight: bold; " +
-                           "-fx-background-radius: 15; " +
-                           "-fx-cursor: hand; " +
-                           "-fx-font-size: 14; " +
-                           "-fx-padding: 8 20;";
-
-        viewButton.setOnMouseEntered(e -> viewButton.setStyle(hoverStyle));
-        viewButton.setOnMouseExited(e -> viewButton.setStyle(buttonStyle));
-        
-        viewButton.setOnAction(e -> {
-            Stage currentStage = (Stage) viewButton.getScene().getWindow();
-            currentStage.close();
-            RecipeDisplayView view = new RecipeDisplayView(recipeNumber);
-            view.show();
-        });
+    /**
+     * Creates the fixed pool of recipe tiles the first time a page is shown.
+     */
+    private void ensureTilePool() {
+        if (!tilePool.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < ITEMS_PER_PAGE; i++) {
+            RecipeTile tile = new RecipeTile(this::openRecipe);
+            tile.setLayoutX(50 + i * 320);
+            tile.setLayoutY(20);
+            tilePool.add(tile);
+        }
+        recipePane.getChildren().setAll(tilePool);
+    }
 
-        String cardHoverStyle = "-fx-background-color: rgba(255,255,255,1.0); " +
-                               "-fx-background-radius: 20; " +
-                               "-fx-padding: 20; " +
-                               "-fx-border-color: #667eea; " +
-                               "-fx-border-radius: 20; " +
-                               "-fx-border-width: 2; " +
-                               "-fx-cursor: hand;";
-        
-        recipeCard.setOnMouseEntered(e -> {
-            recipeCard.setStyle(cardHoverStyle);
-            javafx.scene.effect.DropShadow hoverShadow = new javafx.scene.effect.DropShadow();
-            hoverShadow.setColor(javafx.scene.paint.Color.valueOf("#00000040"));
-            hoverShadow.setOffsetX(0);
-            hoverShadow.setOffsetY(8);
-            hoverShadow.setRadius(20);
-            recipeCard.setEffect(hoverShadow);
-        });
-        
-        recipeCard.setOnMouseExited(e -> {
-            recipeCard.setStyle(cardStyle);
-            recipeCard.setEffect(shadow);
-        });
-        
-        buttonMap.put(viewButton, recipeNumber);
-        
-        recipeCard.getChildren().addAll(imageContainer, nameLabel, viewButton);
-        
-        return recipeCard;
+    private void openRecipe(int recipeNumber) {
+        Stage currentStage = (Stage) recipePane.getScene().getWindow();
+        currentStage.close();
+        RecipeDisplayView view = new RecipeDisplayView(recipeNumber);
+        view.show();
     }
-}
\ No newline at end of file
+}
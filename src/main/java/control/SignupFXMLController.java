@@ -5,11 +5,15 @@ import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.scene.control.PasswordField;
 import javafx.event.ActionEvent;
+import javafx.application.Platform;
+import model.AsyncModel;
 import model.Model;
 import javafx.stage.Stage;
 import javafx.scene.Node;
 import javafx.scene.control.Alert;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * FXML Controller class for the signup view.
  * This class handles user registration including input validation,
@@ -44,6 +48,9 @@ public class SignupFXMLController {
     /** Model instance for business logic operations */
     private Model model;
 
+    /** Runs model calls off the JavaFX thread */
+    private final AsyncModel asyncModel = new AsyncModel(() -> model);
+
     /**
      * Initializes the controller after FXML loading.
      * Creates a new Model instance for handling business logic.
@@ -51,6 +58,7 @@ public class SignupFXMLController {
     @FXML
     public void initialize() {
         model = new Model();
+        asyncModel.cancelWhenHidden(createButton);
     }
 
     @FXML
@@ -128,20 +136,19 @@ public class SignupFXMLController {
         }
 
 
-        boolean signupSuccessful = model.sign(username, password);
-
-
-        if (signupSuccessful) {
-            Model.displayAlert(Alert.AlertType.INFORMATION, "Success", "Registration successful!");
-
-            Node source = (Node) event.getSource();
-            Stage currentStage = (Stage) source.getScene().getWindow();
-            currentStage.close();
-        } else {
-
-
-
-        }
+        // Register in the background; the button stays disabled until the answer arrives
+        Node source = (Node) event.getSource();
+        createButton.setDisable(true);
+        CompletableFuture<Boolean> signup = asyncModel.sign(username, password);
+        signup.whenComplete((result, error) -> Platform.runLater(() -> createButton.setDisable(false)));
+        asyncModel.onFxThread(signup, signupSuccessful -> {
+            if (signupSuccessful) {
+                Model.displayAlert(Alert.AlertType.INFORMATION, "Success", "Registration successful!");
+
+                Stage currentStage = (Stage) source.getScene().getWindow();
+                currentStage.close();
+            }
+        });
     }
 
     @FXML
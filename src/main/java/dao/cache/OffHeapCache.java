@@ -0,0 +1,273 @@
+package dao.cache;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * MyBatis second-level cache that keeps query results outside the Java heap.
+ * Results are serialized into fixed-size blocks of a single direct ByteBuffer, so even large
+ * catalog result lists add no objects for the garbage collector to trace; only the cache keys
+ * stay on the heap. When the buffer is full, the least recently used results are evicted.
+ * <p>
+ * Enabled per mapper namespace in the mapper XML:
+ * <pre>
+ * &lt;cache type="dao.cache.OffHeapCache"&gt;
+ *     &lt;property name="capacity" value="33554432"/&gt;
+ * &lt;/cache&gt;
+ * </pre>
+ * MyBatis clears the cache of a namespace whenever an insert, update or delete of that
+ * namespace is committed. Every cached result must be Serializable.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class OffHeapCache implements Cache {
+
+    /** Default number of bytes reserved for cached results */
+    public static final int DEFAULT_CAPACITY = 32 * 1024 * 1024;
+
+    /** Default size of one storage block in bytes */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /** Only result types of this application may be read back */
+    private static final ObjectInputFilter RESULT_FILTER =
+            ObjectInputFilter.Config.createFilter("java.lang.*;java.util.*;java.math.*;dao.mappers.*;!*");
+
+    private final String id;
+    private int capacity = DEFAULT_CAPACITY;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    /** Storage for all results, allocated on first use so that the properties can still be set */
+    private ByteBuffer arena;
+    private int[] freeBlocks;
+    private int freeCount;
+    private final LinkedHashMap<Object, Slot> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Creates the cache of a mapper namespace. Called by MyBatis.
+     *
+     * @param id the mapper namespace
+     */
+    public OffHeapCache(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Sets the number of bytes reserved for cached results.
+     * Set from the "capacity" property of the cache element; has no effect once the cache is in use.
+     *
+     * @param capacity the size of the off-heap buffer in bytes
+     */
+    public synchronized void setCapacity(int capacity) {
+        if (arena == null) {
+            this.capacity = capacity;
+        }
+    }
+
+    /**
+     * Sets the size of one storage block.
+     * Set from the "blockSize" property of the cache element; has no effect once the cache is in use.
+     *
+     * @param blockSize the block size in bytes
+     */
+    public synchronized void setBlockSize(int blockSize) {
+        if (arena == null) {
+            this.blockSize = blockSize;
+        }
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        if (value == null) {
+            removeObject(key);
+            return;
+        }
+        byte[] bytes = serialize(value);
+        synchronized (this) {
+            ensureArena();
+            release(entries.remove(key));
+            int blocksNeeded = Math.max(1, (bytes.length + blockSize - 1) / blockSize);
+            if (blocksNeeded > freeBlocks.length) {
+                return; // larger than the whole cache
+            }
+
+            Iterator<Map.Entry<Object, Slot>> eldest = entries.entrySet().iterator();
+            while (freeCount < blocksNeeded && eldest.hasNext()) {
+                Slot evicted = eldest.next().getValue();
+                eldest.remove();
+                release(evicted);
+            }
+
+            int[] blocks = new int[blocksNeeded];
+            for (int i = 0; i < blocksNeeded; i++) {
+                int block = freeBlocks[--freeCount];
+                blocks[i] = block;
+                int offset = i * blockSize;
+                arena.put(block * blockSize, bytes, offset, Math.min(blockSize, bytes.length - offset));
+            }
+            entries.put(key, new Slot(blocks, bytes.length));
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        byte[] bytes;
+        synchronized (this) {
+            Slot slot = entries.get(key);
+            if (slot == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            bytes = new byte[slot.length];
+            for (int i = 0; i < slot.blocks.length; i++) {
+                int offset = i * blockSize;
+                arena.get(slot.blocks[i] * blockSize, bytes, offset, Math.min(blockSize, slot.length - offset));
+            }
+        }
+        return deserialize(bytes);
+    }
+
+    /**
+     * Removes a result. The removed result is not read back, so null is always returned.
+     *
+     * @param key the cache key of the result
+     * @return null
+     */
+    @Override
+    public synchronized Object removeObject(Object key) {
+        release(entries.remove(key));
+        return null;
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        if (arena != null) {
+            resetFreeBlocks();
+        }
+    }
+
+    @Override
+    public synchronized int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of lookups that had to query the database.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of off-heap bytes currently holding results.
+     *
+     * @return the used bytes, rounded up to whole blocks
+     */
+    public synchronized long getUsedBytes() {
+        return freeBlocks == null ? 0 : (long) (freeBlocks.length - freeCount) * blockSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Cache)) {
+            return false;
+        }
+        return id.equals(((Cache) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return id.hashCode();
+    }
+
+    private void ensureArena() {
+        if (arena == null) {
+            arena = ByteBuffer.allocateDirect(capacity / blockSize * blockSize);
+            freeBlocks = new int[capacity / blockSize];
+            resetFreeBlocks();
+        }
+    }
+
+    private void resetFreeBlocks() {
+        freeCount = freeBlocks.length;
+        for (int i = 0; i < freeCount; i++) {
+            freeBlocks[i] = freeCount - 1 - i;
+        }
+    }
+
+    private void release(Slot slot) {
+        if (slot != null) {
+            for (int block : slot.blocks) {
+                freeBlocks[freeCount++] = block;
+            }
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new CacheException("Error serializing result for cache " + id, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Object deserialize(byte[] bytes) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(RESULT_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new CacheException("Error deserializing result from cache " + id, e);
+        }
+    }
+
+    /**
+     * Location of one cached result: the blocks holding it, in order, and its length in bytes.
+     */
+    private static class Slot {
+        final int[] blocks;
+        final int length;
+
+        Slot(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+    }
+}
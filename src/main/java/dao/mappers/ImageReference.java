@@ -0,0 +1,77 @@
+package dao.mappers;
+
+import java.io.Serializable;
+
+/**
+ * ImageReference holds how many recipes use a stored image.
+ * It is used to find images in the image store that no recipe references any more.
+ * 
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class ImageReference implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** The stored path of the image */
+    private String imageUrl;
+
+    /** The number of recipes using the image */
+    private int referenceCount;
+
+    /**
+     * Default constructor for ImageReference.
+     * Creates an empty ImageReference object.
+     */
+    public ImageReference() {
+
+    }
+
+    /**
+     * Parameterized constructor for ImageReference.
+     * 
+     * @param imageUrl the stored path of the image
+     * @param referenceCount the number of recipes using the image
+     */
+    public ImageReference(String imageUrl, int referenceCount) {
+        this.imageUrl = imageUrl;
+        this.referenceCount = referenceCount;
+    }
+
+    /**
+     * Gets the image path.
+     * 
+     * @return the stored path of the image
+     */
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    /**
+     * Sets the image path.
+     * 
+     * @param imageUrl the stored path of the image
+     */
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    /**
+     * Gets the reference count.
+     * 
+     * @return the number of recipes using the image
+     */
+    public int getReferenceCount() {
+        return referenceCount;
+    }
+
+    /**
+     * Sets the reference count.
+     * 
+     * @param referenceCount the number of recipes using the image
+     */
+    public void setReferenceCount(int referenceCount) {
+        this.referenceCount = referenceCount;
+    }
+}
@@ -1,5 +1,7 @@
 package dao.mappers;
 
+import java.io.Serializable;
+
 /**
  * PreparationStep entity class representing a single step in recipe preparation.
  * This class contains information about individual cooking instructions for a recipe.
@@ -8,7 +10,7 @@ package dao.mappers;
  * @version 1.0
  * @since 1.0
  */
-public class PreparationStep {
+public class PreparationStep implements Serializable {
 
     /** The ID of the recipe this step belongs to */
     private int recipeId;
@@ -40,6 +42,17 @@ public class PreparationStep {
         this.description = description;
     }
 
+    /**
+     * Copy constructor for PreparationStep.
+     * 
+     * @param preparationStep the PreparationStep object to copy
+     */
+    public PreparationStep(PreparationStep preparationStep) {
+        this.recipeId = preparationStep.recipeId;
+        this.step = preparationStep.step;
+        this.description = preparationStep.description;
+    }
+
     /**
      * Gets the recipe ID.
      * 
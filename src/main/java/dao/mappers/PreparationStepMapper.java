@@ -22,6 +22,15 @@ public interface PreparationStepMapper {
      */
     boolean addPreparationStep(@Param("preparationStep") PreparationStep preparationStep);
 
+    /**
+     * Adds several preparation steps with a single multi-row insert.
+     * The list must not be empty.
+     * 
+     * @param preparationSteps the PreparationStep objects to be added
+     * @return true if the addition was successful, false otherwise
+     */
+    boolean addPreparationSteps(@Param("preparationSteps") List<PreparationStep> preparationSteps);
+
     /**
      * Deletes all preparation steps for a specific recipe.
      * This method is typically used when updating recipe instructions.
@@ -47,4 +56,11 @@ public interface PreparationStepMapper {
      * @return a list of PreparationStep objects for the specified recipe
      */
     List<PreparationStep> getPreparationStepsByRecipeId(@Param("recipeId") Integer recipeId);
+
+    /**
+     * Retrieves the preparation steps of all recipes, ordered by recipe ID and step number.
+     * 
+     * @return a list of all PreparationStep objects
+     */
+    List<PreparationStep> getAllPreparationSteps();
 }
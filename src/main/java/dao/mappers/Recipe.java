@@ -1,6 +1,8 @@
 package dao.mappers;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Recipe entity class representing a recipe in the recipe management system.
@@ -30,6 +32,12 @@ public class Recipe implements Serializable {
     
     /** URL or path to the recipe image */
     private String imageUrl;
+
+    /** Path to the small rendition of the image shown on recipe cards */
+    private String thumbnailUrl;
+
+    /** Path to the rendition of the image shown in the recipe detail view */
+    private String detailImageUrl;
     
     /** Total calories per serving */
     private int calories;
@@ -46,6 +54,12 @@ public class Recipe implements Serializable {
     /** Fiber content in grams per serving */
     private double fiber;
 
+    /** Ingredients of the recipe, filled in when the recipe is loaded as an aggregate */
+    private List<RecipeIngredient> ingredients = new ArrayList<>();
+
+    /** Preparation steps of the recipe, filled in when the recipe is loaded as an aggregate */
+    private List<PreparationStep> preparationSteps = new ArrayList<>();
+
     /**
      * Default constructor for Recipe.
      * Creates an empty Recipe object with default values.
@@ -101,6 +115,34 @@ public class Recipe implements Serializable {
         this.fiber = 0.0;
     }
 
+    /**
+     * Copy constructor for Recipe.
+     * The ingredients and preparation steps are copied as well, so the copy can be edited freely.
+     * 
+     * @param recipe the Recipe object to copy
+     */
+    public Recipe(Recipe recipe) {
+        this.recipeId = recipe.recipeId;
+        this.recipeName = recipe.recipeName;
+        this.serveAmount = recipe.serveAmount;
+        this.preparationTime = recipe.preparationTime;
+        this.cookingTime = recipe.cookingTime;
+        this.imageUrl = recipe.imageUrl;
+        this.thumbnailUrl = recipe.thumbnailUrl;
+        this.detailImageUrl = recipe.detailImageUrl;
+        this.calories = recipe.calories;
+        this.protein = recipe.protein;
+        this.carbohydrates = recipe.carbohydrates;
+        this.fat = recipe.fat;
+        this.fiber = recipe.fiber;
+        for (RecipeIngredient ingredient : recipe.ingredients) {
+            this.ingredients.add(new RecipeIngredient(ingredient));
+        }
+        for (PreparationStep preparationStep : recipe.preparationSteps) {
+            this.preparationSteps.add(new PreparationStep(preparationStep));
+        }
+    }
+
     /**
      * Gets the recipe ID.
      * 
@@ -209,6 +251,42 @@ public class Recipe implements Serializable {
         this.imageUrl = imageUrl;
     }
 
+    /**
+     * Gets the thumbnail URL.
+     * 
+     * @return the path to the card thumbnail, or null if none has been generated
+     */
+    public String getThumbnailUrl() {
+        return this.thumbnailUrl;
+    }
+
+    /**
+     * Sets the thumbnail URL.
+     * 
+     * @param thumbnailUrl the path to the card thumbnail
+     */
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    /**
+     * Gets the detail image URL.
+     * 
+     * @return the path to the detail rendition, or null if none has been generated
+     */
+    public String getDetailImageUrl() {
+        return this.detailImageUrl;
+    }
+
+    /**
+     * Sets the detail image URL.
+     * 
+     * @param detailImageUrl the path to the detail rendition
+     */
+    public void setDetailImageUrl(String detailImageUrl) {
+        this.detailImageUrl = detailImageUrl;
+    }
+
     /**
      * Gets the calorie content.
      * 
@@ -299,6 +377,42 @@ public class Recipe implements Serializable {
         this.fiber = fiber;
     }
 
+    /**
+     * Gets the ingredients of the recipe.
+     * 
+     * @return the list of ingredients, empty if the recipe was not loaded as an aggregate
+     */
+    public List<RecipeIngredient> getIngredients() {
+        return this.ingredients;
+    }
+
+    /**
+     * Sets the ingredients of the recipe.
+     * 
+     * @param ingredients the list of ingredients to set
+     */
+    public void setIngredients(List<RecipeIngredient> ingredients) {
+        this.ingredients = ingredients;
+    }
+
+    /**
+     * Gets the preparation steps of the recipe.
+     * 
+     * @return the list of preparation steps, empty if the recipe was not loaded as an aggregate
+     */
+    public List<PreparationStep> getPreparationSteps() {
+        return this.preparationSteps;
+    }
+
+    /**
+     * Sets the preparation steps of the recipe.
+     * 
+     * @param preparationSteps the list of preparation steps to set
+     */
+    public void setPreparationSteps(List<PreparationStep> preparationSteps) {
+        this.preparationSteps = preparationSteps;
+    }
+
     /**
      * Returns a string representation of the Recipe object.
      * Includes all recipe properties for debugging and logging purposes.
@@ -314,6 +428,8 @@ public class Recipe implements Serializable {
                 ", preparationTime=" + preparationTime +
                 ", cookingTime=" + cookingTime +
                 ", imageUrl='" + imageUrl + '\'' +
+                ", thumbnailUrl='" + thumbnailUrl + '\'' +
+                ", detailImageUrl='" + detailImageUrl + '\'' +
                 ", calories=" + calories +
                 ", protein=" + protein +
                 ", carbohydrates=" + carbohydrates +
@@ -1,15 +1,17 @@
 package dao.mappers;
 
+import java.io.Serializable;
+
 /**
  * RecipeIngredient represents an ingredient used in a recipe with its nutritional information.
  * This class stores ingredient details including quantity, unit, and nutritional values
- * such as calories, protein, fat, and carbohydrates per unit.
+ * such as calories, protein, fat, carbohydrates and fiber per unit.
  * 
  * @author Ziang Liu
  * @version 1.0
  * @since 1.0
  */
-public class RecipeIngredient {
+public class RecipeIngredient implements Serializable {
     private int recipeId;
     private String name;
     private Float quantity;
@@ -19,6 +21,7 @@ public class RecipeIngredient {
     private Float unitProtein;
     private Float unitFat;
     private Float unitCarbohydrates;
+    private Float unitFiber = 0.0f;
 
     
     /**
@@ -93,6 +96,7 @@ public class RecipeIngredient {
         this.unitProtein = ingredient.unitProtein;
         this.unitFat = ingredient.unitFat;
         this.unitCarbohydrates = ingredient.unitCarbohydrates;
+        this.unitFiber = ingredient.unitFiber;
     }
 
     
@@ -186,6 +190,16 @@ public class RecipeIngredient {
     }
 
     
+    public Float getUnitFiber() {
+        return unitFiber;
+    }
+
+    
+    public void setUnitFiber(Float unitFiber) {
+        this.unitFiber = unitFiber;
+    }
+
+    
     public Float getTotalCalories() {
         return unitCalories != null && quantity != null ? unitCalories * quantity : 0.0f;
     }
@@ -206,6 +220,11 @@ public class RecipeIngredient {
     }
 
     
+    public Float getTotalFiber() {
+        return unitFiber != null && quantity != null ? unitFiber * quantity : 0.0f;
+    }
+
+    
     public void setTotalCalories(Float totalCalories) {
         if (quantity != null && quantity > 0) {
             this.unitCalories = totalCalories / quantity;
@@ -254,6 +273,7 @@ public class RecipeIngredient {
                 ", unitProtein=" + unitProtein +
                 ", unitFat=" + unitFat +
                 ", unitCarbohydrates=" + unitCarbohydrates +
+                ", unitFiber=" + unitFiber +
                 '}';
     }
 }
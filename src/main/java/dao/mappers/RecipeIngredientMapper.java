@@ -21,6 +21,15 @@ public interface RecipeIngredientMapper {
      */
     boolean addRecipeIngredient(@Param("recipeIngredient") RecipeIngredient recipeIngredient);
 
+    /**
+     * Adds several recipe ingredients with a single multi-row insert.
+     * The list must not be empty.
+     * 
+     * @param recipeIngredients the RecipeIngredient objects to be added
+     * @return true if the addition was successful, false otherwise
+     */
+    boolean addRecipeIngredients(@Param("recipeIngredients") List<RecipeIngredient> recipeIngredients);
+
     /**
      * Deletes all ingredients for a specific recipe.
      * This method is typically used when updating recipe ingredients.
@@ -45,4 +54,29 @@ public interface RecipeIngredientMapper {
      * @return a list of RecipeIngredient objects for the specified recipe
      */
     List<RecipeIngredient> getRecipeIngredientsByRecipeId(@Param("recipeId") int recipeId);
+
+    /**
+     * Retrieves the ingredients of all recipes, ordered by recipe ID.
+     * 
+     * @return a list of all RecipeIngredient objects
+     */
+    List<RecipeIngredient> getAllRecipeIngredients();
+
+    /**
+     * Adds the nutrition of ingredient rows to the nutrition totals of their recipe, or subtracts it.
+     * 
+     * @param recipeId the ID of the recipe
+     * @param names the names of the ingredient rows, or null for all rows of the recipe
+     * @param sign 1 to add the nutrition, -1 to subtract it
+     * @return the number of recipe rows updated
+     */
+    int applyNutritionDelta(@Param("recipeId") int recipeId, @Param("names") List<String> names, @Param("sign") int sign);
+
+    /**
+     * Sets the nutrition totals of a recipe to the sums over all its ingredient rows.
+     *
+     * @param recipeId the ID of the recipe
+     * @return the number of recipe rows updated
+     */
+    int recomputeNutrition(@Param("recipeId") int recipeId);
 }
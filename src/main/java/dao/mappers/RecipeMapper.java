@@ -1,6 +1,7 @@
 package dao.mappers;
 import org.apache.ibatis.annotations.Param;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * MyBatis mapper interface for Recipe entity operations.
@@ -15,6 +16,7 @@ public interface RecipeMapper {
     
     /**
      * Adds a new recipe to the database.
+     * The generated recipe ID is written back to the given Recipe object.
      * 
      * @param recipe the Recipe object to be added
      * @return true if the addition was successful, false otherwise
@@ -47,12 +49,20 @@ public interface RecipeMapper {
     Recipe getRecipeById(@Param("recipeId") int recipeId);
 
     /**
-     * Retrieves the most recently added recipe.
-     * This method is typically used after adding a new recipe to get its generated ID.
+     * Updates the paths of the thumbnail and detail renditions of a recipe's image.
      * 
-     * @return the most recently added Recipe object
+     * @param recipe the Recipe object holding the ID and the new rendition paths
+     * @return true if the update was successful, false otherwise
      */
-    Recipe getNewRecipe();
+    boolean updateRecipeImages(@Param("recipe") Recipe recipe);
+
+    /**
+     * Retrieves a recipe together with its ingredients and preparation steps in a single query.
+     * 
+     * @param recipeId the unique identifier of the recipe
+     * @return the Recipe object with ingredients and preparation steps filled in, or null if not found
+     */
+    Recipe getRecipeAggregate(@Param("recipeId") int recipeId);
 
     /**
      * Searches for recipes by name.
@@ -70,11 +80,37 @@ public interface RecipeMapper {
      */
     ArrayList<Recipe> getAllRecipes();
 
+    /**
+     * Retrieves one page of recipe summaries using keyset pagination.
+     * Only recipes with an ID greater than the given one are returned, in ascending ID order,
+     * so the cost of a page does not depend on how far into the catalog it lies.
+     * 
+     * @param afterId the ID of the last recipe on the previous page, or 0 for the first page
+     * @param limit the maximum number of summaries to return
+     * @return a list of at most limit RecipeSummary objects
+     */
+    List<RecipeSummary> getRecipeSummariesAfter(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    /**
+     * Counts how many recipes use each image path.
+     * 
+     * @return one ImageReference per distinct image path in use
+     */
+    List<ImageReference> getImageReferenceCounts();
+
+    /**
+     * Counts all recipes in the database.
+     * 
+     * @return the number of recipes
+     */
+    int countRecipes();
+
     /**
      * Retrieves recipes by category.
+     * Categories are the values of the {@link RecipeTag#CATEGORY} facet in the recipe_tag table.
      * 
      * @param category the category to filter recipes by
-     * @return a list of Recipe objects in the specified category
+     * @return a list of Recipe objects in the specified category, ordered by recipe ID
      */
     ArrayList<Recipe> getRecipeByCategory(@Param("category") String category);
 
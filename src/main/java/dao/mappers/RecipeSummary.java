@@ -0,0 +1,122 @@
+package dao.mappers;
+
+import java.io.Serializable;
+
+/**
+ * RecipeSummary is a lightweight view of a recipe used for browsing and search results.
+ * It carries only what a recipe card shows: the ID, the name and the image path.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeSummary implements Serializable {
+
+    /** The unique identifier of the recipe */
+    private int recipeId;
+
+    /** The name of the recipe */
+    private String recipeName;
+
+    /** The path of the image shown on the recipe card */
+    private String imageUrl;
+
+    /**
+     * Default constructor for RecipeSummary.
+     * Creates an empty RecipeSummary object.
+     */
+    public RecipeSummary() {
+
+    }
+
+    /**
+     * Parameterized constructor for RecipeSummary.
+     *
+     * @param recipeId the unique identifier of the recipe
+     * @param recipeName the name of the recipe
+     * @param imageUrl the path of the image shown on the recipe card
+     */
+    public RecipeSummary(int recipeId, String recipeName, String imageUrl) {
+        this.recipeId = recipeId;
+        this.recipeName = recipeName;
+        this.imageUrl = imageUrl;
+    }
+
+    /**
+     * Creates a summary of a full recipe, preferring the card thumbnail over the original image.
+     *
+     * @param recipe the recipe to summarize
+     */
+    public RecipeSummary(Recipe recipe) {
+        this(recipe.getRecipeId(), recipe.getRecipeName(),
+                recipe.getThumbnailUrl() != null ? recipe.getThumbnailUrl() : recipe.getImageUrl());
+    }
+
+    /**
+     * Gets the recipe ID.
+     *
+     * @return the unique identifier of the recipe
+     */
+    public int getRecipeId() {
+        return recipeId;
+    }
+
+    /**
+     * Sets the recipe ID.
+     *
+     * @param recipeId the unique identifier of the recipe
+     */
+    public void setRecipeId(int recipeId) {
+        this.recipeId = recipeId;
+    }
+
+    /**
+     * Gets the recipe name.
+     *
+     * @return the name of the recipe
+     */
+    public String getRecipeName() {
+        return recipeName;
+    }
+
+    /**
+     * Sets the recipe name.
+     *
+     * @param recipeName the name of the recipe
+     */
+    public void setRecipeName(String recipeName) {
+        this.recipeName = recipeName;
+    }
+
+    /**
+     * Gets the image path.
+     *
+     * @return the path of the image shown on the recipe card
+     */
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    /**
+     * Sets the image path.
+     *
+     * @param imageUrl the path of the image shown on the recipe card
+     */
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    /**
+     * Returns a string representation of the RecipeSummary object.
+     *
+     * @return a string containing the summary fields
+     */
+    @Override
+    public String toString() {
+        return "RecipeSummary{" +
+                "recipeId=" + recipeId +
+                ", recipeName='" + recipeName + '\'' +
+                ", imageUrl='" + imageUrl + '\'' +
+                '}';
+    }
+}
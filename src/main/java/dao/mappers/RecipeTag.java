@@ -0,0 +1,115 @@
+package dao.mappers;
+
+import java.io.Serializable;
+
+/**
+ * RecipeTag assigns a recipe a value of a facet, such as the cuisine "Chinese" or the allergen "Egg".
+ * A recipe may have several values of the same facet.
+ * 
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeTag implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Facet of the kind of dish, such as main dish or soup */
+    public static final String CATEGORY = "category";
+
+    /** Facet of the cuisine the recipe comes from */
+    public static final String CUISINE = "cuisine";
+
+    /** Facet of the diets the recipe suits, such as vegetarian */
+    public static final String DIET = "diet";
+
+    /** Facet of the allergens the recipe contains */
+    public static final String ALLERGEN = "allergen";
+
+    /** Facet of the meals the recipe is served at */
+    public static final String MEAL_TYPE = "meal_type";
+
+    /** The ID of the tagged recipe */
+    private int recipeId;
+
+    /** The facet the tag belongs to */
+    private String facet;
+
+    /** The value of the facet */
+    private String value;
+
+    /**
+     * Default constructor for RecipeTag.
+     * Creates an empty RecipeTag object.
+     */
+    public RecipeTag() {
+
+    }
+
+    /**
+     * Parameterized constructor for RecipeTag.
+     * 
+     * @param recipeId the ID of the tagged recipe
+     * @param facet the facet the tag belongs to
+     * @param value the value of the facet
+     */
+    public RecipeTag(int recipeId, String facet, String value) {
+        this.recipeId = recipeId;
+        this.facet = facet;
+        this.value = value;
+    }
+
+    /**
+     * Gets the recipe ID.
+     * 
+     * @return the ID of the tagged recipe
+     */
+    public int getRecipeId() {
+        return recipeId;
+    }
+
+    /**
+     * Sets the recipe ID.
+     * 
+     * @param recipeId the ID of the tagged recipe
+     */
+    public void setRecipeId(int recipeId) {
+        this.recipeId = recipeId;
+    }
+
+    /**
+     * Gets the facet.
+     * 
+     * @return the facet the tag belongs to
+     */
+    public String getFacet() {
+        return facet;
+    }
+
+    /**
+     * Sets the facet.
+     * 
+     * @param facet the facet the tag belongs to
+     */
+    public void setFacet(String facet) {
+        this.facet = facet;
+    }
+
+    /**
+     * Gets the value.
+     * 
+     * @return the value of the facet
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Sets the value.
+     * 
+     * @param value the value of the facet
+     */
+    public void setValue(String value) {
+        this.value = value;
+    }
+}
@@ -0,0 +1,48 @@
+package dao.mappers;
+
+import org.apache.ibatis.annotations.Param;
+import java.util.List;
+
+/**
+ * MyBatis mapper interface for RecipeTag entity operations.
+ * This interface defines database operations for the categories and tags of recipes.
+ * 
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public interface RecipeTagMapper {
+
+    /**
+     * Adds several tags with a single multi-row insert.
+     * The list must not be empty.
+     * 
+     * @param recipeTags the RecipeTag objects to be added
+     * @return true if the addition was successful, false otherwise
+     */
+    boolean addRecipeTags(@Param("recipeTags") List<RecipeTag> recipeTags);
+
+    /**
+     * Deletes all tags of a specific recipe.
+     * 
+     * @param recipeID the ID of the recipe whose tags should be deleted
+     * @return true if the deletion was successful, false otherwise
+     */
+    boolean deleteRecipeTags(@Param("recipeID") Integer recipeID);
+
+    /**
+     * Retrieves all tags of a specific recipe.
+     * 
+     * @param recipeId the ID of the recipe to get tags for
+     * @return a list of RecipeTag objects ordered by facet and value
+     */
+    List<RecipeTag> getTagsByRecipeId(@Param("recipeId") Integer recipeId);
+
+    /**
+     * Retrieves the tags of every recipe.
+     * Used to build the facet index of the whole catalog in a single query.
+     * 
+     * @return a list of all RecipeTag objects ordered by recipe ID
+     */
+    List<RecipeTag> getAllRecipeTags();
+}
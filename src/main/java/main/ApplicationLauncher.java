@@ -2,6 +2,7 @@ package main;
 
 import javafx.application.Application;
 import javafx.stage.Stage;
+import model.Model;
 import view.LoginView;
 
 /**
@@ -28,5 +29,8 @@ public class ApplicationLauncher extends Application {
         // Create and show the login view
         LoginView loginView = new LoginView();
         loginView.show();
+
+        // Remove images of deleted recipes in the background
+        new Model().startImageGarbageCollector();
     }
 }
\ No newline at end of file
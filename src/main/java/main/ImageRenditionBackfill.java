@@ -0,0 +1,25 @@
+package main;
+
+import model.Model;
+
+/**
+ * Command line job that generates the card thumbnail and detail renditions
+ * for recipes whose images were stored before renditions existed.
+ * Recipes that already have up-to-date renditions are skipped, so the job can be run repeatedly.
+ * 
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class ImageRenditionBackfill {
+
+    /**
+     * Runs the backfill against the configured database.
+     * 
+     * @param args command line arguments (not used)
+     */
+    public static void main(String[] args) {
+        int count = new Model().backfillImageRenditions();
+        System.out.println("Generated image renditions for " + count + " recipe(s)");
+    }
+}
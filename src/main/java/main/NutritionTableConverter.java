@@ -0,0 +1,41 @@
+package main;
+
+import service.NutritionTable;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line job that converts a nutrition CSV export into the binary table read by the application.
+ * The CSV starts with a header row: the food name column, then one column per nutrient
+ * (calories, protein, fat, carbohydrates, ...), with values per 100 grams.
+ * 
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class NutritionTableConverter {
+
+    /**
+     * Converts the CSV file.
+     * 
+     * @param args the CSV file to read, and optionally the table file to write (src/nutrition/nutrition.cbn by default)
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: NutritionTableConverter <input.csv> [output.cbn]");
+            return;
+        }
+        Path output = Paths.get(args.length > 1 ? args[1] : "src/nutrition/nutrition.cbn");
+        try {
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            int count = NutritionTable.convert(Paths.get(args[0]), output);
+            System.out.println("Wrote " + count + " food(s) to " + output);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package model;
+
+import dao.mappers.PreparationStep;
+import dao.mappers.Recipe;
+import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.stage.Window;
+import javafx.stage.WindowEvent;
+import service.FacetIndex;
+import service.FacetQuery;
+import service.PantryIndex;
+import service.RecipeQuery;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * AsyncModel runs ModelMethod operations off the JavaFX application thread.
+ * Calls run on a small shared pool of daemon threads, so blocking MySQL round trips never freeze
+ * the UI and several loads can be in flight at once.
+ * Results are handed back to the JavaFX thread through {@link #onFxThread}.
+ * <p>
+ * Each screen owns one AsyncModel. When the screen is left, {@link #cancelAll()} cancels the
+ * calls it still has pending: a cancelled call's result is dropped instead of being applied
+ * to a closed window. A query that has already reached the database still runs to completion.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class AsyncModel {
+
+    /** Most calls running at once, the default number of active connections of the MyBatis pool */
+    public static final int MAX_THREADS = 10;
+
+    /** Executor shared by all screens, one task per call; further calls wait in its queue */
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    /** Supplies the model the calls are made on, read on the background thread at call time */
+    private final Supplier<? extends ModelMethod> model;
+
+    /** Calls submitted by this instance that have not completed yet */
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    /** Incremented on every cancellation so results of cancelled calls can be recognized */
+    private final AtomicInteger generation = new AtomicInteger();
+
+    /**
+     * Creates an AsyncModel calling the model returned by the supplier.
+     * The supplier is evaluated on the background thread for every call.
+     *
+     * @param model supplies the model to call
+     */
+    public AsyncModel(Supplier<? extends ModelMethod> model) {
+        this.model = model;
+    }
+
+    /**
+     * Gets the executor background calls run on.
+     *
+     * @return the shared executor
+     */
+    public static Executor getExecutor() {
+        return EXECUTOR;
+    }
+
+    /**
+     * Runs an operation of the model in the background.
+     *
+     * @param call the operation to run
+     * @param <T> the type of the result
+     * @return a future completed with the result, or cancelled by {@link #cancelAll()}
+     */
+    public <T> CompletableFuture<T> submit(Function<ModelMethod, T> call) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> call.apply(model.get()), EXECUTOR);
+        pending.add(future);
+        future.whenComplete((result, error) -> pending.remove(future));
+        return future;
+    }
+
+    /**
+     * Applies the result of a background call on the JavaFX application thread.
+     * Nothing is applied if the call was cancelled or this AsyncModel was cancelled after it started.
+     * A failed call is logged and reported with an error alert.
+     *
+     * @param future the background call
+     * @param onSuccess receives the result on the JavaFX thread
+     * @param <T> the type of the result
+     */
+    public <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        int startGeneration = generation.get();
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                if (!(cause instanceof CancellationException)) {
+                    cause.printStackTrace();
+                    Platform.runLater(() -> Model.displayAlert(Alert.AlertType.ERROR, "Error",
+                            "The operation could not be completed. Please try again."));
+                }
+                return;
+            }
+            Platform.runLater(() -> {
+                if (generation.get() == startGeneration) {
+                    onSuccess.accept(result);
+                }
+            });
+        });
+    }
+
+    /**
+     * Cancels every call that is still pending and discards results that are about to be applied.
+     */
+    public void cancelAll() {
+        generation.incrementAndGet();
+        for (CompletableFuture<?> future : new ArrayList<>(pending)) {
+            future.cancel(false);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Cancels all pending calls once the window showing the node is hidden,
+     * whether it is closed by navigation or by the user.
+     *
+     * @param node a node of the screen owning this AsyncModel; it may not be attached to a window yet
+     */
+    public void cancelWhenHidden(Node node) {
+        whenHidden(node, this::cancelAll);
+    }
+
+    /**
+     * Runs an action once the window showing the node is hidden,
+     * whether it is closed by navigation or by the user.
+     *
+     * @param node a node of the screen; it may not be attached to a window yet
+     * @param action the action, run on the JavaFX thread
+     */
+    public static void whenHidden(Node node, Runnable action) {
+        Consumer<Window> watchWindow = window ->
+                window.addEventHandler(WindowEvent.WINDOW_HIDDEN, event -> action.run());
+        Consumer<Scene> watchScene = scene -> {
+            if (scene.getWindow() != null) {
+                watchWindow.accept(scene.getWindow());
+            } else {
+                scene.windowProperty().addListener((obs, oldWindow, newWindow) -> {
+                    if (oldWindow == null && newWindow != null) {
+                        watchWindow.accept(newWindow);
+                    }
+                });
+            }
+        };
+        if (node.getScene() != null) {
+            watchScene.accept(node.getScene());
+        } else {
+            node.sceneProperty().addListener((obs, oldScene, newScene) -> {
+                if (oldScene == null && newScene != null) {
+                    watchScene.accept(newScene);
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the number of calls that have not completed yet.
+     *
+     * @return the number of pending calls
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Registers a new user in the background.
+     *
+     * @param name the username
+     * @param password the password
+     * @return a future completed with true if registration was successful
+     */
+    public CompletableFuture<Boolean> sign(String name, String password) {
+        return submit(m -> m.sign(name, password));
+    }
+
+    /**
+     * Authenticates a user login attempt in the background.
+     *
+     * @param name the username
+     * @param password the password
+     * @return a future completed with true if login was successful
+     */
+    public CompletableFuture<Boolean> login(String name, String password) {
+        return submit(m -> m.login(name, password));
+    }
+
+    /**
+     * Searches recipes in the background.
+     *
+     * @param query the text to search for
+     * @return a future completed with summaries of the matching recipes, best match first
+     */
+    public CompletableFuture<List<RecipeSummary>> searchRecipes(String query) {
+        return submit(m -> m.searchRecipes(query));
+    }
+
+    /**
+     * Loads a recipe with its ingredients and preparation steps in the background.
+     *
+     * @param id the unique ID of the recipe
+     * @return a future completed with the recipe, or null if not found
+     */
+    public CompletableFuture<Recipe> getRecipeAggregate(Integer id) {
+        return submit(m -> m.getRecipeAggregate(id));
+    }
+
+    /**
+     * Loads a page of recipe summaries in the background.
+     *
+     * @param afterId the ID after which the page starts
+     * @param limit the maximum number of summaries
+     * @return a future completed with at most limit summaries ordered by recipe ID
+     */
+    public CompletableFuture<List<RecipeSummary>> getRecipeSummariesAfter(int afterId, int limit) {
+        return submit(m -> m.getRecipeSummariesAfter(afterId, limit));
+    }
+
+    /**
+     * Counts the recipes in the background.
+     *
+     * @return a future completed with the number of recipes
+     */
+    public CompletableFuture<Integer> countRecipes() {
+        return submit(ModelMethod::countRecipes);
+    }
+
+    /**
+     * Finds recipes by ranges of their nutrition totals and times in the background.
+     *
+     * @param query the ranges, sort order and limit
+     * @return a future completed with summaries of the matching recipes in the requested order
+     */
+    public CompletableFuture<List<RecipeSummary>> queryRecipes(RecipeQuery query) {
+        return submit(m -> m.queryRecipes(query));
+    }
+
+    /**
+     * Finds recipes by their categories and tags in the background.
+     *
+     * @param query the included and excluded tags
+     * @return a future completed with the matching recipes and the tag counts
+     */
+    public CompletableFuture<FacetIndex.Result> browseRecipes(FacetQuery query) {
+        return submit(m -> m.browseRecipes(query));
+    }
+
+    /**
+     * Finds the recipes that can be cooked mostly from a pantry in the background.
+     *
+     * @param pantry the ingredient names at hand
+     * @param minMatches the least number of pantry items a recipe must use
+     * @param limit the maximum number of results
+     * @return a future completed with the matching recipes, best covered first
+     */
+    public CompletableFuture<List<PantryIndex.Match>> findRecipesByPantry(List<String> pantry, int minMatches, int limit) {
+        return submit(m -> m.findRecipesByPantry(pantry, minMatches, limit));
+    }
+
+    /**
+     * Stores an image in the image store in the background.
+     *
+     * @param imageURL the path of the image to store
+     * @return a future completed with the path of the stored image, or null if it could not be stored
+     */
+    public CompletableFuture<Path> duplicateImage(String imageURL) {
+        return submit(m -> m.duplicateImage(imageURL));
+    }
+
+    /**
+     * Generates the image renditions of a recipe in the background.
+     *
+     * @param recipe the recipe
+     * @return a future completed with true if the renditions are available
+     */
+    public CompletableFuture<Boolean> createImageRenditions(Recipe recipe) {
+        return submit(m -> m.createImageRenditions(recipe));
+    }
+
+    /**
+     * Replaces the ingredients of a recipe in the background.
+     *
+     * @param recipeID the ID of the recipe
+     * @param recipeIngredients the ingredients of the recipe
+     * @return a future completed once the ingredients are written
+     */
+    public CompletableFuture<Void> updateRecipeIngredient(Integer recipeID, List<RecipeIngredient> recipeIngredients) {
+        return submit(m -> {
+            m.updateRecipeIngredient(recipeID, recipeIngredients);
+            return null;
+        });
+    }
+
+    /**
+     * Loads the categories and tags of a recipe in the background.
+     *
+     * @param recipeId the ID of the recipe
+     * @return a future completed with the tags of the recipe
+     */
+    public CompletableFuture<List<RecipeTag>> getRecipeTags(Integer recipeId) {
+        return submit(m -> m.getRecipeTags(recipeId));
+    }
+
+    /**
+     * Saves a recipe with its ingredients, preparation steps and tags in one background transaction.
+     *
+     * @param recipe the recipe
+     * @param recipeIngredients the ingredients of the recipe
+     * @param preparationSteps the preparation steps of the recipe
+     * @param recipeTags the categories and tags of the recipe
+     * @return a future completed with the ID of the saved recipe, or 0 if saving failed
+     */
+    public CompletableFuture<Integer> saveRecipeAggregate(Recipe recipe, List<RecipeIngredient> recipeIngredients, List<PreparationStep> preparationSteps,
+                                                          List<RecipeTag> recipeTags) {
+        return submit(m -> m.saveRecipeAggregate(recipe, recipeIngredients, preparationSteps, recipeTags));
+    }
+
+    /**
+     * Deletes a recipe in the background.
+     *
+     * @param recipeID the ID of the recipe
+     * @return a future completed once the recipe is deleted
+     */
+    public CompletableFuture<Void> deleteRecipe(Integer recipeID) {
+        return submit(m -> {
+            m.deleteRecipe(recipeID);
+            return null;
+        });
+    }
+
+    /**
+     * Creates a pool of at most MAX_THREADS daemon threads, which end after a minute without work.
+     */
+    private static ExecutorService createExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "model-call-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -1,93 +1,92 @@
 package model;
 
-import dao.mappers.*;
-import org.apache.ibatis.io.Resources;
+import config.SqlSessionFactoryRegistry;
 import org.apache.ibatis.session.SqlSession;
 import org.apache.ibatis.session.SqlSessionFactory;
-import org.apache.ibatis.session.SqlSessionFactoryBuilder;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
- * Database manager class responsible for managing MyBatis configuration and mapper instances.
- * This class initializes the database connection and provides access to all mapper interfaces
- * for database operations throughout the application.
+ * Database manager class responsible for running units of work against the database.
+ * Every call borrows a SqlSession from the shared connection pool, runs the given work
+ * and returns the session straight away, so no connection stays pinned between operations
+ * and concurrent callers never share a JDBC connection.
  * 
  * @author Ziang Liu
  * @version 1.0
  * @since 1.0
  */
 public class DatabaseManager {
-    /** Mapper for user-related database operations */
-    private UserMapper userMapper;
-    
-    /** Mapper for recipe-related database operations */
-    private RecipeMapper recipeMapper;
-    
-    /** Mapper for recipe ingredient-related database operations */
-    private RecipeIngredientMapper recipeIngredientMapper;
-    
-    /** Mapper for preparation step-related database operations */
-    private PreparationStepMapper preparationStepMapper;
-    
-    /** MyBatis SQL session for database transactions */
-    private SqlSession sqlSession;
+    /** Process-wide MyBatis session factory, resolved on the first unit of work */
+    private final Supplier<SqlSessionFactory> sqlSessionFactory;
+
+    /** Number of managers created since the application started */
+    private static final AtomicInteger CREATE_COUNT = new AtomicInteger();
 
     /**
-     * Constructor that initializes the database connection and all mapper instances.
-     * Loads the MyBatis configuration from mybatis-config.xml and creates mapper instances.
+     * Constructor that binds this manager to the shared MyBatis configuration.
+     * The SqlSessionFactory is shared by the whole process, so mybatis-config.xml is only
+     * parsed once and all instances draw connections from the same pool. It is looked up
+     * when the first unit of work runs, so creating a manager on the JavaFX thread is cheap.
      */
     public DatabaseManager() {
-        String resource = "mybatis-config.xml";
-        try {
-            // Load MyBatis configuration
-            InputStream inputStream = Resources.getResourceAsStream(resource);
-            SqlSessionFactory sqlSessionFactory = new SqlSessionFactoryBuilder().build(inputStream);
-            sqlSession = sqlSessionFactory.openSession();
-            
-            // Initialize all mapper instances
-            userMapper = sqlSession.getMapper(UserMapper.class);
-            recipeMapper = sqlSession.getMapper(RecipeMapper.class);
-            recipeIngredientMapper = sqlSession.getMapper(RecipeIngredientMapper.class);
-            preparationStepMapper = sqlSession.getMapper(PreparationStepMapper.class);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        this.sqlSessionFactory = SqlSessionFactoryRegistry::getFactory;
+        CREATE_COUNT.incrementAndGet();
     }
 
     /**
-     * Gets the UserMapper instance for user-related database operations.
+     * Constructor that binds this manager to a specific session factory.
      * 
-     * @return the UserMapper instance
+     * @param sqlSessionFactory the factory used to open sessions
      */
-    public UserMapper getUserMapper() { return userMapper; }
-    
-    /**
-     * Gets the RecipeMapper instance for recipe-related database operations.
-     * 
-     * @return the RecipeMapper instance
-     */
-    public RecipeMapper getRecipeMapper() { return recipeMapper; }
-    
+    public DatabaseManager(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = () -> sqlSessionFactory;
+        CREATE_COUNT.incrementAndGet();
+    }
+
     /**
-     * Gets the RecipeIngredientMapper instance for ingredient-related database operations.
+     * Gets the number of managers created so far.
+     * Every Model creates one, so this is useful for verifying that views do not create models while rendering.
      * 
-     * @return the RecipeIngredientMapper instance
+     * @return the number of managers created since startup
      */
-    public RecipeIngredientMapper getRecipeIngredientMapper() { return recipeIngredientMapper; }
-    
+    public static int getCreateCount() {
+        return CREATE_COUNT.get();
+    }
+
     /**
-     * Gets the PreparationStepMapper instance for preparation step-related database operations.
+     * Runs read-only work in an auto-commit session that is closed as soon as the work returns.
      * 
-     * @return the PreparationStepMapper instance
+     * @param work the work to run with the borrowed session
+     * @param <T> the type of the result
+     * @return the result produced by the work
      */
-    public PreparationStepMapper getPreparationStepMapper() { return preparationStepMapper; }
-    
+    public <T> T read(Function<SqlSession, T> work) {
+        try (SqlSession session = sqlSessionFactory.get().openSession(true)) {
+            return work.apply(session);
+        }
+    }
+
     /**
-     * Gets the SqlSession instance for manual transaction management.
+     * Runs work in a single transaction. The transaction is committed when the work returns
+     * normally and rolled back when it throws; the session is closed in both cases.
      * 
-     * @return the SqlSession instance
+     * @param work the work to run with the borrowed session
+     * @param <T> the type of the result
+     * @return the result produced by the work
      */
-    public SqlSession getSqlSession() { return sqlSession; }
-}
\ No newline at end of file
+    public <T> T inTransaction(Function<SqlSession, T> work) {
+        try (SqlSession session = sqlSessionFactory.get().openSession(false)) {
+            try {
+                T result = work.apply(session);
+                session.commit();
+                return result;
+            } catch (RuntimeException e) {
+                session.rollback();
+                throw e;
+            }
+        }
+    }
+}
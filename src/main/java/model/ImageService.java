@@ -1,9 +1,44 @@
 package model;
 
+import dao.mappers.ImageReference;
+import dao.mappers.Recipe;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Service class for handling image-related operations in the recipe management system.
@@ -15,6 +50,57 @@ import java.nio.file.Paths;
  */
 public class ImageService {
 
+    /** Bounding box of the card thumbnail, twice the size of the card image for high-density screens */
+    public static final int THUMBNAIL_WIDTH = 400;
+    public static final int THUMBNAIL_HEIGHT = 360;
+
+    /** Bounding box of the rendition shown in the recipe detail view */
+    public static final int DETAIL_WIDTH = 1024;
+    public static final int DETAIL_HEIGHT = 1024;
+
+    /** JPEG quality used for renditions of opaque images */
+    private static final float JPEG_QUALITY = 0.85f;
+
+    /** Root of the content-addressed image store, relative to the working directory */
+    public static final String IMAGE_ROOT = "src/images/dishes";
+
+    /**
+     * Unreferenced images modified more recently than this are kept. Uploads of this process are pinned
+     * until their editor is saved or cancelled; the grace period only covers uploads of other processes
+     * sharing the store, whose pins this process cannot see.
+     */
+    public static final long ORPHAN_GRACE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /** Minutes between two runs of the background image garbage collector */
+    private static final long GC_INTERVAL_MINUTES = 10;
+
+    /** File names in the store start with the 64 hex digits of the SHA-256 of the original */
+    private static final Pattern HASH_NAME = Pattern.compile("^[0-9a-f]{64}(\\..*)?$");
+
+    /** Images ingested by this process and not yet released, with the number of pins on each */
+    private static final Map<Path, Integer> PINNED_IMAGES = new ConcurrentHashMap<>();
+
+    private static ScheduledExecutorService garbageCollector;
+
+    /** Root directory of the image store used by this service */
+    private final Path imageRoot;
+
+    /**
+     * Creates an image service storing images under {@link #IMAGE_ROOT}.
+     */
+    public ImageService() {
+        this(Paths.get(IMAGE_ROOT));
+    }
+
+    /**
+     * Creates an image service storing images under the given directory.
+     * 
+     * @param imageRoot the root directory of the content-addressed image store
+     */
+    public ImageService(Path imageRoot) {
+        this.imageRoot = imageRoot;
+    }
+
     /**
      * Extracts the file extension from a filename.
      * 
@@ -30,28 +116,385 @@ public class ImageService {
     }
 
     /**
-     * Duplicates an image file to the project's image directory with a unique timestamp-based name.
-     * This method copies the source image to the dishes directory and renames it to avoid conflicts.
+     * Stores an image file in the content-addressed image store.
+     * The file is named after the SHA-256 of its content and placed in a directory sharded by the
+     * first two bytes of the hash, e.g. src/images/dishes/3f/a2/3fa2....png. An image that is already
+     * stored is not copied again, but its modification time is refreshed so that the garbage collector
+     * treats it as a new upload; otherwise it is copied with FileChannel.transferTo, which lets the
+     * operating system move the bytes without passing them through the Java heap.
+     * <p>
+     * The stored image is pinned, so it is never collected until {@link #releaseImage} is called for it
+     * once the recipe using it is saved or its editor is closed.
      * 
-     * @param imageUrl the path or URL of the source image file
-     * @return the Path object pointing to the duplicated image file, or null if operation failed
+     * @param imageUrl the path of the source image file
+     * @return the path of the stored image, relative to the working directory for the default store, or null if the operation failed
      */
     public Path duplicateImage(String imageUrl) {
-        String projectPath = System.getProperty("user.dir");
-        String targetPath = projectPath + "/src/images/dishes";
-        String fileExtension = getFileExtension(imageUrl);
-        long timestamp = System.currentTimeMillis();
-        String newFileName = timestamp + "." + fileExtension;
-        Path fullPath = Paths.get(targetPath).resolve(newFileName);
-        Path imagePath = Paths.get(imageUrl);
         try {
-            // Copy the image file to the target directory
-            Files.copy(imagePath, fullPath);
+            Path source = Paths.get(imageUrl);
+            String hash = sha256(source);
+            String fileExtension = getFileExtension(source.getFileName().toString()).toLowerCase(Locale.ROOT);
+            Path target = storePath(hash, fileExtension);
+
+            // Pin the image before looking for it, so a stored orphan
+            // cannot be deleted between being found and being returned
+            PINNED_IMAGES.merge(target, 1, Integer::sum);
+            long now = System.currentTimeMillis();
+            boolean stored = false;
+            if (Files.exists(target)) {
+                try {
+                    Files.setLastModifiedTime(target, FileTime.fromMillis(now));
+                    stored = true;
+                } catch (NoSuchFileException e) {
+                    // Collected by a pass that started before the put; store it again
+                }
+            }
+            if (!stored) {
+                Files.createDirectories(target.getParent());
+                Path temporary = target.resolveSibling(target.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+                try {
+                    try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                         FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                                 StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        long size = in.size();
+                        long position = 0;
+                        while (position < size) {
+                            position += in.transferTo(position, size - position, out);
+                        }
+                    }
+                    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+            }
+            return target;
+        } catch (IOException | InvalidPathException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Releases a pin taken by {@link #duplicateImage}. Once every pin on an image is released, the
+     * garbage collector may delete it if no recipe references it.
+     * 
+     * @param image the path returned by duplicateImage; images that are not pinned are ignored
+     */
+    public static void releaseImage(Path image) {
+        PINNED_IMAGES.computeIfPresent(image, (path, pins) -> pins > 1 ? pins - 1 : null);
+    }
+
+    /**
+     * Gets the images of this process that are pinned against collection.
+     * 
+     * @return a snapshot of the pinned image paths
+     */
+    public static Set<Path> getPinnedImages() {
+        return new HashSet<>(PINNED_IMAGES.keySet());
+    }
+
+    /**
+     * Gets the location of an image in the store.
+     * 
+     * @param hash the hex SHA-256 of the image content
+     * @param fileExtension the file extension without the dot, may be empty
+     * @return the sharded path of the image
+     */
+    private Path storePath(String hash, String fileExtension) {
+        String fileName = fileExtension.isEmpty() ? hash : hash + "." + fileExtension;
+        return imageRoot.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(fileName);
+    }
+
+    /**
+     * Computes the SHA-256 of a file, reading it through a direct buffer.
+     * 
+     * @param file the file to hash
+     * @return the hash as 64 lower-case hex digits
+     * @throws IOException if the file cannot be read
+     */
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Deletes stored images, and their renditions, that no recipe references any more,
+     * keeping the images pinned now.
+     * 
+     * @param references the reference count of every image path in use
+     * @return the number of files deleted
+     */
+    public int collectGarbage(List<ImageReference> references) {
+        return collectGarbage(references, getPinnedImages());
+    }
+
+    /**
+     * Deletes stored images, and their renditions, that no recipe references any more.
+     * Pinned images, and images modified within the grace period, are kept, so an uploaded image
+     * survives until its recipe is saved.
+     * <p>
+     * The pins must be taken before the references are read: an image released after its recipe
+     * was saved is then either still pinned or already referenced.
+     * 
+     * @param references the reference count of every image path in use
+     * @param pinned the images pinned before the references were read
+     * @return the number of files deleted
+     */
+    public int collectGarbage(List<ImageReference> references, Set<Path> pinned) {
+        Set<String> liveHashes = new HashSet<>();
+        for (ImageReference reference : references) {
+            String hash = hashOf(reference.getImageUrl());
+            if (hash != null && reference.getReferenceCount() > 0) {
+                liveHashes.add(hash);
+            }
+        }
+        for (Path image : pinned) {
+            liveHashes.add(hashOf(image.toString()));
+        }
+        long now = System.currentTimeMillis();
+
+        Map<String, List<Path>> filesByHash = new HashMap<>();
+        if (!Files.isDirectory(imageRoot)) {
+            return 0;
+        }
+        try (DirectoryStream<Path> firstLevel = Files.newDirectoryStream(imageRoot, Files::isDirectory)) {
+            for (Path first : firstLevel) {
+                try (DirectoryStream<Path> secondLevel = Files.newDirectoryStream(first, Files::isDirectory)) {
+                    for (Path second : secondLevel) {
+                        try (DirectoryStream<Path> files = Files.newDirectoryStream(second, Files::isRegularFile)) {
+                            for (Path file : files) {
+                                String hash = hashOf(file.toString());
+                                if (hash != null && !liveHashes.contains(hash)) {
+                                    filesByHash.computeIfAbsent(hash, h -> new ArrayList<>()).add(file);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
         } catch (IOException e) {
             e.printStackTrace();
+            return 0;
+        }
+
+        int deleted = 0;
+        for (List<Path> files : filesByHash.values()) {
+            try {
+                boolean recent = false;
+                for (Path file : files) {
+                    recent |= now - Files.getLastModifiedTime(file).toMillis() < ORPHAN_GRACE_MILLIS;
+                }
+                if (recent) {
+                    continue;
+                }
+                for (Path file : files) {
+                    if (Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Starts collecting orphaned images in the background at a fixed interval.
+     * Calling it again while the collector runs has no effect.
+     * 
+     * @param referenceSource supplies the current image references, or null if they could not be read
+     */
+    public static synchronized void startGarbageCollector(Supplier<List<ImageReference>> referenceSource) {
+        if (garbageCollector != null) {
+            return;
+        }
+        garbageCollector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "image-garbage-collector");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        ImageService imageService = new ImageService();
+        garbageCollector.scheduleWithFixedDelay(() -> {
+            try {
+                // Never collect on a failed read: an empty reference list would mark every image as orphaned
+                Set<Path> pinned = getPinnedImages();
+                List<ImageReference> references = referenceSource.get();
+                if (references != null) {
+                    imageService.collectGarbage(references, pinned);
+                }
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }, 1, GC_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Extracts the content hash from the file name of a stored image or rendition.
+     * 
+     * @param path the path of the image
+     * @return the 64-digit hash, or null if the file is not part of the content-addressed store
+     */
+    private static String hashOf(String path) {
+        if (path == null) {
             return null;
         }
-        return fullPath;
+        String fileName = path.substring(Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\')) + 1);
+        return HASH_NAME.matcher(fileName).matches() ? fileName.substring(0, 64) : null;
+    }
+
+    /**
+     * Generates the card thumbnail and the detail rendition of a recipe's image and stores their paths
+     * on the recipe. Renditions are written next to the original and are only regenerated when the
+     * original is newer, so calling this again for an unchanged image costs two file stats.
+     * 
+     * @param recipe the recipe whose image URL is read and whose rendition paths are set
+     * @return true if both renditions are available, false if the image is missing or could not be read
+     */
+    public boolean createRenditions(Recipe recipe) {
+        String imageUrl = recipe.getImageUrl();
+        if (imageUrl == null || imageUrl.isEmpty()) {
+            return false;
+        }
+        Path original;
+        try {
+            original = Paths.get(imageUrl);
+        } catch (InvalidPathException e) {
+            return false;
+        }
+        Path thumbnail = createRendition(original, "thumb", THUMBNAIL_WIDTH, THUMBNAIL_HEIGHT);
+        Path detail = createRendition(original, "detail", DETAIL_WIDTH, DETAIL_HEIGHT);
+        if (thumbnail == null || detail == null) {
+            return false;
+        }
+        recipe.setThumbnailUrl(thumbnail.toString().replace('\\', '/'));
+        recipe.setDetailImageUrl(detail.toString().replace('\\', '/'));
+        return true;
+    }
+
+    /**
+     * Checks whether a recipe still needs its renditions to be generated.
+     * 
+     * @param recipe the recipe to check
+     * @return true if a rendition path is missing or points to a file that does not exist
+     */
+    public boolean needsRenditions(Recipe recipe) {
+        return !fileExists(recipe.getThumbnailUrl()) || !fileExists(recipe.getDetailImageUrl());
+    }
+
+    private static boolean fileExists(String path) {
+        try {
+            return path != null && !path.isEmpty() && Files.exists(Paths.get(path));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a downscaled copy of an image that fits in the given box, next to the original.
+     * Images with transparency are written as PNG, all others as compressed JPEG.
+     * 
+     * @param original the path of the original image
+     * @param suffix the name suffix of the rendition, e.g. "thumb"
+     * @param maxWidth the maximum width of the rendition
+     * @param maxHeight the maximum height of the rendition
+     * @return the path of the rendition, or null if the original could not be read
+     */
+    private Path createRendition(Path original, String suffix, int maxWidth, int maxHeight) {
+        try {
+            if (!Files.exists(original)) {
+                return null;
+            }
+            String fileName = original.getFileName().toString();
+            int dot = fileName.lastIndexOf('.');
+            String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+
+            for (String extension : new String[]{"jpg", "png"}) {
+                Path existing = original.resolveSibling(baseName + "." + suffix + "." + extension);
+                if (Files.exists(existing)
+                        && Files.getLastModifiedTime(existing).compareTo(Files.getLastModifiedTime(original)) >= 0) {
+                    return existing;
+                }
+            }
+
+            BufferedImage source = ImageIO.read(original.toFile());
+            if (source == null) {
+                return null;
+            }
+            BufferedImage scaled = scaleToFit(source, maxWidth, maxHeight);
+            boolean opaque = !scaled.getColorModel().hasAlpha();
+            Path target = original.resolveSibling(baseName + "." + suffix + "." + (opaque ? "jpg" : "png"));
+            // Write to a temporary file first so a reader never sees a half-written rendition
+            Path temporary = target.resolveSibling(target.getFileName() + "." + Thread.currentThread().getId() + ".tmp");
+            try {
+                if (opaque) {
+                    writeJpeg(scaled, temporary);
+                } else {
+                    ImageIO.write(scaled, "png", temporary.toFile());
+                }
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+            return target;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Scales an image down to fit the box, halving repeatedly so large photos keep their detail.
+     * Images that already fit are only converted to a plain RGB or ARGB raster.
+     */
+    private static BufferedImage scaleToFit(BufferedImage source, int maxWidth, int maxHeight) {
+        double scale = Math.min(1.0, Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, type);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
     }
 
     /**
@@ -3,12 +3,17 @@ package model;
 import dao.mappers.PreparationStep;
 import dao.mappers.Recipe;
 import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextFormatter;
+import service.FacetIndex;
+import service.FacetQuery;
+import service.PantryIndex;
+import service.RecipeQuery;
 
 import java.nio.file.Path;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
 import java.util.List;
 
 /**
@@ -78,36 +83,36 @@ public class Model implements ModelMethod {
 
     
     /**
-     * Retrieves image URLs for recipes matching the given name.
+     * Searches recipes by name, ingredients and preparation steps.
      * 
-     * @param recipeName The name of the recipe to search for
-     * @return A LinkedHashMap mapping recipe IDs to their image URLs
+     * @param query The text to search for
+     * @return Summaries of the matching recipes, best match first
      */
     @Override
-    public LinkedHashMap<Integer, String> updateImageUrls(String recipeName) {
-        return recipeService.updateImageUrls(recipeName);
+    public List<RecipeSummary> searchRecipes(String query) {
+        return recipeService.searchRecipes(query);
     }
 
     /**
-     * Retrieves recipe names for recipes matching the given name pattern.
+     * Retrieves a recipe by its unique identifier.
      * 
-     * @param recipeName The name pattern to search for
-     * @return An ArrayList of recipe names
+     * @param id The unique ID of the recipe
+     * @return The Recipe object, or null if not found
      */
     @Override
-    public ArrayList<String> updateImageNames(String recipeName) {
-        return recipeService.updateImageNames(recipeName);
+    public Recipe getRecipeByID(Integer id) {
+        return recipeService.getRecipeByID(id);
     }
 
     /**
-     * Retrieves a recipe by its unique identifier.
+     * Retrieves a recipe together with its ingredients and preparation steps in one query.
      * 
      * @param id The unique ID of the recipe
-     * @return The Recipe object, or null if not found
+     * @return The Recipe with ingredients and preparation steps, or null if not found
      */
     @Override
-    public Recipe getRecipeByID(Integer id) {
-        return recipeService.getRecipeByID(id);
+    public Recipe getRecipeAggregate(Integer id) {
+        return recipeService.getRecipeAggregate(id);
     }
 
     /**
@@ -175,6 +180,16 @@ public class Model implements ModelMethod {
         recipeService.addRecipeIngredient(recipeIngredient);
     }
 
+    /**
+     * Adds all ingredients of a recipe in a single batch.
+     * 
+     * @param recipeIngredients The RecipeIngredient objects to add
+     */
+    @Override
+    public void addRecipeIngredients(List<RecipeIngredient> recipeIngredients) {
+        recipeService.addRecipeIngredients(recipeIngredients);
+    }
+
     /**
      * Updates all ingredients for a specific recipe.
      * 
@@ -196,6 +211,63 @@ public class Model implements ModelMethod {
         return recipeService.getAllRecipes();
     }
 
+    /**
+     * Retrieves one page of recipe summaries in recipe ID order.
+     * 
+     * @param afterId The ID of the last recipe on the previous page, or 0 for the first page
+     * @param limit The maximum number of summaries to return
+     * @return The summaries of the page
+     */
+    @Override
+    public List<RecipeSummary> getRecipeSummariesAfter(int afterId, int limit) {
+        return recipeService.getRecipeSummariesAfter(afterId, limit);
+    }
+
+    /**
+     * Counts all recipes.
+     * 
+     * @return The number of recipes
+     */
+    @Override
+    public int countRecipes() {
+        return recipeService.countRecipes();
+    }
+
+    /**
+     * Finds recipes by ranges of their nutrition totals and times.
+     * 
+     * @param query The ranges, sort order and limit
+     * @return Summaries of the matching recipes in the requested order
+     */
+    @Override
+    public List<RecipeSummary> queryRecipes(RecipeQuery query) {
+        return recipeService.queryRecipes(query);
+    }
+
+    /**
+     * Finds recipes by their categories and tags, and counts the recipes every tag would give.
+     * 
+     * @param query The included and excluded tags
+     * @return The matching recipes with the tag counts
+     */
+    @Override
+    public FacetIndex.Result browseRecipes(FacetQuery query) {
+        return recipeService.browseRecipes(query);
+    }
+
+    /**
+     * Finds the recipes that can be cooked mostly from a pantry.
+     * 
+     * @param pantry The ingredient names at hand
+     * @param minMatches The least number of pantry items a recipe must use
+     * @param limit The maximum number of results
+     * @return The matching recipes with their coverage, best covered first
+     */
+    @Override
+    public List<PantryIndex.Match> findRecipesByPantry(List<String> pantry, int minMatches, int limit) {
+        return recipeService.findRecipesByPantry(pantry, minMatches, limit);
+    }
+
     /**
      * Adds a new preparation step to a recipe.
      * 
@@ -206,6 +278,16 @@ public class Model implements ModelMethod {
         recipeService.addRecipePreparationStep(preparationStep);
     }
 
+    /**
+     * Adds all preparation steps of a recipe in a single batch.
+     * 
+     * @param preparationSteps The PreparationStep objects to add
+     */
+    @Override
+    public void addRecipePreparationSteps(List<PreparationStep> preparationSteps) {
+        recipeService.addRecipePreparationSteps(preparationSteps);
+    }
+
     /**
      * Updates all preparation steps for a specific recipe.
      * 
@@ -217,6 +299,32 @@ public class Model implements ModelMethod {
         recipeService.updateRecipePreparationStep(recipeID, preparationSteps);
     }
 
+    /**
+     * Retrieves the categories and tags of a recipe.
+     * 
+     * @param recipeId The ID of the recipe
+     * @return The tags of the recipe, ordered by facet and value
+     */
+    @Override
+    public List<RecipeTag> getRecipeTags(Integer recipeId) {
+        return recipeService.getRecipeTags(recipeId);
+    }
+
+    /**
+     * Validates and saves a recipe with its ingredients, preparation steps and tags in one transaction.
+     * 
+     * @param recipe The Recipe to insert (ID 0) or update
+     * @param recipeIngredients The complete list of ingredients of the recipe
+     * @param preparationSteps The complete list of preparation steps of the recipe
+     * @param recipeTags The complete list of categories and tags of the recipe
+     * @return The ID of the saved recipe, or 0 if the save failed
+     */
+    @Override
+    public Integer saveRecipeAggregate(Recipe recipe, List<RecipeIngredient> recipeIngredients, List<PreparationStep> preparationSteps,
+                                       List<RecipeTag> recipeTags) {
+        return recipeService.saveRecipeAggregate(recipe, recipeIngredients, preparationSteps, recipeTags);
+    }
+
     /**
      * Deletes a recipe and all its associated data.
      * 
@@ -239,6 +347,56 @@ public class Model implements ModelMethod {
         return imageService.duplicateImage(imageURL);
     }
 
+    /**
+     * Releases an image stored by duplicateImage.
+     * 
+     * @param image The Path returned by duplicateImage
+     */
+    @Override
+    public void releaseImage(Path image) {
+        ImageService.releaseImage(image);
+    }
+
+    /**
+     * Generates the card thumbnail and detail renditions of a recipe's image
+     * and stores their paths on the recipe object.
+     * 
+     * @param recipe The recipe whose image should be rendered
+     * @return true if both renditions are available
+     */
+    @Override
+    public boolean createImageRenditions(Recipe recipe) {
+        return imageService.createRenditions(recipe);
+    }
+
+    /**
+     * Starts deleting stored images that no recipe references any more, in the background.
+     * Reference counts are read from the database on every run.
+     */
+    @Override
+    public void startImageGarbageCollector() {
+        ImageService.startGarbageCollector(recipeService::getImageReferenceCounts);
+    }
+
+    /**
+     * Generates missing image renditions for every recipe already in the database
+     * and stores their paths.
+     * 
+     * @return The number of recipes whose renditions were generated
+     */
+    @Override
+    public int backfillImageRenditions() {
+        int count = 0;
+        for (Recipe recipe : recipeService.getAllRecipes()) {
+            if (imageService.needsRenditions(recipe)
+                    && imageService.createRenditions(recipe)
+                    && recipeService.updateRecipeImages(recipe)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     
     /**
      * Validates if a string represents a valid integer for serving numbers.
@@ -306,12 +464,17 @@ public class Model implements ModelMethod {
     
     /**
      * Displays an alert dialog and stores it for testing purposes.
+     * When called from a background thread the alert is shown later on the JavaFX thread.
      * 
      * @param alertType The type of alert to display
      * @param title The title of the alert dialog
      * @param content The content message of the alert
      */
     public static void displayAlert(Alert.AlertType alertType, String title, String content) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> displayAlert(alertType, title, content));
+            return;
+        }
         UIUtils.displayAlert(alertType, title, content);
 
         Alert alert = new Alert(alertType); // Only for junit test
@@ -407,6 +570,16 @@ public class Model implements ModelMethod {
         return recipeService.getIngredients(recipeId);
     }
 
+    /**
+     * Formats preparation steps as numbered instructions for display.
+     * 
+     * @param steps The preparation steps to format
+     * @return A formatted string containing all preparation steps
+     */
+    public String formatInstructions(List<PreparationStep> steps) {
+        return recipeService.formatInstructions(steps);
+    }
+
     /**
      * Gets the formatted instructions for a specific recipe.
      * 
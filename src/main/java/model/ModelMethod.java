@@ -2,9 +2,14 @@ package model;
 import dao.mappers.Recipe;
 import dao.mappers.RecipeIngredient;
 import dao.mappers.PreparationStep;
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
+import service.FacetIndex;
+import service.FacetQuery;
+import service.PantryIndex;
+import service.RecipeQuery;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.HashMap;
 
 /**
  * Interface defining the contract for model operations in the recipe management system.
@@ -36,28 +41,28 @@ public interface ModelMethod {
     public boolean login(String name, String password);
 
     /**
-     * Updates and retrieves recipe names based on search criteria.
+     * Searches recipes by name, ingredients and preparation steps.
      * 
-     * @param recipeName the recipe name to search for
-     * @return a list of matching recipe names
+     * @param query the text to search for
+     * @return summaries of the matching recipes, best match first
      */
-    public List<String> updateImageNames(String recipeName);
+    public List<RecipeSummary> searchRecipes(String query);
 
     /**
-     * Updates and retrieves recipe image URLs based on search criteria.
+     * Retrieves a recipe by its unique identifier.
      * 
-     * @param recipeName the recipe name to search for
-     * @return a map of recipe IDs to their image URLs
+     * @param id the unique identifier of the recipe
+     * @return the Recipe object if found, null otherwise
      */
-    public HashMap<Integer, String> updateImageUrls(String recipeName);
+    public Recipe getRecipeByID(Integer id);
 
     /**
-     * Retrieves a recipe by its unique identifier.
+     * Retrieves a recipe together with its ingredients and preparation steps in one query.
      * 
      * @param id the unique identifier of the recipe
-     * @return the Recipe object if found, null otherwise
+     * @return the Recipe with ingredients and preparation steps, or null if not found
      */
-    public Recipe getRecipeByID(Integer id);
+    public Recipe getRecipeAggregate(Integer id);
 
     /**
      * Retrieves all preparation steps for a specific recipe.
@@ -82,6 +87,13 @@ public interface ModelMethod {
      */
     public void addRecipeIngredient(RecipeIngredient recipeIngredient);
 
+    /**
+     * Adds all ingredients of a recipe in a single batch.
+     * 
+     * @param recipeIngredients the RecipeIngredient objects to add
+     */
+    public void addRecipeIngredients(List<RecipeIngredient> recipeIngredients);
+
     /**
      * Updates all ingredients for a specific recipe.
      * 
@@ -97,6 +109,48 @@ public interface ModelMethod {
      */
     public List<Recipe> getAllRecipes();
 
+    /**
+     * Retrieves one page of recipe summaries in recipe ID order.
+     * 
+     * @param afterId the ID of the last recipe on the previous page, or 0 for the first page
+     * @param limit the maximum number of summaries to return
+     * @return the summaries of the page
+     */
+    public List<RecipeSummary> getRecipeSummariesAfter(int afterId, int limit);
+
+    /**
+     * Counts all recipes.
+     * 
+     * @return the number of recipes
+     */
+    public int countRecipes();
+
+    /**
+     * Finds recipes by ranges of their nutrition totals and times.
+     * 
+     * @param query the ranges, sort order and limit
+     * @return summaries of the matching recipes in the requested order
+     */
+    public List<RecipeSummary> queryRecipes(RecipeQuery query);
+
+    /**
+     * Finds recipes by their categories and tags, and counts the recipes every tag would give.
+     * 
+     * @param query the included and excluded tags
+     * @return the matching recipes with the tag counts
+     */
+    public FacetIndex.Result browseRecipes(FacetQuery query);
+
+    /**
+     * Finds the recipes that can be cooked mostly from a pantry.
+     * 
+     * @param pantry the ingredient names at hand
+     * @param minMatches the least number of pantry items a recipe must use
+     * @param limit the maximum number of results
+     * @return the matching recipes with their coverage, best covered first
+     */
+    public List<PantryIndex.Match> findRecipesByPantry(List<String> pantry, int minMatches, int limit);
+
     /**
      * Duplicates an image file for recipe storage.
      * 
@@ -105,6 +159,35 @@ public interface ModelMethod {
      */
     public Path duplicateImage(String imageURL);
 
+    /**
+     * Releases an image stored by duplicateImage once the recipe using it is saved or its editor is closed,
+     * so it may be collected if no recipe references it.
+     * 
+     * @param image the Path returned by duplicateImage
+     */
+    public void releaseImage(Path image);
+
+    /**
+     * Generates the card thumbnail and detail renditions of a recipe's image
+     * and stores their paths on the recipe object.
+     * 
+     * @param recipe the recipe whose image should be rendered
+     * @return true if both renditions are available
+     */
+    public boolean createImageRenditions(Recipe recipe);
+
+    /**
+     * Generates missing image renditions for every recipe already in the database.
+     * 
+     * @return the number of recipes whose renditions were generated
+     */
+    public int backfillImageRenditions();
+
+    /**
+     * Starts deleting stored images that no recipe references any more, in the background.
+     */
+    public void startImageGarbageCollector();
+
     /**
      * Validates if a string represents a valid integer for serving numbers.
      * 
@@ -144,6 +227,13 @@ public interface ModelMethod {
      */
     public void addRecipePreparationStep(PreparationStep preparationStep);
 
+    /**
+     * Adds all preparation steps of a recipe in a single batch.
+     * 
+     * @param preparationSteps the PreparationStep objects to add
+     */
+    public void addRecipePreparationSteps(List<PreparationStep> preparationSteps);
+
     /**
      * Updates all preparation steps for a specific recipe.
      * 
@@ -152,6 +242,26 @@ public interface ModelMethod {
      */
     public void updateRecipePreparationStep(Integer recipeID, List<PreparationStep> preparationSteps);
 
+    /**
+     * Retrieves the categories and tags of a recipe.
+     * 
+     * @param recipeId the ID of the recipe
+     * @return the tags of the recipe, ordered by facet and value
+     */
+    public List<RecipeTag> getRecipeTags(Integer recipeId);
+
+    /**
+     * Validates and saves a recipe with its ingredients, preparation steps and tags in one transaction.
+     * 
+     * @param recipe the Recipe to insert (ID 0) or update
+     * @param recipeIngredients the complete list of ingredients of the recipe
+     * @param preparationSteps the complete list of preparation steps of the recipe
+     * @param recipeTags the complete list of categories and tags of the recipe
+     * @return the ID of the saved recipe, or 0 if the save failed
+     */
+    public Integer saveRecipeAggregate(Recipe recipe, List<RecipeIngredient> recipeIngredients, List<PreparationStep> preparationSteps,
+                                       List<RecipeTag> recipeTags);
+
     /**
      * Deletes a recipe and all its associated data.
      * 
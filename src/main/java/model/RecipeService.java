@@ -1,13 +1,34 @@
 package model;
 
+import dao.mappers.ImageReference;
 import dao.mappers.PreparationStep;
+import dao.mappers.PreparationStepMapper;
 import dao.mappers.Recipe;
 import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeIngredientMapper;
+import dao.mappers.RecipeMapper;
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
+import dao.mappers.RecipeTagMapper;
 import javafx.scene.control.Alert;
+import org.apache.ibatis.session.SqlSession;
+import service.CatalogView;
+import service.FacetIndex;
+import service.FacetQuery;
+import service.PantryIndex;
+import service.ReadThroughCache;
+import service.RecipeQuery;
+import service.RecipeQueryEngine;
+import service.RecipeSearchIndex;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * RecipeService provides comprehensive business logic for recipe management operations.
@@ -19,7 +40,24 @@ import java.util.List;
  * @since 1.0
  */
 public class RecipeService {
+    /** Search index shared by all services, built from the database on the first search */
+    private static final RecipeSearchIndex SEARCH_INDEX = new RecipeSearchIndex();
+
+    /** Recipe aggregates shared by all services, invalidated by every write to a recipe */
+    private static final ReadThroughCache<Integer, Recipe> AGGREGATE_CACHE =
+            new ReadThroughCache<>(256, 10, TimeUnit.MINUTES);
+
+    /** Query engine over the recipe rows, dropped when a recipe row or its nutrition totals change */
+    private static final CatalogView<RecipeQueryEngine> QUERY_ENGINE = new CatalogView<>();
+
+    /** Tag bitmaps of the catalog, dropped when a recipe is added, renamed, retagged or deleted */
+    private static final CatalogView<FacetIndex> FACET_INDEX = new CatalogView<>();
+
+    /** Ingredient posting lists of the catalog, dropped when a recipe row or its ingredients change */
+    private static final CatalogView<PantryIndex> PANTRY_INDEX = new CatalogView<>();
+
     private DatabaseManager dbManager;
+    private ValidationService validationService;
 
     /**
      * Constructor for RecipeService.
@@ -28,38 +66,176 @@ public class RecipeService {
      */
     public RecipeService(DatabaseManager dbManager) {
         this.dbManager = dbManager;
+        this.validationService = new ValidationService();
+    }
+
+    
+    /**
+     * Searches recipe names, ingredient names and preparation steps through the search index.
+     * A single lookup yields both the ID, the name and the image of every match.
+     * 
+     * @param query The text to search for
+     * @return Summaries of the matching recipes, best match first
+     */
+    public List<RecipeSummary> searchRecipes(String query) {
+        RecipeSearchIndex index = getSearchIndex();
+        List<RecipeSummary> summaries = new ArrayList<>();
+        for (Integer recipeId : index.search(query)) {
+            RecipeSummary summary = index.getDocument(recipeId);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    
+    /**
+     * Gets the shared search index, loading every recipe with its ingredients and steps on first use.
+     * 
+     * @return The built search index, or an empty one if the database could not be read
+     */
+    private RecipeSearchIndex getSearchIndex() {
+        if (!SEARCH_INDEX.isBuilt()) {
+            synchronized (SEARCH_INDEX) {
+                if (!SEARCH_INDEX.isBuilt()) {
+                    try {
+                        SEARCH_INDEX.rebuild(this::loadCatalog);
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        }
+        return SEARCH_INDEX;
     }
 
     
     /**
-     * Retrieves image URLs for recipes matching the given name.
+     * Finds recipes by ranges of their nutrition totals and times, sorted and limited as requested.
+     * The query engine is built from the recipe table on first use and again after a recipe row has changed.
      * 
-     * @param recipeName The name of the recipe to search for
-     * @return A LinkedHashMap mapping recipe IDs to their image URLs
+     * @param query The ranges, sort order and limit
+     * @return Summaries of the matching recipes in the requested order, empty if the database could not be read
      */
-    public LinkedHashMap<Integer, String> updateImageUrls(String recipeName) {
-        ArrayList<Recipe> recipes = dbManager.getRecipeMapper().getRecipeByName(recipeName);
-        LinkedHashMap<Integer, String> imageHashMap = new LinkedHashMap<>();
-        for(Recipe recipe : recipes){
-            imageHashMap.put(recipe.getRecipeId(), recipe.getImageUrl());
+    public List<RecipeSummary> queryRecipes(RecipeQuery query) {
+        try {
+            return QUERY_ENGINE.get(() -> new RecipeQueryEngine(getAllRecipes())).query(query);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
         }
-        return imageHashMap;
     }
 
     
     /**
-     * Retrieves recipe names for recipes matching the given name pattern.
+     * Finds recipes by their categories and tags, and counts the recipes every tag would give.
+     * The facet index is built from the database on first use and again after the tags or the summary
+     * of a recipe have changed.
+     * 
+     * @param query The included and excluded tags
+     * @return The matching recipes in ID order with the tag counts, empty if the database could not be read
+     */
+    public FacetIndex.Result browseRecipes(FacetQuery query) {
+        FacetIndex index;
+        try {
+            index = FACET_INDEX.get(() -> dbManager.read(session -> new FacetIndex(
+                    session.getMapper(RecipeMapper.class).getRecipeSummariesAfter(0, Integer.MAX_VALUE),
+                    session.getMapper(RecipeTagMapper.class).getAllRecipeTags())));
+        } catch (Exception e) {
+            e.printStackTrace();
+            index = new FacetIndex(new ArrayList<>(), new ArrayList<>());
+        }
+        return index.browse(query);
+    }
+
+    
+    /**
+     * Finds the recipes that can be cooked mostly from a pantry, best covered first.
+     * The ingredient index is built from the database on first use and again after the ingredients or
+     * the summary of a recipe have changed.
+     * 
+     * @param pantry The ingredient names at hand
+     * @param minMatches The least number of pantry items a recipe must use
+     * @param limit The maximum number of results
+     * @return The matching recipes with their coverage, empty if the database could not be read
+     */
+    public List<PantryIndex.Match> findRecipesByPantry(List<String> pantry, int minMatches, int limit) {
+        try {
+            return PANTRY_INDEX.get(() -> new PantryIndex(loadCatalog())).findRecipes(pantry, minMatches, limit);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    
+    /**
+     * Drops the catalog views that a write of recipe rows, including their tags, has made stale.
+     */
+    private static void recipeRowsChanged() {
+        QUERY_ENGINE.invalidate();
+        FACET_INDEX.invalidate();
+        PANTRY_INDEX.invalidate();
+    }
+
+    
+    /**
+     * Drops the catalog views that a write of ingredients has made stale: the ingredient index, and the
+     * query engine since the nutrition totals of the recipe rows follow the ingredients.
+     */
+    private static void ingredientsChanged() {
+        QUERY_ENGINE.invalidate();
+        PANTRY_INDEX.invalidate();
+    }
+
+    
+    /**
+     * Loads every recipe with its ingredients and preparation steps in three queries.
+     * 
+     * @return The recipes in ID order
+     */
+    private Collection<Recipe> loadCatalog() {
+        return dbManager.read(session -> {
+            Map<Integer, Recipe> recipes = new LinkedHashMap<>();
+            for (Recipe recipe : session.getMapper(RecipeMapper.class).getAllRecipes()) {
+                recipes.put(recipe.getRecipeId(), recipe);
+            }
+            for (RecipeIngredient ingredient : session.getMapper(RecipeIngredientMapper.class).getAllRecipeIngredients()) {
+                Recipe recipe = recipes.get(ingredient.getRecipeId());
+                if (recipe != null) {
+                    recipe.getIngredients().add(ingredient);
+                }
+            }
+            for (PreparationStep step : session.getMapper(PreparationStepMapper.class).getAllPreparationSteps()) {
+                Recipe recipe = recipes.get(step.getRecipeId());
+                if (recipe != null) {
+                    recipe.getPreparationSteps().add(step);
+                }
+            }
+            return recipes.values();
+        });
+    }
+
+    
+    /**
+     * Drops the cached aggregate of a recipe and brings its search index entry up to date after a write.
+     * The index is left alone while it is neither built nor being rebuilt, since it will read fresh data anyway.
+     * Catalog views are dropped by the writers, according to the data they changed.
      * 
-     * @param recipeName The name pattern to search for
-     * @return An ArrayList of recipe names
+     * @param recipeId The ID of the recipe that changed
      */
-    public ArrayList<String> updateImageNames(String recipeName) {
-        ArrayList<Recipe> recipes = dbManager.getRecipeMapper().getRecipeByName(recipeName);
-        ArrayList<String> imageNames = new ArrayList<>();
-        for(Recipe recipe : recipes){
-            imageNames.add(recipe.getRecipeName());
+    private void recipeChanged(Integer recipeId) {
+        AGGREGATE_CACHE.invalidate(recipeId);
+        if (!SEARCH_INDEX.acceptsUpdates()) {
+            return;
+        }
+        Recipe recipe = getRecipeAggregate(recipeId);
+        if (recipe == null) {
+            SEARCH_INDEX.remove(recipeId);
+        } else {
+            SEARCH_INDEX.put(recipe);
         }
-        return imageNames;
     }
 
     
@@ -70,7 +246,41 @@ public class RecipeService {
      * @return The Recipe object, or null if not found
      */
     public Recipe getRecipeByID(Integer id) {
-        return dbManager.getRecipeMapper().getRecipeById(id);
+        return getRecipeAggregate(id);
+    }
+
+    
+    /**
+     * Retrieves a recipe with its ingredients and preparation steps.
+     * Recently read recipes are served from the aggregate cache; others are loaded in one database round trip.
+     * The caller gets its own copy and may modify it.
+     * 
+     * @param id The unique ID of the recipe
+     * @return The Recipe object with ingredients and steps, or null if not found
+     */
+    public Recipe getRecipeAggregate(Integer id) {
+        Recipe recipe = getCachedAggregate(id);
+        return recipe == null ? null : new Recipe(recipe);
+    }
+
+    /**
+     * Gets the shared, unmodified aggregate of a recipe through the cache.
+     * 
+     * @param id The unique ID of the recipe
+     * @return The cached aggregate, or null if not found
+     */
+    private Recipe getCachedAggregate(Integer id) {
+        return AGGREGATE_CACHE.get(id, recipeId ->
+                dbManager.read(session -> session.getMapper(RecipeMapper.class).getRecipeAggregate(recipeId)));
+    }
+
+    /**
+     * Gets the cache of recipe aggregates, for example to inspect its hit rate.
+     * 
+     * @return The shared aggregate cache
+     */
+    public static ReadThroughCache<Integer, Recipe> getAggregateCache() {
+        return AGGREGATE_CACHE;
     }
 
     
@@ -81,19 +291,39 @@ public class RecipeService {
      * @return A list of RecipeIngredient objects for the recipe
      */
     public List<RecipeIngredient> getIngredientByID(Integer id) {
-        return dbManager.getRecipeIngredientMapper().getRecipeIngredientsByRecipeId(id);
+        Recipe recipe = getCachedAggregate(id);
+        List<RecipeIngredient> ingredients = new ArrayList<>();
+        if (recipe != null) {
+            for (RecipeIngredient ingredient : recipe.getIngredients()) {
+                ingredients.add(new RecipeIngredient(ingredient));
+            }
+        }
+        return ingredients;
     }
 
     
+    /**
+     * Retrieves all preparation steps for a specific recipe, in step order.
+     * 
+     * @param id The recipe ID
+     * @return A list of PreparationStep objects for the recipe
+     */
     public List<PreparationStep> getRecipePreparationSteps(Integer id) {
-        return dbManager.getPreparationStepMapper().getPreparationStepsByRecipeId(id);
+        Recipe recipe = getCachedAggregate(id);
+        List<PreparationStep> preparationSteps = new ArrayList<>();
+        if (recipe != null) {
+            for (PreparationStep preparationStep : recipe.getPreparationSteps()) {
+                preparationSteps.add(new PreparationStep(preparationStep));
+            }
+        }
+        return preparationSteps;
     }
 
     
     public List<RecipeIngredient> updateIngredientByServeNumber(Integer id, String serveNumber) {
         Float serveNumberInt = Float.parseFloat(serveNumber);
         List<RecipeIngredient> updatedIngredients = new ArrayList<>();
-        List<RecipeIngredient> ingredients = dbManager.getRecipeIngredientMapper().getRecipeIngredientsByRecipeId(id);
+        List<RecipeIngredient> ingredients = getIngredientByID(id);
         for(RecipeIngredient ingredient : ingredients){
             updatedIngredients.add(new RecipeIngredient(ingredient));
         }
@@ -111,10 +341,30 @@ public class RecipeService {
      */
     public void updateRecipe(Recipe recipe) {
         try {
-            dbManager.getRecipeMapper().updateRecipe(recipe);
-            dbManager.getSqlSession().commit();
+            dbManager.inTransaction(session -> session.getMapper(RecipeMapper.class).updateRecipe(recipe));
+            recipeRowsChanged();
+            recipeChanged(recipe.getRecipeId());
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
+        }
+    }
+
+    
+    /**
+     * Stores the rendition paths of a recipe's image.
+     * 
+     * @param recipe The recipe holding the ID and the new rendition paths
+     * @return true if the paths were stored, false otherwise
+     */
+    public boolean updateRecipeImages(Recipe recipe) {
+        try {
+            dbManager.inTransaction(session -> session.getMapper(RecipeMapper.class).updateRecipeImages(recipe));
+            recipeRowsChanged();
+            recipeChanged(recipe.getRecipeId());
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
         }
     }
 
@@ -127,12 +377,15 @@ public class RecipeService {
      */
     public Integer addRecipe(Recipe recipe) {
         try {
-            dbManager.getRecipeMapper().addRecipe(recipe);
-            dbManager.getSqlSession().commit();
-            Recipe newRecipe = dbManager.getRecipeMapper().getNewRecipe();
-            return newRecipe.getRecipeId();
+            Integer recipeId = dbManager.inTransaction(session -> {
+                session.getMapper(RecipeMapper.class).addRecipe(recipe);
+                return recipe.getRecipeId();
+            });
+            recipeRowsChanged();
+            recipeChanged(recipeId);
+            return recipeId;
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
             return 0;
         }
     }
@@ -140,24 +393,86 @@ public class RecipeService {
     
     public void addRecipeIngredient(RecipeIngredient recipeIngredient) {
         try {
-            dbManager.getRecipeIngredientMapper().addRecipeIngredient(recipeIngredient);
-            dbManager.getSqlSession().commit();
+            dbManager.inTransaction(session -> {
+                session.getMapper(RecipeIngredientMapper.class).addRecipeIngredient(recipeIngredient);
+                addNutrition(session, recipeIngredient.getRecipeId(), List.of(recipeIngredient));
+                return true;
+            });
+            ingredientsChanged();
+            recipeChanged(recipeIngredient.getRecipeId());
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
         }
     }
 
     
-    public void updateRecipeIngredient(Integer recipeID, List<RecipeIngredient> recipeIngredients) {
+    /**
+     * Adds all ingredients of a recipe in one statement and one commit.
+     * 
+     * @param recipeIngredients The ingredients to add
+     */
+    public void addRecipeIngredients(List<RecipeIngredient> recipeIngredients) {
+        if (recipeIngredients.isEmpty()) {
+            return;
+        }
         try {
-            dbManager.getRecipeIngredientMapper().deleteRecipeIngredient(recipeID);
+            Map<Integer, List<RecipeIngredient>> byRecipe = new LinkedHashMap<>();
             for (RecipeIngredient recipeIngredient : recipeIngredients) {
-                dbManager.getRecipeIngredientMapper().addRecipeIngredient(recipeIngredient);
+                byRecipe.computeIfAbsent(recipeIngredient.getRecipeId(), id -> new ArrayList<>()).add(recipeIngredient);
             }
-            dbManager.getSqlSession().commit();
+            dbManager.inTransaction(session -> {
+                session.getMapper(RecipeIngredientMapper.class).addRecipeIngredients(recipeIngredients);
+                byRecipe.forEach((recipeId, added) -> addNutrition(session, recipeId, added));
+                return true;
+            });
+            ingredientsChanged();
+            byRecipe.keySet().forEach(this::recipeChanged);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    
+    /**
+     * Replaces the ingredients of a recipe, recomputing the nutrition totals of the recipe row from the
+     * new ingredients in the same transaction.
+     * 
+     * @param recipeID The ID of the recipe
+     * @param recipeIngredients The new ingredients of the recipe
+     */
+    public void updateRecipeIngredient(Integer recipeID, List<RecipeIngredient> recipeIngredients) {
+        try {
+            dbManager.inTransaction(session -> {
+                RecipeIngredientMapper ingredientMapper = session.getMapper(RecipeIngredientMapper.class);
+                ingredientMapper.deleteRecipeIngredient(recipeID);
+                if (!recipeIngredients.isEmpty()) {
+                    ingredientMapper.addRecipeIngredients(recipeIngredients);
+                }
+                ingredientMapper.recomputeNutrition(recipeID);
+                return true;
+            });
+            ingredientsChanged();
+            recipeChanged(recipeID);
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
+        }
+    }
+
+    
+    /**
+     * Adds the nutrition of newly inserted ingredients to the totals of their recipe.
+     * Must run in the transaction that inserted them, so the recipe row never disagrees with its ingredients.
+     * 
+     * @param session The session of the writing transaction
+     * @param recipeId The ID of the recipe
+     * @param added The inserted ingredients of the recipe
+     */
+    private static void addNutrition(SqlSession session, int recipeId, List<RecipeIngredient> added) {
+        List<String> names = new ArrayList<>();
+        for (RecipeIngredient recipeIngredient : added) {
+            names.add(recipeIngredient.getName());
         }
+        session.getMapper(RecipeIngredientMapper.class).applyNutritionDelta(recipeId, names, 1);
     }
 
     
@@ -167,29 +482,186 @@ public class RecipeService {
      * @return A list of all Recipe objects
      */
     public List<Recipe> getAllRecipes() {
-        return dbManager.getRecipeMapper().getAllRecipes();
+        return dbManager.read(session -> session.getMapper(RecipeMapper.class).getAllRecipes());
+    }
+
+    
+    /**
+     * Retrieves the categories and tags of a recipe.
+     * 
+     * @param recipeId The ID of the recipe
+     * @return The tags of the recipe, ordered by facet and value
+     */
+    public List<RecipeTag> getRecipeTags(Integer recipeId) {
+        return dbManager.read(session -> session.getMapper(RecipeTagMapper.class).getTagsByRecipeId(recipeId));
+    }
+
+    
+    /**
+     * Retrieves one page of recipe summaries, starting after the given recipe ID.
+     * 
+     * @param afterId The ID of the last recipe on the previous page, or 0 for the first page
+     * @param limit The maximum number of summaries to return
+     * @return The summaries of the page, empty if the page could not be read
+     */
+    public List<RecipeSummary> getRecipeSummariesAfter(int afterId, int limit) {
+        try {
+            return dbManager.read(session -> session.getMapper(RecipeMapper.class).getRecipeSummariesAfter(afterId, limit));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    
+    /**
+     * Counts how many recipes use each image path.
+     * 
+     * @return The reference count of every image in use, or null if the counts could not be read
+     */
+    public List<ImageReference> getImageReferenceCounts() {
+        try {
+            return dbManager.read(session -> session.getMapper(RecipeMapper.class).getImageReferenceCounts());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    
+    /**
+     * Counts all recipes in the database.
+     * 
+     * @return The number of recipes, or 0 if the count could not be read
+     */
+    public int countRecipes() {
+        try {
+            return dbManager.read(session -> session.getMapper(RecipeMapper.class).countRecipes());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
     }
 
     
     public void addRecipePreparationStep(PreparationStep preparationStep) {
         try {
-            dbManager.getPreparationStepMapper().addPreparationStep(preparationStep);
-            dbManager.getSqlSession().commit();
+            dbManager.inTransaction(session -> session.getMapper(PreparationStepMapper.class).addPreparationStep(preparationStep));
+            recipeChanged(preparationStep.getRecipeId());
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
         }
     }
 
     
-    public void updateRecipePreparationStep(Integer recipeID, List<PreparationStep> preparationSteps) {
+    /**
+     * Adds all preparation steps of a recipe in one statement and one commit.
+     * 
+     * @param preparationSteps The preparation steps to add
+     */
+    public void addRecipePreparationSteps(List<PreparationStep> preparationSteps) {
+        if (preparationSteps.isEmpty()) {
+            return;
+        }
         try {
-            dbManager.getPreparationStepMapper().deletePreparationStep(recipeID);
+            dbManager.inTransaction(session -> session.getMapper(PreparationStepMapper.class).addPreparationSteps(preparationSteps));
+            Set<Integer> recipeIds = new LinkedHashSet<>();
             for (PreparationStep preparationStep : preparationSteps) {
-                dbManager.getPreparationStepMapper().addPreparationStep(preparationStep);
+                recipeIds.add(preparationStep.getRecipeId());
+            }
+            recipeIds.forEach(this::recipeChanged);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    
+    public void updateRecipePreparationStep(Integer recipeID, List<PreparationStep> preparationSteps) {
+        try {
+            dbManager.inTransaction(session -> {
+                PreparationStepMapper stepMapper = session.getMapper(PreparationStepMapper.class);
+                stepMapper.deletePreparationStep(recipeID);
+                if (!preparationSteps.isEmpty()) {
+                    stepMapper.addPreparationSteps(preparationSteps);
+                }
+                return true;
+            });
+            recipeChanged(recipeID);
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    
+    /**
+     * Saves a recipe together with its ingredients, preparation steps and tags.
+     * All ingredients are validated before the database is touched; the recipe row and all
+     * child tables are then written in a single transaction, so a failed save leaves no trace.
+     * A recipe with an ID of 0 is inserted, otherwise the existing recipe and its children are replaced.
+     * The nutrition totals of the recipe row are recomputed from the new ingredients within the same transaction.
+     * 
+     * @param recipe The recipe to insert or update
+     * @param recipeIngredients The complete list of ingredients of the recipe
+     * @param preparationSteps The complete list of preparation steps of the recipe
+     * @param recipeTags The complete list of categories and tags of the recipe
+     * @return The ID of the saved recipe, or 0 if validation or the save failed
+     */
+    public Integer saveRecipeAggregate(Recipe recipe, List<RecipeIngredient> recipeIngredients, List<PreparationStep> preparationSteps,
+                                       List<RecipeTag> recipeTags) {
+        for (RecipeIngredient recipeIngredient : recipeIngredients) {
+            if (!validationService.validateRecipeIngredient(recipeIngredient.getName(), recipeIngredient.getQuantity(), recipeIngredient.getUnit())) {
+                return 0;
             }
-            dbManager.getSqlSession().commit();
+        }
+
+        try {
+            Integer recipeId = dbManager.inTransaction(session -> {
+                RecipeMapper recipeMapper = session.getMapper(RecipeMapper.class);
+                RecipeIngredientMapper ingredientMapper = session.getMapper(RecipeIngredientMapper.class);
+                PreparationStepMapper stepMapper = session.getMapper(PreparationStepMapper.class);
+                RecipeTagMapper tagMapper = session.getMapper(RecipeTagMapper.class);
+
+                if (recipe.getRecipeId() > 0) {
+                    recipeMapper.updateRecipe(recipe);
+                    ingredientMapper.deleteRecipeIngredient(recipe.getRecipeId());
+                    stepMapper.deletePreparationStep(recipe.getRecipeId());
+                    tagMapper.deleteRecipeTags(recipe.getRecipeId());
+                } else {
+                    recipeMapper.addRecipe(recipe);
+                }
+
+                for (RecipeIngredient recipeIngredient : recipeIngredients) {
+                    recipeIngredient.setRecipeId(recipe.getRecipeId());
+                }
+                for (PreparationStep preparationStep : preparationSteps) {
+                    preparationStep.setRecipeId(recipe.getRecipeId());
+                }
+                for (RecipeTag recipeTag : recipeTags) {
+                    recipeTag.setRecipeId(recipe.getRecipeId());
+                }
+                if (!recipeIngredients.isEmpty()) {
+                    ingredientMapper.addRecipeIngredients(recipeIngredients);
+                }
+                ingredientMapper.recomputeNutrition(recipe.getRecipeId());
+                if (!preparationSteps.isEmpty()) {
+                    stepMapper.addPreparationSteps(preparationSteps);
+                }
+                if (!recipeTags.isEmpty()) {
+                    tagMapper.addRecipeTags(recipeTags);
+                }
+                return recipe.getRecipeId();
+            });
+            AGGREGATE_CACHE.invalidate(recipeId);
+            recipeRowsChanged();
+            if (SEARCH_INDEX.acceptsUpdates()) {
+                recipe.setIngredients(recipeIngredients);
+                recipe.setPreparationSteps(preparationSteps);
+                SEARCH_INDEX.put(recipe);
+            }
+            return recipeId;
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
+            return 0;
         }
     }
 
@@ -201,10 +673,12 @@ public class RecipeService {
      */
     public void deleteRecipe(Integer recipeID) {
         try {
-            dbManager.getRecipeMapper().deleteRecipe(recipeID);
-            dbManager.getSqlSession().commit();
+            dbManager.inTransaction(session -> session.getMapper(RecipeMapper.class).deleteRecipe(recipeID));
+            AGGREGATE_CACHE.invalidate(recipeID);
+            recipeRowsChanged();
+            SEARCH_INDEX.remove(recipeID);
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
+            e.printStackTrace();
         }
     }
 
@@ -219,7 +693,7 @@ public class RecipeService {
     }
 
     public void getRecipeBasicData(Integer recipeId) {
-        this.currentRecipe = dbManager.getRecipeMapper().getRecipeById(recipeId);
+        this.currentRecipe = getRecipeByID(recipeId);
     }
 
     public String getRecipeName() {
@@ -239,18 +713,27 @@ public class RecipeService {
     }
 
     public List<RecipeIngredient> getIngredients(Integer recipeId) {
-        this.currentIngredients = dbManager.getRecipeIngredientMapper().getRecipeIngredientsByRecipeId(recipeId);
+        this.currentIngredients = getIngredientByID(recipeId);
         return currentIngredients;
     }
 
     public String getInstructions(Integer recipeId) {
-        List<PreparationStep> steps = dbManager.getPreparationStepMapper().getPreparationStepsByRecipeId(recipeId);
+        this.currentInstructions = formatInstructions(getRecipePreparationSteps(recipeId));
+        return currentInstructions;
+    }
+
+    /**
+     * Formats preparation steps as numbered instructions for display.
+     * 
+     * @param steps The preparation steps to format
+     * @return A formatted string containing all preparation steps
+     */
+    public String formatInstructions(List<PreparationStep> steps) {
         StringBuilder instructions = new StringBuilder();
         for (PreparationStep step : steps) {
             instructions.append("Step ").append(step.getStep()).append(": ")
                        .append(step.getDescription()).append("\n\n");
         }
-        this.currentInstructions = instructions.toString();
-        return currentInstructions;
+        return instructions.toString();
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package model;
 
+import javafx.application.Platform;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TextFormatter;
 
@@ -22,6 +23,10 @@ public class UIUtils {
      * @param content the main content text to display in the alert
      */
     public static void displayAlert(Alert.AlertType alertType, String title, String content) {
+        if (!Platform.isFxApplicationThread()) {
+            Platform.runLater(() -> displayAlert(alertType, title, content));
+            return;
+        }
         Alert alert = new Alert(alertType);
         alert.setTitle(title);
         alert.setHeaderText(null);
@@ -2,6 +2,7 @@ package model;
 
 import config.SessionManager;
 import dao.mappers.User;
+import dao.mappers.UserMapper;
 import javafx.scene.control.Alert;
 
 /**
@@ -35,7 +36,7 @@ public class UserService {
      */
     public boolean sign(String name, String password) {
         // Check if username already exists
-        if (dbManager.getUserMapper().getUserByName(name) != null) {
+        if (dbManager.read(session -> session.getMapper(UserMapper.class).getUserByName(name)) != null) {
             UIUtils.displayAlert(Alert.AlertType.WARNING, "Warning", "Username already exists!");
             return false;
         }
@@ -44,11 +45,12 @@ public class UserService {
             // Create new user and add to database
             User user = new User();
             user.setUser(name, password);
-            dbManager.getUserMapper().addUser(user);
-            dbManager.getSqlSession().commit();
+            dbManager.inTransaction(session -> {
+                session.getMapper(UserMapper.class).addUser(user);
+                return true;
+            });
             return true;
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
             return false;
         }
     }
@@ -63,7 +65,7 @@ public class UserService {
      */
     public boolean login(String name, String password) {
         try {
-            User user = dbManager.getUserMapper().getUserByName(name);
+            User user = dbManager.read(session -> session.getMapper(UserMapper.class).getUserByName(name));
             
             // Check if user exists
             if (user == null) {
@@ -80,7 +82,6 @@ public class UserService {
                 return true;
             }
         } catch (Exception e) {
-            dbManager.getSqlSession().rollback();
             return false;
         }
     }
@@ -0,0 +1,69 @@
+package service;
+
+import java.util.function.Supplier;
+
+/**
+ * Holder of a view built over the whole recipe catalog, such as a query engine or an index.
+ * The view is loaded on first use and kept until a write that changes its data invalidates it;
+ * the next use then loads it again. Concurrent first uses load the view only once.
+ * <p>
+ * Invalidation waits for a load in progress, which may have read the data before the write, so
+ * once a write has invalidated the view, later uses see the written data.
+ *
+ * @param <T> the type of the view
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CatalogView<T> {
+
+    private volatile T view;
+    private int loadCount = 0;
+
+    /**
+     * Gets the view, loading it if there is none.
+     * A failed load leaves the holder empty, so the next use tries again.
+     *
+     * @param loader builds the view from the catalog
+     * @return the current view
+     */
+    public T get(Supplier<T> loader) {
+        T current = view;
+        if (current == null) {
+            synchronized (this) {
+                current = view;
+                if (current == null) {
+                    current = loader.get();
+                    loadCount++;
+                    view = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Drops the view so that it is loaded again on next use.
+     */
+    public synchronized void invalidate() {
+        view = null;
+    }
+
+    /**
+     * Checks whether the view is loaded.
+     *
+     * @return true if the next use returns the current view without loading
+     */
+    public boolean isLoaded() {
+        return view != null;
+    }
+
+    /**
+     * Gets the number of times the view has been loaded.
+     *
+     * @return the load count
+     */
+    public synchronized int getLoadCount() {
+        return loadCount;
+    }
+}
@@ -0,0 +1,259 @@
+package service;
+
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Bitmap index of recipe tags for faceted browsing.
+ * Every value of every facet holds the compressed set of catalog rows tagged with it, so a query
+ * is a handful of bitmap unions, intersections and differences, and the number of recipes each
+ * value would leave is an intersection count that never builds the intersection itself.
+ * <p>
+ * Counts follow the usual multi-select convention: the counts of a facet are taken over the
+ * recipes matching the conditions on all other facets, so they tell how many recipes selecting
+ * that value in addition, or instead, would give.
+ * <p>
+ * The index is immutable once built and may be queried from any number of threads.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class FacetIndex {
+
+    /**
+     * The recipes matching a query, and the counts of every facet value under that query.
+     */
+    public static class Result {
+        private final FacetIndex index;
+        private final RecipeBitmap matched;
+        private final List<RecipeSummary> recipes;
+        private final Map<String, Map<String, Integer>> counts;
+
+        private Result(FacetIndex index, RecipeBitmap matched, List<RecipeSummary> recipes,
+                       Map<String, Map<String, Integer>> counts) {
+            this.index = index;
+            this.matched = matched;
+            this.recipes = recipes;
+            this.counts = counts;
+        }
+
+        /**
+         * Gets the matching recipes.
+         *
+         * @return summaries of the matching recipes, in catalog order
+         */
+        public List<RecipeSummary> getRecipes() {
+            return recipes;
+        }
+
+        /**
+         * Gets the counts of all facet values.
+         *
+         * @return the number of recipes per value, by facet; values are sorted ignoring case
+         */
+        public Map<String, Map<String, Integer>> getCounts() {
+            return counts;
+        }
+
+        /**
+         * Gets the count of one facet value.
+         *
+         * @param facet the facet
+         * @param value the value of the facet
+         * @return the number of recipes, 0 if the value is not known
+         */
+        public int getCount(String facet, String value) {
+            return counts.getOrDefault(normalizeFacet(facet), Collections.emptyMap()).getOrDefault(value, 0);
+        }
+
+        /**
+         * Gets the number of matching recipes that are not tagged with a value, that is how many recipes
+         * excluding the value in addition would leave.
+         *
+         * @param facet the facet
+         * @param value the value of the facet
+         * @return the number of matching recipes without the value
+         */
+        public int getCountWithout(String facet, String value) {
+            return recipes.size() - matched.andCardinality(index.getRows(facet, value));
+        }
+    }
+
+    private final RecipeSummary[] summaries;
+    private final RecipeBitmap all;
+    /** Rows tagged with each value, by facet; values are compared ignoring case */
+    private final Map<String, Map<String, RecipeBitmap>> bitmaps = new TreeMap<>();
+
+    /**
+     * Builds the index; the catalog order is the order of the summaries.
+     * Tags of recipes not in the catalog are ignored.
+     *
+     * @param catalog summaries of all recipes
+     * @param tags the tags of the recipes
+     */
+    public FacetIndex(Collection<RecipeSummary> catalog, Collection<RecipeTag> tags) {
+        summaries = catalog.toArray(new RecipeSummary[0]);
+        all = RecipeBitmap.range(summaries.length);
+        Map<Integer, Integer> rows = new HashMap<>();
+        for (int row = 0; row < summaries.length; row++) {
+            rows.put(summaries[row].getRecipeId(), row);
+        }
+
+        Map<String, Map<String, int[]>> rowLists = new HashMap<>();
+        for (RecipeTag tag : tags) {
+            Integer row = rows.get(tag.getRecipeId());
+            if (row == null || tag.getFacet() == null || tag.getValue() == null || tag.getValue().trim().isEmpty()) {
+                continue;
+            }
+            Map<String, int[]> values = rowLists.computeIfAbsent(normalizeFacet(tag.getFacet()),
+                    f -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
+            // Slot 0 holds the number of rows collected so far
+            int[] list = values.computeIfAbsent(tag.getValue().trim(), v -> new int[9]);
+            if (list[0] + 1 == list.length) {
+                list = Arrays.copyOf(list, list.length * 2);
+                values.put(tag.getValue().trim(), list);
+            }
+            list[++list[0]] = row;
+        }
+        for (Map.Entry<String, Map<String, int[]>> facet : rowLists.entrySet()) {
+            Map<String, RecipeBitmap> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, int[]> value : facet.getValue().entrySet()) {
+                int[] list = value.getValue();
+                values.put(value.getKey(), RecipeBitmap.of(Arrays.copyOfRange(list, 1, list[0] + 1)));
+            }
+            bitmaps.put(facet.getKey(), values);
+        }
+    }
+
+    /**
+     * Gets the number of recipes in the index.
+     *
+     * @return the recipe count
+     */
+    public int size() {
+        return summaries.length;
+    }
+
+    /**
+     * Gets the facets that have tags.
+     *
+     * @return the facet names, sorted
+     */
+    public Set<String> getFacets() {
+        return Collections.unmodifiableSet(bitmaps.keySet());
+    }
+
+    /**
+     * Gets the values of a facet.
+     *
+     * @param facet the facet
+     * @return the values, sorted ignoring case
+     */
+    public List<String> getValues(String facet) {
+        return new ArrayList<>(bitmaps.getOrDefault(normalizeFacet(facet), Collections.emptyMap()).keySet());
+    }
+
+    /**
+     * Gets the rows tagged with a value.
+     *
+     * @param facet the facet
+     * @param value the value of the facet
+     * @return the catalog rows, empty if the value is not known
+     */
+    public RecipeBitmap getRows(String facet, String value) {
+        RecipeBitmap rows = bitmaps.getOrDefault(normalizeFacet(facet), Collections.emptyMap()).get(value);
+        return rows == null ? RecipeBitmap.empty() : rows;
+    }
+
+    /**
+     * Finds the rows matching a query.
+     *
+     * @param query the included and excluded values
+     * @return the catalog rows of the matching recipes
+     */
+    public RecipeBitmap match(FacetQuery query) {
+        RecipeBitmap rows = all;
+        for (RecipeBitmap condition : conditions(query).values()) {
+            rows = rows.and(condition);
+        }
+        return rows;
+    }
+
+    /**
+     * Runs a query and counts the recipes every facet value would give.
+     *
+     * @param query the included and excluded values
+     * @return the matching recipes and the counts
+     */
+    public Result browse(FacetQuery query) {
+        Map<String, RecipeBitmap> conditions = conditions(query);
+        RecipeBitmap matched = all;
+        for (RecipeBitmap condition : conditions.values()) {
+            matched = matched.and(condition);
+        }
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, RecipeBitmap>> facet : bitmaps.entrySet()) {
+            // A facet's own condition is left out of its counts
+            RecipeBitmap base = matched;
+            if (conditions.containsKey(facet.getKey())) {
+                base = all;
+                for (Map.Entry<String, RecipeBitmap> condition : conditions.entrySet()) {
+                    if (!condition.getKey().equals(facet.getKey())) {
+                        base = base.and(condition.getValue());
+                    }
+                }
+            }
+            Map<String, Integer> values = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (Map.Entry<String, RecipeBitmap> value : facet.getValue().entrySet()) {
+                values.put(value.getKey(), base.andCardinality(value.getValue()));
+            }
+            counts.put(facet.getKey(), Collections.unmodifiableMap(values));
+        }
+
+        int[] rows = matched.toArray();
+        List<RecipeSummary> recipes = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            recipes.add(summaries[row]);
+        }
+        return new Result(this, matched, recipes, Collections.unmodifiableMap(counts));
+    }
+
+    /**
+     * Turns the query into one set of accepted rows per restricted facet.
+     */
+    private Map<String, RecipeBitmap> conditions(FacetQuery query) {
+        Map<String, RecipeBitmap> conditions = new LinkedHashMap<>();
+        for (String facet : query.getFacets()) {
+            RecipeBitmap accepted = all;
+            if (!query.getIncluded(facet).isEmpty()) {
+                accepted = RecipeBitmap.empty();
+                for (String value : query.getIncluded(facet)) {
+                    accepted = accepted.or(getRows(facet, value));
+                }
+            }
+            for (String value : query.getExcluded(facet)) {
+                accepted = accepted.andNot(getRows(facet, value));
+            }
+            conditions.merge(normalizeFacet(facet), accepted, RecipeBitmap::and);
+        }
+        return conditions;
+    }
+
+    private static String normalizeFacet(String facet) {
+        return facet.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,93 @@
+package service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A faceted browsing query over recipe tags.
+ * Values included in the same facet are alternatives (OR), different facets must all match (AND),
+ * and recipes tagged with an excluded value are left out (NOT).
+ * <pre>
+ * new FacetQuery()
+ *         .include(RecipeTag.CUISINE, "Chinese")
+ *         .include(RecipeTag.CUISINE, "Thai")
+ *         .include(RecipeTag.DIET, "Vegetarian")
+ *         .exclude(RecipeTag.ALLERGEN, "Peanut");
+ * </pre>
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class FacetQuery {
+
+    private final Map<String, Set<String>> included = new LinkedHashMap<>();
+    private final Map<String, Set<String>> excluded = new LinkedHashMap<>();
+
+    /**
+     * Accepts recipes tagged with a value; several values of one facet accept any of them.
+     *
+     * @param facet the facet
+     * @param value the value of the facet
+     * @return this query
+     */
+    public FacetQuery include(String facet, String value) {
+        included.computeIfAbsent(facet, f -> new LinkedHashSet<>()).add(value);
+        return this;
+    }
+
+    /**
+     * Leaves out recipes tagged with a value.
+     *
+     * @param facet the facet
+     * @param value the value of the facet
+     * @return this query
+     */
+    public FacetQuery exclude(String facet, String value) {
+        excluded.computeIfAbsent(facet, f -> new LinkedHashSet<>()).add(value);
+        return this;
+    }
+
+    /**
+     * Gets the facets the query places conditions on.
+     *
+     * @return the restricted facets
+     */
+    public Set<String> getFacets() {
+        Set<String> facets = new LinkedHashSet<>(included.keySet());
+        facets.addAll(excluded.keySet());
+        return facets;
+    }
+
+    /**
+     * Gets the included values of a facet.
+     *
+     * @param facet the facet
+     * @return the values any of which a recipe must have, empty if the facet is not restricted this way
+     */
+    public Set<String> getIncluded(String facet) {
+        return Collections.unmodifiableSet(included.getOrDefault(facet, Collections.emptySet()));
+    }
+
+    /**
+     * Gets the excluded values of a facet.
+     *
+     * @param facet the facet
+     * @return the values a recipe must not have
+     */
+    public Set<String> getExcluded(String facet) {
+        return Collections.unmodifiableSet(excluded.getOrDefault(facet, Collections.emptySet()));
+    }
+
+    /**
+     * Checks whether the query matches every recipe.
+     *
+     * @return true if no value is included or excluded
+     */
+    public boolean isEmpty() {
+        return included.isEmpty() && excluded.isEmpty();
+    }
+}
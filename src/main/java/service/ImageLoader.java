@@ -0,0 +1,201 @@
+package service;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared service for loading recipe images off the JavaFX application thread.
+ * Images are decoded on a small pool of background threads at the size they are shown at,
+ * not at the full resolution of the photo, and kept in an LRU cache bounded by their
+ * decoded size so that every view reuses the same decoded pixels.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class ImageLoader {
+
+    /** Default upper bound of decoded image memory held by the cache */
+    public static final long DEFAULT_CACHE_BYTES = 64L * 1024 * 1024;
+
+    /** Default number of decoding threads */
+    public static final int DEFAULT_DECODER_THREADS = 2;
+
+    /** Key under which an ImageView remembers which image it is waiting for */
+    private static final String PENDING_KEY = "service.ImageLoader.pendingKey";
+
+    private static final ImageLoader SHARED = new ImageLoader(DEFAULT_CACHE_BYTES, DEFAULT_DECODER_THREADS);
+
+    private final LruCache<String, Image> cache;
+    private final ExecutorService decoder;
+    private final Map<String, CompletableFuture<Image>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an image loader with its own cache and decoding threads.
+     *
+     * @param maxCacheBytes the maximum number of bytes of decoded images to keep
+     * @param decoderThreads the number of background decoding threads
+     */
+    public ImageLoader(long maxCacheBytes, int decoderThreads) {
+        this.cache = new LruCache<>(maxCacheBytes, ImageLoader::decodedBytes);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.decoder = Executors.newFixedThreadPool(decoderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "image-decoder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the image loader shared by all views.
+     *
+     * @return the shared ImageLoader
+     */
+    public static ImageLoader getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Gets an image from the cache without loading it.
+     *
+     * @param path the file path or URL of the image
+     * @param width the width the image is shown at
+     * @param height the height the image is shown at
+     * @return the decoded image, or null if it is not cached
+     */
+    public Image getCached(String path, double width, double height) {
+        return cache.get(cacheKey(path, width, height));
+    }
+
+    /**
+     * Loads an image scaled to fit the given box, preserving its aspect ratio.
+     * Cached images complete immediately; concurrent requests for the same image share one decode.
+     *
+     * @param path the file path or URL of the image
+     * @param width the width the image is shown at
+     * @param height the height the image is shown at
+     * @return a future completed with the decoded image on a background thread
+     */
+    public CompletableFuture<Image> load(String path, double width, double height) {
+        String key = cacheKey(path, width, height);
+        Image cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<Image> created = new CompletableFuture<>();
+        CompletableFuture<Image> pending = inFlight.putIfAbsent(key, created);
+        if (pending != null) {
+            return pending;
+        }
+        decoder.execute(() -> {
+            try {
+                Image image = new Image(toUrl(path), width, height, true, true, false);
+                if (!image.isError()) {
+                    cache.put(key, image);
+                }
+                created.complete(image);
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Shows an image in an ImageView. A cached image is shown at once; otherwise the view is
+     * cleared to its placeholder background and the image is swapped in on the JavaFX thread
+     * once decoded, unless the view has been asked to show another image in the meantime.
+     * Must be called on the JavaFX application thread.
+     *
+     * @param view the view to show the image in
+     * @param path the file path or URL of the image
+     * @param width the width the image is shown at
+     * @param height the height the image is shown at
+     */
+    public void loadInto(ImageView view, String path, double width, double height) {
+        if (path == null || path.isEmpty()) {
+            view.getProperties().remove(PENDING_KEY);
+            view.setImage(null);
+            return;
+        }
+        String key = cacheKey(path, width, height);
+        view.getProperties().put(PENDING_KEY, key);
+        Image cached = cache.get(key);
+        if (cached != null) {
+            view.setImage(cached);
+            return;
+        }
+
+        view.setImage(null);
+        load(path, width, height).whenComplete((image, error) -> {
+            if (error != null) {
+                System.err.println("Error loading image: " + path);
+                error.printStackTrace();
+                return;
+            }
+            Platform.runLater(() -> {
+                if (key.equals(view.getProperties().get(PENDING_KEY)) && !image.isError()) {
+                    view.setImage(image);
+                }
+            });
+        });
+    }
+
+    /**
+     * Starts decoding an image that is likely to be shown soon, such as one on the next page.
+     *
+     * @param path the file path or URL of the image
+     * @param width the width the image will be shown at
+     * @param height the height the image will be shown at
+     */
+    public void prefetch(String path, double width, double height) {
+        if (path != null && !path.isEmpty()) {
+            load(path, width, height);
+        }
+    }
+
+    /**
+     * Drops all cached images.
+     */
+    public void clearCache() {
+        cache.clear();
+    }
+
+    private static String cacheKey(String path, double width, double height) {
+        return path + "@" + (int) width + "x" + (int) height;
+    }
+
+    /**
+     * Converts a file path to a file URL; anything that is not an existing file is used as a URL as is.
+     */
+    private static String toUrl(String path) {
+        try {
+            Path imagePath = Paths.get(path);
+            if (Files.exists(imagePath)) {
+                return imagePath.toUri().toString();
+            }
+        } catch (InvalidPathException e) {
+            // not a file path, fall through and treat it as a URL
+        }
+        return path;
+    }
+
+    private static long decodedBytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
@@ -0,0 +1,223 @@
+package service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Matches free-text ingredient names against a dictionary of known ingredient names.
+ * The dictionary is compiled once into a trie over normalized word tokens, so a lookup costs
+ * a few hash probes per word of the ingredient name, however large the dictionary grows.
+ * <p>
+ * A name matches the known names it contains as whole words, singular and plural alike.
+ * The longest match wins, so "pork belly slices" finds "pork belly" rather than "pork";
+ * between matches of equal length the last one wins, since the last words of an English
+ * ingredient name usually say what it is ("garlic butter" is butter). A general name never
+ * matches a more specific entry: "pepper" finds "pepper" but never "bell pepper".
+ * Results are remembered, so repeated lookups of the same name are a single cache hit.
+ * <p>
+ * Dictionaries too large to hold on the heap, such as a memory-mapped nutrition table,
+ * are searched in place through the {@link Vocabulary} interface instead of a trie.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class IngredientMatcher {
+
+    /** Maximum number of remembered lookups */
+    private static final int MEMO_CAPACITY = 4096;
+
+    /** Remembered result meaning that a name has no match */
+    private static final String NO_MATCH = "";
+
+    /**
+     * A dictionary of known names that can be searched by normalized phrase, see {@link #normalize}.
+     */
+    public interface Vocabulary {
+
+        /**
+         * Finds the known name with exactly the given normalized words.
+         *
+         * @param phrase normalized words separated by single spaces
+         * @return the known name, or null if there is none
+         */
+        String find(String phrase);
+
+        /**
+         * Checks whether any known name starts with the given normalized words followed by more words.
+         *
+         * @param phrase normalized words separated by single spaces
+         * @return true if a longer known name begins with the phrase
+         */
+        boolean hasLongerName(String phrase);
+    }
+
+    private final Node root = new Node();
+    private final Vocabulary vocabulary;
+    private final LruCache<String, String> memo = new LruCache<>(MEMO_CAPACITY, value -> 1);
+
+    /**
+     * Compiles a matcher for the given known names.
+     * If two names normalize to the same words, the first one is kept.
+     *
+     * @param names the known ingredient names
+     */
+    public IngredientMatcher(Collection<String> names) {
+        this.vocabulary = null;
+        for (String name : names) {
+            List<String> tokens = tokenize(name);
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            Node node = root;
+            for (String token : tokens) {
+                node = node.children.computeIfAbsent(token, t -> new Node());
+            }
+            if (node.name == null) {
+                node.name = name;
+                node.length = tokens.size();
+            }
+        }
+    }
+
+    /**
+     * Creates a matcher searching an external vocabulary in place; no trie is built.
+     *
+     * @param vocabulary the known names
+     */
+    public IngredientMatcher(Vocabulary vocabulary) {
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * Finds the most specific known name contained in an ingredient name.
+     *
+     * @param ingredientName the free-text ingredient name
+     * @return the matching known name as it was given to the constructor or found in the vocabulary, or null if none matches
+     */
+    public String match(String ingredientName) {
+        if (ingredientName == null) {
+            return null;
+        }
+        String key = ingredientName.trim();
+        String remembered = memo.get(key);
+        if (remembered == null) {
+            remembered = findLongest(tokenize(key));
+            memo.put(key, remembered == null ? NO_MATCH : remembered);
+        }
+        return NO_MATCH.equals(remembered) ? null : remembered;
+    }
+
+    private String findLongest(List<String> tokens) {
+        if (vocabulary != null) {
+            return findLongestInVocabulary(tokens);
+        }
+        String best = null;
+        int bestLength = 0;
+        for (int start = 0; start < tokens.size(); start++) {
+            Node node = root;
+            for (int i = start; i < tokens.size(); i++) {
+                node = node.children.get(tokens.get(i));
+                if (node == null) {
+                    break;
+                }
+                // ">=" lets a later match of the same length replace an earlier one
+                if (node.name != null && node.length >= bestLength) {
+                    best = node.name;
+                    bestLength = node.length;
+                }
+            }
+        }
+        return best;
+    }
+
+    private String findLongestInVocabulary(List<String> tokens) {
+        String best = null;
+        int bestLength = 0;
+        for (int start = 0; start < tokens.size(); start++) {
+            StringBuilder phrase = new StringBuilder();
+            for (int i = start; i < tokens.size(); i++) {
+                if (i > start) {
+                    phrase.append(' ');
+                }
+                phrase.append(tokens.get(i));
+                String name = vocabulary.find(phrase.toString());
+                if (name != null && i - start + 1 >= bestLength) {
+                    best = name;
+                    bestLength = i - start + 1;
+                }
+                if (!vocabulary.hasLongerName(phrase.toString())) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Normalizes a name to the form the matcher compares: its normalized words separated by single spaces.
+     * External vocabularies store their names in this form.
+     *
+     * @param name the name to normalize
+     * @return the normalized phrase, empty if the name has no words
+     */
+    public static String normalize(String name) {
+        return String.join(" ", tokenize(name));
+    }
+
+    /**
+     * Splits a name into normalized word tokens: Unicode-normalized, lower case,
+     * separated by anything that is not a letter or digit, with plural endings removed.
+     *
+     * @param name the name to split
+     * @return the tokens of the name, in order
+     */
+    static List<String> tokenize(String name) {
+        String normalized = Normalizer.normalize(name, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(singular(normalized.substring(start, i)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Reduces common English plural forms to a shared stem ("tomatoes" and "tomato" both give "tomato").
+     * The stem only needs to be the same for both forms, not a correct English word.
+     */
+    private static String singular(String token) {
+        if (token.length() > 4 && token.endsWith("ies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.length() > 4 && (token.endsWith("oes") || token.endsWith("shes") || token.endsWith("ches"))) {
+            return token.substring(0, token.length() - 2);
+        }
+        if (token.length() > 3 && token.endsWith("s") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    /**
+     * A trie node; the path from the root spells the words of a known name.
+     */
+    private static class Node {
+        final Map<String, Node> children = new HashMap<>(4);
+        /** Known name ending at this node, or null */
+        String name;
+        /** Number of words of the known name */
+        int length;
+    }
+}
@@ -0,0 +1,111 @@
+package service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe least-recently-used cache bounded by the total weight of its values.
+ * Every value is weighed once when it is stored; when the total exceeds the capacity,
+ * the least recently used entries are evicted until it fits again.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class LruCache<K, V> {
+
+    private final long capacity;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<K, Long> weights = new HashMap<>();
+    private long totalWeight = 0;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum total weight of the cached values
+     * @param weigher computes the weight of a value, for example its size in bytes
+     */
+    public LruCache(long capacity, ToLongFunction<V> weigher) {
+        this.capacity = capacity;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Gets a cached value and marks it as most recently used.
+     *
+     * @param key the key of the value
+     * @return the cached value, or null if it is not cached
+     */
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Stores a value, evicting least recently used values if the capacity is exceeded.
+     * A value heavier than the whole capacity is not stored.
+     *
+     * @param key the key of the value
+     * @param value the value to store
+     */
+    public synchronized void put(K key, V value) {
+        long weight = weigher.applyAsLong(value);
+        remove(key);
+        if (weight > capacity) {
+            return;
+        }
+        entries.put(key, value);
+        weights.put(key, weight);
+        totalWeight += weight;
+
+        Iterator<Map.Entry<K, V>> eldest = entries.entrySet().iterator();
+        while (totalWeight > capacity && eldest.hasNext()) {
+            K eldestKey = eldest.next().getKey();
+            eldest.remove();
+            totalWeight -= weights.remove(eldestKey);
+        }
+    }
+
+    /**
+     * Removes a value from the cache.
+     *
+     * @param key the key of the value
+     */
+    public synchronized void remove(K key) {
+        if (entries.remove(key) != null) {
+            totalWeight -= weights.remove(key);
+        }
+    }
+
+    /**
+     * Removes all values from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        weights.clear();
+        totalWeight = 0;
+    }
+
+    /**
+     * Gets the number of cached values.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the total weight of the cached values.
+     *
+     * @return the sum of the weights of all entries
+     */
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+}
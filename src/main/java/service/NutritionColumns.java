@@ -0,0 +1,63 @@
+package service;
+
+import dao.mappers.RecipeIngredient;
+
+import java.util.Collection;
+
+/**
+ * Nutrient totals of a recipe's ingredients, as shown in the recipe display and the editor preview
+ * and stored with a saved recipe. The totals are returned as one float array indexed by the nutrient
+ * column constants, so the callers sum every nutrient in a single pass over the ingredients.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public final class NutritionColumns {
+
+    /** Column index of calories */
+    public static final int CALORIES = 0;
+
+    /** Column index of protein */
+    public static final int PROTEIN = 1;
+
+    /** Column index of fat */
+    public static final int FAT = 2;
+
+    /** Column index of carbohydrates */
+    public static final int CARBOHYDRATES = 3;
+
+    /** Column index of fiber */
+    public static final int FIBER = 4;
+
+    /** Number of nutrient columns */
+    public static final int NUTRIENT_COUNT = 5;
+
+    private NutritionColumns() {
+    }
+
+    /**
+     * Sums the nutrients of a list of ingredients, as shown for a single recipe.
+     *
+     * @param ingredients the ingredients; null entries are skipped
+     * @return the totals indexed by nutrient column
+     */
+    public static float[] totalsOf(Collection<RecipeIngredient> ingredients) {
+        float[] totals = new float[NUTRIENT_COUNT];
+        for (RecipeIngredient ingredient : ingredients) {
+            if (ingredient != null) {
+                float quantity = valueOf(ingredient.getQuantity());
+                totals[CALORIES] += quantity * valueOf(ingredient.getUnitCalories());
+                totals[PROTEIN] += quantity * valueOf(ingredient.getUnitProtein());
+                totals[FAT] += quantity * valueOf(ingredient.getUnitFat());
+                totals[CARBOHYDRATES] += quantity * valueOf(ingredient.getUnitCarbohydrates());
+                totals[FIBER] += quantity * valueOf(ingredient.getUnitFiber());
+            }
+        }
+        return totals;
+    }
+
+    private static float valueOf(Float value) {
+        return value == null ? 0 : value;
+    }
+}
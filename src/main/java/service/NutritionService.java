@@ -1,5 +1,8 @@
 package service;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -7,6 +10,8 @@ import java.util.Map;
  * Service class for handling nutrition-related calculations and data management.
  * This class provides functionality for retrieving nutritional information about ingredients
  * and calculating nutritional values based on quantities and units.
+ * When a nutrition table built by {@link NutritionTable#convert} is installed, it replaces
+ * the small built-in database; the table is memory-mapped and read on demand.
  * 
  * @author Ziang Liu
  * @version 1.0
@@ -19,72 +24,107 @@ public class NutritionService {
     
     static {
         
-        NUTRITION_DATABASE.put("chicken breast", new NutritionData(165, 31.0f, 3.6f, 0));
-        NUTRITION_DATABASE.put("chicken wings", new NutritionData(203, 30.5f, 8.1f, 0));
-        NUTRITION_DATABASE.put("pork", new NutritionData(250, 26.0f, 17.0f, 0));
-        NUTRITION_DATABASE.put("pork belly", new NutritionData(518, 9.3f, 53.0f, 0));
-        NUTRITION_DATABASE.put("beef", new NutritionData(250, 26.0f, 17.0f, 0));
-        NUTRITION_DATABASE.put("eggs", new NutritionData(155, 13.0f, 11.0f, 1.1f));
-        NUTRITION_DATABASE.put("tomatoes", new NutritionData(18, 0.9f, 0.2f, 3.9f));
-        NUTRITION_DATABASE.put("onions", new NutritionData(40, 1.1f, 0.1f, 9.3f));
-        NUTRITION_DATABASE.put("garlic", new NutritionData(149, 6.4f, 0.5f, 33.1f));
-        NUTRITION_DATABASE.put("potato", new NutritionData(77, 2.0f, 0.1f, 17.5f));
-        NUTRITION_DATABASE.put("rice", new NutritionData(130, 2.7f, 0.3f, 28.2f));
-        NUTRITION_DATABASE.put("noodles", new NutritionData(138, 4.5f, 0.9f, 27.4f));
-        NUTRITION_DATABASE.put("flour", new NutritionData(364, 10.3f, 1.0f, 76.3f));
-        NUTRITION_DATABASE.put("sugar", new NutritionData(387, 0, 0, 99.8f));
-        NUTRITION_DATABASE.put("salt", new NutritionData(0, 0, 0, 0));
-        NUTRITION_DATABASE.put("soy sauce", new NutritionData(8, 1.3f, 0.01f, 0.8f));
-        NUTRITION_DATABASE.put("oyster sauce", new NutritionData(51, 2.4f, 0.3f, 11.9f));
-        NUTRITION_DATABASE.put("ketchup", new NutritionData(112, 1.7f, 0.5f, 25.8f));
-        NUTRITION_DATABASE.put("olive oil", new NutritionData(884, 0, 100.0f, 0));
-        NUTRITION_DATABASE.put("vegetable oil", new NutritionData(884, 0, 100.0f, 0));
-        NUTRITION_DATABASE.put("butter", new NutritionData(717, 0.9f, 81.1f, 0.1f));
-        NUTRITION_DATABASE.put("milk", new NutritionData(42, 3.4f, 1.0f, 5.0f));
-        NUTRITION_DATABASE.put("cheese", new NutritionData(113, 7.0f, 9.0f, 1.0f));
-        NUTRITION_DATABASE.put("bread", new NutritionData(265, 9.0f, 3.2f, 49.0f));
-        NUTRITION_DATABASE.put("pasta", new NutritionData(131, 5.0f, 1.1f, 25.0f));
-        NUTRITION_DATABASE.put("carrots", new NutritionData(41, 0.9f, 0.2f, 9.6f));
-        NUTRITION_DATABASE.put("broccoli", new NutritionData(34, 2.8f, 0.4f, 7.0f));
-        NUTRITION_DATABASE.put("spinach", new NutritionData(23, 2.9f, 0.4f, 3.6f));
-        NUTRITION_DATABASE.put("cabbage", new NutritionData(25, 1.3f, 0.1f, 5.8f));
-        NUTRITION_DATABASE.put("pepper", new NutritionData(251, 10.4f, 3.3f, 64.0f));
-        NUTRITION_DATABASE.put("ginger", new NutritionData(80, 1.8f, 0.8f, 18.0f));
-        NUTRITION_DATABASE.put("mushrooms", new NutritionData(22, 3.1f, 0.3f, 3.3f));
-        NUTRITION_DATABASE.put("corn", new NutritionData(86, 3.3f, 1.4f, 19.0f));
-        NUTRITION_DATABASE.put("apple", new NutritionData(52, 0.3f, 0.2f, 14.0f));
-        NUTRITION_DATABASE.put("banana", new NutritionData(89, 1.1f, 0.3f, 23.0f));
-        NUTRITION_DATABASE.put("orange", new NutritionData(47, 0.9f, 0.1f, 12.0f));
-        NUTRITION_DATABASE.put("lemon", new NutritionData(29, 1.1f, 0.3f, 9.3f));
-        NUTRITION_DATABASE.put("coca-cola", new NutritionData(42, 0, 0, 10.6f));
-        NUTRITION_DATABASE.put("bay leaves", new NutritionData(313, 7.6f, 8.4f, 75.0f));
+        NUTRITION_DATABASE.put("chicken breast", new NutritionData(165, 31.0f, 3.6f, 0, 0));
+        NUTRITION_DATABASE.put("chicken wings", new NutritionData(203, 30.5f, 8.1f, 0, 0));
+        NUTRITION_DATABASE.put("pork", new NutritionData(250, 26.0f, 17.0f, 0, 0));
+        NUTRITION_DATABASE.put("pork belly", new NutritionData(518, 9.3f, 53.0f, 0, 0));
+        NUTRITION_DATABASE.put("beef", new NutritionData(250, 26.0f, 17.0f, 0, 0));
+        NUTRITION_DATABASE.put("eggs", new NutritionData(155, 13.0f, 11.0f, 1.1f, 0));
+        NUTRITION_DATABASE.put("tomatoes", new NutritionData(18, 0.9f, 0.2f, 3.9f, 1.2f));
+        NUTRITION_DATABASE.put("onions", new NutritionData(40, 1.1f, 0.1f, 9.3f, 1.7f));
+        NUTRITION_DATABASE.put("garlic", new NutritionData(149, 6.4f, 0.5f, 33.1f, 2.1f));
+        NUTRITION_DATABASE.put("potato", new NutritionData(77, 2.0f, 0.1f, 17.5f, 2.2f));
+        NUTRITION_DATABASE.put("rice", new NutritionData(130, 2.7f, 0.3f, 28.2f, 0.4f));
+        NUTRITION_DATABASE.put("noodles", new NutritionData(138, 4.5f, 0.9f, 27.4f, 1.2f));
+        NUTRITION_DATABASE.put("flour", new NutritionData(364, 10.3f, 1.0f, 76.3f, 2.7f));
+        NUTRITION_DATABASE.put("sugar", new NutritionData(387, 0, 0, 99.8f, 0));
+        NUTRITION_DATABASE.put("salt", new NutritionData(0, 0, 0, 0, 0));
+        NUTRITION_DATABASE.put("soy sauce", new NutritionData(8, 1.3f, 0.01f, 0.8f, 0.8f));
+        NUTRITION_DATABASE.put("oyster sauce", new NutritionData(51, 2.4f, 0.3f, 11.9f, 0.3f));
+        NUTRITION_DATABASE.put("ketchup", new NutritionData(112, 1.7f, 0.5f, 25.8f, 0.3f));
+        NUTRITION_DATABASE.put("olive oil", new NutritionData(884, 0, 100.0f, 0, 0));
+        NUTRITION_DATABASE.put("vegetable oil", new NutritionData(884, 0, 100.0f, 0, 0));
+        NUTRITION_DATABASE.put("butter", new NutritionData(717, 0.9f, 81.1f, 0.1f, 0));
+        NUTRITION_DATABASE.put("milk", new NutritionData(42, 3.4f, 1.0f, 5.0f, 0));
+        NUTRITION_DATABASE.put("cheese", new NutritionData(113, 7.0f, 9.0f, 1.0f, 0));
+        NUTRITION_DATABASE.put("bread", new NutritionData(265, 9.0f, 3.2f, 49.0f, 2.7f));
+        NUTRITION_DATABASE.put("pasta", new NutritionData(131, 5.0f, 1.1f, 25.0f, 1.8f));
+        NUTRITION_DATABASE.put("carrots", new NutritionData(41, 0.9f, 0.2f, 9.6f, 2.8f));
+        NUTRITION_DATABASE.put("broccoli", new NutritionData(34, 2.8f, 0.4f, 7.0f, 2.6f));
+        NUTRITION_DATABASE.put("spinach", new NutritionData(23, 2.9f, 0.4f, 3.6f, 2.2f));
+        NUTRITION_DATABASE.put("cabbage", new NutritionData(25, 1.3f, 0.1f, 5.8f, 2.5f));
+        NUTRITION_DATABASE.put("pepper", new NutritionData(251, 10.4f, 3.3f, 64.0f, 25.3f));
+        NUTRITION_DATABASE.put("ginger", new NutritionData(80, 1.8f, 0.8f, 18.0f, 2.0f));
+        NUTRITION_DATABASE.put("mushrooms", new NutritionData(22, 3.1f, 0.3f, 3.3f, 1.0f));
+        NUTRITION_DATABASE.put("corn", new NutritionData(86, 3.3f, 1.4f, 19.0f, 2.7f));
+        NUTRITION_DATABASE.put("apple", new NutritionData(52, 0.3f, 0.2f, 14.0f, 2.4f));
+        NUTRITION_DATABASE.put("banana", new NutritionData(89, 1.1f, 0.3f, 23.0f, 2.6f));
+        NUTRITION_DATABASE.put("orange", new NutritionData(47, 0.9f, 0.1f, 12.0f, 2.4f));
+        NUTRITION_DATABASE.put("lemon", new NutritionData(29, 1.1f, 0.3f, 9.3f, 2.8f));
+        NUTRITION_DATABASE.put("coca-cola", new NutritionData(42, 0, 0, 10.6f, 0));
+        NUTRITION_DATABASE.put("bay leaves", new NutritionData(313, 7.6f, 8.4f, 75.0f, 26.3f));
+    }
+    
+    /** Location of the external nutrition table, overridden by the system property "cookbook.nutritionTable" */
+    private static final String DEFAULT_TABLE_PATH = "src/nutrition/nutrition.cbn";
+
+    /** External nutrition table, or null to use the built-in database */
+    private static final NutritionTable EXTERNAL_TABLE = openExternalTable();
+
+    /** Indexes of the nutrients in the records of the external table */
+    private static final int CALORIES = EXTERNAL_TABLE == null ? -1 : EXTERNAL_TABLE.getNutrientIndex("calories");
+    private static final int PROTEIN = EXTERNAL_TABLE == null ? -1 : EXTERNAL_TABLE.getNutrientIndex("protein");
+    private static final int FAT = EXTERNAL_TABLE == null ? -1 : EXTERNAL_TABLE.getNutrientIndex("fat");
+    private static final int CARBOHYDRATES = EXTERNAL_TABLE == null ? -1 : EXTERNAL_TABLE.getNutrientIndex("carbohydrates");
+    private static final int FIBER = EXTERNAL_TABLE == null ? -1 : EXTERNAL_TABLE.getNutrientIndex("fiber");
+
+    /** Matcher searching the external table in place, or compiled once over the names of the built-in database */
+    private static final IngredientMatcher MATCHER = EXTERNAL_TABLE != null
+            ? new IngredientMatcher(EXTERNAL_TABLE)
+            : new IngredientMatcher(NUTRITION_DATABASE.keySet());
+
+    /**
+     * Maps the external nutrition table if one has been installed.
+     * 
+     * @return the table, or null if there is none or it cannot be read
+     */
+    private static NutritionTable openExternalTable() {
+        Path path = Paths.get(System.getProperty("cookbook.nutritionTable", DEFAULT_TABLE_PATH));
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return NutritionTable.open(path);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
     }
     
     /**
      * Retrieves nutritional data for a specific ingredient.
-     * Performs case-insensitive matching and partial name matching.
+     * Matching is case-insensitive and finds the most specific known ingredient named in the text,
+     * so "Pork belly, sliced" gets the data of pork belly and not of pork.
      * 
      * @param ingredientName the name of the ingredient to look up
      * @return NutritionData object containing nutritional information, or null if not found
      */
     public static NutritionData getNutritionData(String ingredientName) {
-        if (ingredientName == null) return null;
-        
-        String cleanName = ingredientName.toLowerCase().trim();
-        
-        // Try exact match first
-        if (NUTRITION_DATABASE.containsKey(cleanName)) {
-            return NUTRITION_DATABASE.get(cleanName);
+        String knownName = MATCHER.match(ingredientName);
+        if (knownName == null) {
+            return null;
         }
-        
-        // Try partial matching
-        for (Map.Entry<String, NutritionData> entry : NUTRITION_DATABASE.entrySet()) {
-            if (entry.getKey().contains(cleanName) || cleanName.contains(entry.getKey())) {
-                return entry.getValue();
-            }
+        if (EXTERNAL_TABLE == null) {
+            return NUTRITION_DATABASE.get(knownName);
         }
-        
-        return null;
+        int record = EXTERNAL_TABLE.indexOf(knownName);
+        return new NutritionData(
+            Math.round(EXTERNAL_TABLE.getNutrient(record, CALORIES)),
+            EXTERNAL_TABLE.getNutrient(record, PROTEIN),
+            EXTERNAL_TABLE.getNutrient(record, FAT),
+            EXTERNAL_TABLE.getNutrient(record, CARBOHYDRATES),
+            EXTERNAL_TABLE.getNutrient(record, FIBER)
+        );
     }
     
     /**
@@ -93,7 +133,7 @@ public class NutritionService {
      * 
      * @param ingredientName the name of the ingredient
      * @param quantity the quantity of the ingredient
-     * @param unit the unit of measurement (g, kg, oz, lb, etc.)
+     * @param unit the unit of measurement (g, kg, oz, lb, ml, cups, pieces, etc.), see {@link UnitConverter}
      * @return NutritionData object with calculated values, or null if calculation fails
      */
     public static NutritionData calculateNutritionForQuantity(String ingredientName, Float quantity, String unit) {
@@ -102,8 +142,8 @@ public class NutritionService {
             return null;
         }
         
-        // Convert quantity to grams
-        float quantityInGrams = convertToGrams(quantity, unit);
+        // Convert quantity to grams, using the density or piece weight of the ingredient where needed
+        float quantityInGrams = UnitConverter.toGrams(quantity, unit, ingredientName);
         if (quantityInGrams <= 0) {
             return null;
         }
@@ -115,75 +155,11 @@ public class NutritionService {
             Math.round(baseNutrition.calories * multiplier),
             baseNutrition.protein * multiplier,
             baseNutrition.fat * multiplier,
-            baseNutrition.carbohydrates * multiplier
+            baseNutrition.carbohydrates * multiplier,
+            baseNutrition.fiber * multiplier
         );
     }
     
-    /**
-     * Converts various units of measurement to grams.
-     * Supports weight units (g, kg, oz, lb) and volume units (ml, l, cups, tbsp, tsp).
-     * 
-     * @param quantity the numeric quantity to convert
-     * @param unit the unit of measurement
-     * @return the equivalent weight in grams
-     */
-    private static float convertToGrams(Float quantity, String unit) {
-        if (unit == null) return quantity; 
-        
-        String unitLower = unit.toLowerCase().trim();
-        
-        switch (unitLower) {
-            case "g":
-            case "gram":
-            case "grams":
-                return quantity;
-            case "kg":
-            case "kilogram":
-            case "kilograms":
-                return quantity * 1000;
-            case "oz":
-            case "ounce":
-            case "ounces":
-                return quantity * 28.35f;
-            case "lb":
-            case "pound":
-            case "pounds":
-                return quantity * 453.59f;
-            case "ml":
-            case "milliliter":
-            case "milliliters":
-                
-                return quantity;
-            case "l":
-            case "liter":
-            case "liters":
-                return quantity * 1000;
-            case "cup":
-            case "cups":
-                return quantity * 240; 
-            case "tbsp":
-            case "tablespoon":
-            case "tablespoons":
-                return quantity * 15;
-            case "tsp":
-            case "teaspoon":
-            case "teaspoons":
-                return quantity * 5;
-            case "piece":
-            case "pieces":
-            case "个":
-                return quantity * 50; 
-            case "slice":
-            case "slices":
-                return quantity * 25; 
-            case "spoon":
-            case "spoons":
-                return quantity * 10; 
-            default:
-                return quantity;
-        }
-    }
-    
     /**
      * Checks if nutritional data is available for a specific ingredient.
      * 
@@ -196,7 +172,7 @@ public class NutritionService {
     
     /**
      * Inner class representing nutritional data for an ingredient.
-     * Contains calorie, protein, fat, and carbohydrate information per 100 grams.
+     * Contains calorie, protein, fat, carbohydrate and fiber information per 100 grams.
      * 
      * @author Ziang Liu
      * @version 1.0
@@ -215,8 +191,11 @@ public class NutritionService {
         /** Carbohydrate content in grams per 100 grams */
         public final float carbohydrates;
         
+        /** Fiber content in grams per 100 grams */
+        public final float fiber;
+        
         /**
-         * Constructor for NutritionData.
+         * Constructor for NutritionData without fiber information.
          * 
          * @param calories the calorie content per 100 grams
          * @param protein the protein content in grams per 100 grams
@@ -224,10 +203,24 @@ public class NutritionService {
          * @param carbohydrates the carbohydrate content in grams per 100 grams
          */
         public NutritionData(int calories, float protein, float fat, float carbohydrates) {
+            this(calories, protein, fat, carbohydrates, 0);
+        }
+        
+        /**
+         * Constructor for NutritionData.
+         * 
+         * @param calories the calorie content per 100 grams
+         * @param protein the protein content in grams per 100 grams
+         * @param fat the fat content in grams per 100 grams
+         * @param carbohydrates the carbohydrate content in grams per 100 grams
+         * @param fiber the fiber content in grams per 100 grams
+         */
+        public NutritionData(int calories, float protein, float fat, float carbohydrates, float fiber) {
             this.calories = calories;
             this.protein = protein;
             this.fat = fat;
             this.carbohydrates = carbohydrates;
+            this.fiber = fiber;
         }
         
         /**
@@ -0,0 +1,369 @@
+package service;
+
+import java.io.BufferedReader;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Read-only nutrition table stored in a memory-mapped binary file.
+ * Lookups binary-search a sorted name index and read nutrient values straight from the mapped
+ * file, so opening a table takes the same time and heap for ten foods as for a million; only
+ * the record that is asked for is ever turned into Java objects.
+ * <p>
+ * Files are built from CSV with {@link #convert}. Layout, all integers big-endian:
+ * <pre>
+ * header     magic "CBNT", version, record count, nutrient count,
+ *            index offset, records offset, names offset, names length      (8 x int32)
+ * nutrients  nutrient names, UTF-8, zero padded                            (count x 32 bytes)
+ * index      per record: name offset in names, name length, sorted by name (count x 2 x int32)
+ * records    per record: one value per nutrient, per 100 grams             (count x nutrients x float32)
+ * names      normalized food names, UTF-8
+ * </pre>
+ * Names are stored normalized by {@link IngredientMatcher#normalize}, which lets the table act
+ * as the vocabulary of an IngredientMatcher without loading any names.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class NutritionTable implements IngredientMatcher.Vocabulary {
+
+    /** "CBNT" */
+    public static final int MAGIC = 0x43424E54;
+
+    /** Version of the file layout written by this class */
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 32;
+    private static final int NUTRIENT_NAME_SIZE = 32;
+    private static final int INDEX_ENTRY_SIZE = 8;
+
+    private final ByteBuffer buffer;
+    private final int recordCount;
+    private final int nutrientCount;
+    private final int indexOffset;
+    private final int recordsOffset;
+    private final int namesOffset;
+    private final String[] nutrientNames;
+
+    private NutritionTable(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a nutrition table");
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported nutrition table version " + version);
+        }
+        recordCount = buffer.getInt(8);
+        nutrientCount = buffer.getInt(12);
+        indexOffset = buffer.getInt(16);
+        recordsOffset = buffer.getInt(20);
+        namesOffset = buffer.getInt(24);
+        int namesLength = buffer.getInt(28);
+        if (recordCount < 0 || nutrientCount < 0
+                || indexOffset != HEADER_SIZE + (long) nutrientCount * NUTRIENT_NAME_SIZE
+                || recordsOffset != indexOffset + (long) recordCount * INDEX_ENTRY_SIZE
+                || namesOffset != recordsOffset + (long) recordCount * nutrientCount * Float.BYTES
+                || (long) namesOffset + namesLength != buffer.capacity()) {
+            throw new IOException("Corrupt nutrition table");
+        }
+
+        nutrientNames = new String[nutrientCount];
+        for (int i = 0; i < nutrientCount; i++) {
+            byte[] name = new byte[NUTRIENT_NAME_SIZE];
+            buffer.get(HEADER_SIZE + i * NUTRIENT_NAME_SIZE, name);
+            int length = 0;
+            while (length < name.length && name[length] != 0) {
+                length++;
+            }
+            nutrientNames[i] = new String(name, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Maps a nutrition table file into memory.
+     *
+     * @param file the table file
+     * @return the opened table
+     * @throws IOException if the file cannot be read or is not a valid table
+     */
+    public static NutritionTable open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Nutrition table too large: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new NutritionTable(mapped);
+        }
+    }
+
+    /**
+     * Gets the number of foods in the table.
+     *
+     * @return the record count
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the position of a nutrient in every record.
+     *
+     * @param nutrientName the nutrient name as written in the CSV header, case-insensitive
+     * @return the nutrient index, or -1 if the table has no such nutrient
+     */
+    public int getNutrientIndex(String nutrientName) {
+        for (int i = 0; i < nutrientCount; i++) {
+            if (nutrientNames[i].equalsIgnoreCase(nutrientName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds a food by its normalized name.
+     *
+     * @param phrase the normalized name, see {@link IngredientMatcher#normalize}
+     * @return the record index, or -1 if the food is not in the table
+     */
+    public int indexOf(String phrase) {
+        byte[] key = phrase.getBytes(StandardCharsets.UTF_8);
+        int record = lowerBound(key);
+        return record < recordCount && compareName(key, record) == 0 ? record : -1;
+    }
+
+    /**
+     * Reads one nutrient value of a food.
+     *
+     * @param record the record index
+     * @param nutrient the nutrient index, or -1 for a nutrient the table does not have
+     * @return the value per 100 grams, or 0 for a missing nutrient
+     */
+    public float getNutrient(int record, int nutrient) {
+        if (nutrient < 0) {
+            return 0;
+        }
+        return buffer.getFloat(recordsOffset + (record * nutrientCount + nutrient) * Float.BYTES);
+    }
+
+    /**
+     * Reads the normalized name of a food.
+     *
+     * @param record the record index
+     * @return the normalized name
+     */
+    public String getName(int record) {
+        int entry = indexOffset + record * INDEX_ENTRY_SIZE;
+        byte[] name = new byte[buffer.getInt(entry + 4)];
+        buffer.get(namesOffset + buffer.getInt(entry), name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String find(String phrase) {
+        return indexOf(phrase) >= 0 ? phrase : null;
+    }
+
+    @Override
+    public boolean hasLongerName(String phrase) {
+        byte[] prefix = (phrase + " ").getBytes(StandardCharsets.UTF_8);
+        int record = lowerBound(prefix);
+        if (record >= recordCount) {
+            return false;
+        }
+        int entry = indexOffset + record * INDEX_ENTRY_SIZE;
+        int nameStart = namesOffset + buffer.getInt(entry);
+        if (buffer.getInt(entry + 4) < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer.get(nameStart + i) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the first record whose name is not less than the key.
+     */
+    private int lowerBound(byte[] key) {
+        int low = 0;
+        int high = recordCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareName(key, middle) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Compares the name of a record with a key, byte by byte as unsigned values.
+     *
+     * @return a negative number, zero or a positive number as the name sorts before, equal to or after the key
+     */
+    private int compareName(byte[] key, int record) {
+        int entry = indexOffset + record * INDEX_ENTRY_SIZE;
+        int nameStart = namesOffset + buffer.getInt(entry);
+        int nameLength = buffer.getInt(entry + 4);
+        int common = Math.min(nameLength, key.length);
+        for (int i = 0; i < common; i++) {
+            int difference = Byte.toUnsignedInt(buffer.get(nameStart + i)) - Byte.toUnsignedInt(key[i]);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return nameLength - key.length;
+    }
+
+    /**
+     * Builds a nutrition table file from CSV.
+     * The first row names the columns: the food name first, then one column per nutrient,
+     * with values per 100 grams. Empty values are stored as 0. Foods whose normalized names
+     * collide keep the first row. The file is written next to the target and moved into place.
+     *
+     * @param csvFile the CSV file to read, UTF-8
+     * @param tableFile the table file to write
+     * @return the number of foods written
+     * @throws IOException if the CSV cannot be read or is malformed, or the table cannot be written
+     */
+    public static int convert(Path csvFile, Path tableFile) throws IOException {
+        List<String> header;
+        List<byte[]> names = new ArrayList<>();
+        List<float[]> values = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null) {
+                throw new IOException("Empty CSV file: " + csvFile);
+            }
+            header = parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+            Set<String> seen = new HashSet<>();
+            int lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> fields = parseCsvLine(line);
+                String name = IngredientMatcher.normalize(fields.get(0));
+                if (name.isEmpty() || !seen.add(name)) {
+                    continue;
+                }
+                float[] row = new float[header.size() - 1];
+                for (int i = 0; i < row.length && i + 1 < fields.size(); i++) {
+                    String value = fields.get(i + 1).trim();
+                    try {
+                        row[i] = value.isEmpty() ? 0 : Float.parseFloat(value);
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Invalid number '" + value + "' on line " + lineNumber + " of " + csvFile, e);
+                    }
+                }
+                names.add(name.getBytes(StandardCharsets.UTF_8));
+                values.add(row);
+            }
+        }
+
+        Integer[] order = new Integer[names.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(names.get(a), names.get(b)));
+
+        int recordCount = order.length;
+        int nutrientCount = header.size() - 1;
+        long namesLength = 0;
+        for (byte[] name : names) {
+            namesLength += name.length;
+        }
+        long indexOffset = HEADER_SIZE + (long) nutrientCount * NUTRIENT_NAME_SIZE;
+        long recordsOffset = indexOffset + (long) recordCount * INDEX_ENTRY_SIZE;
+        long namesOffset = recordsOffset + (long) recordCount * nutrientCount * Float.BYTES;
+        if (namesOffset + namesLength > Integer.MAX_VALUE) {
+            throw new IOException("Too much data for one nutrition table: " + csvFile);
+        }
+
+        Path temp = tableFile.resolveSibling(tableFile.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(recordCount);
+            out.writeInt(nutrientCount);
+            out.writeInt((int) indexOffset);
+            out.writeInt((int) recordsOffset);
+            out.writeInt((int) namesOffset);
+            out.writeInt((int) namesLength);
+            for (int i = 1; i < header.size(); i++) {
+                byte[] name = header.get(i).trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+                out.write(Arrays.copyOf(name, NUTRIENT_NAME_SIZE));
+            }
+            int nameOffset = 0;
+            for (Integer record : order) {
+                out.writeInt(nameOffset);
+                out.writeInt(names.get(record).length);
+                nameOffset += names.get(record).length;
+            }
+            for (Integer record : order) {
+                for (float value : values.get(record)) {
+                    out.writeFloat(value);
+                }
+            }
+            for (Integer record : order) {
+                out.write(names.get(record));
+            }
+        }
+        Files.move(temp, tableFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return recordCount;
+    }
+
+    /**
+     * Splits one CSV line into fields, honouring double quotes and doubled quotes inside them.
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
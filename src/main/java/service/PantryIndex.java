@@ -0,0 +1,345 @@
+package service;
+
+import dao.mappers.Recipe;
+import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from ingredient names to the recipes using them, for "cook with what I have" queries.
+ * Names are normalized with {@link IngredientMatcher#normalize}, and every recipe is listed under each
+ * trailing run of words of its ingredient names, since the last words of an ingredient name say what
+ * it is: "light soy sauce" is listed under "light soy sauce", "soy sauce" and "sauce", so a pantry
+ * holding soy sauce covers it, while one holding only "light" or "soy" does not.
+ * <p>
+ * Each posting list is a sorted array of catalog rows. A query for recipes using at least n of k pantry
+ * items takes its candidates from the k - n + 1 shortest lists, since every match must be in one of
+ * them, and probes the longer lists for each candidate by galloping search, dropping a candidate as
+ * soon as it can no longer reach n. Asking for all k items makes this a galloping intersection that
+ * starts from the rarest ingredient.
+ * <p>
+ * The index is immutable once built and may be queried from any number of threads.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class PantryIndex {
+
+    /**
+     * A recipe found for a pantry, with how much of it the pantry covers.
+     */
+    public static class Match {
+        private final RecipeSummary recipe;
+        private final int pantryMatches;
+        private final int ingredientCount;
+        private final List<String> missingIngredients;
+
+        private Match(RecipeSummary recipe, int pantryMatches, int ingredientCount, List<String> missingIngredients) {
+            this.recipe = recipe;
+            this.pantryMatches = pantryMatches;
+            this.ingredientCount = ingredientCount;
+            this.missingIngredients = missingIngredients;
+        }
+
+        /**
+         * Gets the recipe.
+         *
+         * @return the summary of the recipe
+         */
+        public RecipeSummary getRecipe() {
+            return recipe;
+        }
+
+        /**
+         * Gets the number of pantry items the recipe uses.
+         *
+         * @return the matched pantry items
+         */
+        public int getPantryMatches() {
+            return pantryMatches;
+        }
+
+        /**
+         * Gets the number of distinct ingredients of the recipe.
+         *
+         * @return the ingredient count
+         */
+        public int getIngredientCount() {
+            return ingredientCount;
+        }
+
+        /**
+         * Gets the ingredients of the recipe the pantry does not cover.
+         *
+         * @return the missing ingredient names, as written in the recipe
+         */
+        public List<String> getMissingIngredients() {
+            return missingIngredients;
+        }
+
+        /**
+         * Gets the share of the recipe's ingredients the pantry covers.
+         *
+         * @return the coverage, from 0 to 1; 1 for a recipe without ingredients
+         */
+        public double getCoverage() {
+            return ingredientCount == 0 ? 1 : (double) (ingredientCount - missingIngredients.size()) / ingredientCount;
+        }
+    }
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final RecipeSummary[] summaries;
+    /** Distinct normalized ingredient names of each row */
+    private final String[][] normalizedNames;
+    /** Ingredient names of each row as written, parallel to normalizedNames */
+    private final String[][] names;
+    /** Sorted rows by normalized name and trailing run of words */
+    private final Map<String, int[]> postings = new HashMap<>();
+
+    /**
+     * Builds the index; the catalog order is the order of the collection.
+     *
+     * @param recipes the recipes, with ingredients loaded
+     */
+    public PantryIndex(Collection<Recipe> recipes) {
+        summaries = new RecipeSummary[recipes.size()];
+        normalizedNames = new String[recipes.size()][];
+        names = new String[recipes.size()][];
+        // Slot 0 of each list holds the number of rows collected so far
+        Map<String, int[]> lists = new HashMap<>();
+        int row = 0;
+        for (Recipe recipe : recipes) {
+            summaries[row] = new RecipeSummary(recipe);
+            Map<String, String> distinct = new LinkedHashMap<>();
+            for (RecipeIngredient ingredient : recipe.getIngredients()) {
+                String normalized = ingredient.getName() == null ? "" : IngredientMatcher.normalize(ingredient.getName());
+                if (!normalized.isEmpty()) {
+                    distinct.putIfAbsent(normalized, ingredient.getName());
+                }
+            }
+            normalizedNames[row] = distinct.keySet().toArray(new String[0]);
+            names[row] = distinct.values().toArray(new String[0]);
+            for (String normalized : normalizedNames[row]) {
+                for (String suffix : suffixes(normalized)) {
+                    int[] list = lists.computeIfAbsent(suffix, s -> new int[9]);
+                    if (list[0] > 0 && list[list[0]] == row) {
+                        continue; // listed already through another ingredient of the same recipe
+                    }
+                    if (list[0] + 1 == list.length) {
+                        list = Arrays.copyOf(list, list.length * 2);
+                        lists.put(suffix, list);
+                    }
+                    list[++list[0]] = row;
+                }
+            }
+            row++;
+        }
+        for (Map.Entry<String, int[]> list : lists.entrySet()) {
+            postings.put(list.getKey(), Arrays.copyOfRange(list.getValue(), 1, list.getValue()[0] + 1));
+        }
+    }
+
+    /**
+     * Gets the number of recipes in the index.
+     *
+     * @return the recipe count
+     */
+    public int size() {
+        return summaries.length;
+    }
+
+    /**
+     * Gets the catalog rows of the recipes using an ingredient.
+     *
+     * @param ingredient the ingredient name, normalized by this method
+     * @return the sorted rows, empty if no recipe uses the ingredient
+     */
+    public int[] getPostings(String ingredient) {
+        return postings.getOrDefault(IngredientMatcher.normalize(ingredient), NO_ROWS).clone();
+    }
+
+    /**
+     * Finds the recipes using every item of a pantry.
+     *
+     * @param pantry the ingredient names at hand
+     * @param limit the maximum number of results
+     * @return the matches, best covered first
+     */
+    public List<Match> findRecipesWithAll(Collection<String> pantry, int limit) {
+        return findRecipes(pantry, Integer.MAX_VALUE, limit);
+    }
+
+    /**
+     * Finds the recipes using at least a number of the items of a pantry, ranked by the share of their
+     * ingredients the pantry covers, then by the number of pantry items they use, then in catalog order.
+     *
+     * @param pantry the ingredient names at hand; names that normalize to the same words count once
+     * @param minMatches the least number of pantry items a recipe must use, capped at the pantry size
+     * @param limit the maximum number of results
+     * @return the matches, best covered first; empty for an empty pantry
+     */
+    public List<Match> findRecipes(Collection<String> pantry, int minMatches, int limit) {
+        Set<String> items = new LinkedHashSet<>();
+        for (String item : pantry) {
+            String normalized = item == null ? "" : IngredientMatcher.normalize(item);
+            if (!normalized.isEmpty()) {
+                items.add(normalized);
+            }
+        }
+        int k = items.size();
+        int n = Math.max(1, Math.min(minMatches, k));
+        if (k == 0 || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        int[][] lists = new int[k][];
+        int i = 0;
+        for (String item : items) {
+            lists[i++] = postings.getOrDefault(item, NO_ROWS);
+        }
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.length));
+
+        // Every match is in one of the k - n + 1 shortest lists
+        int candidateLists = k - n + 1;
+        int[] candidates = NO_ROWS;
+        int[] counts = NO_ROWS;
+        for (int l = 0; l < candidateLists; l++) {
+            int[][] merged = mergeCounting(candidates, counts, lists[l]);
+            candidates = merged[0];
+            counts = merged[1];
+        }
+
+        // Probe the longer lists for each candidate, in row order so each list is walked forward once;
+        // a candidate is dropped once the lists left cannot bring it to n
+        int[] cursors = new int[k];
+        int kept = 0;
+        for (int c = 0; c < candidates.length; c++) {
+            int row = candidates[c];
+            int count = counts[c];
+            for (int l = candidateLists; l < k && count + (k - l) >= n; l++) {
+                int[] list = lists[l];
+                cursors[l] = gallop(list, cursors[l], row);
+                if (cursors[l] < list.length && list[cursors[l]] == row) {
+                    count++;
+                }
+            }
+            if (count >= n) {
+                candidates[kept] = row;
+                counts[kept] = count;
+                kept++;
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(kept);
+        for (int c = 0; c < kept; c++) {
+            matches.add(toMatch(candidates[c], counts[c], items));
+        }
+        matches.sort(Comparator.comparingDouble(Match::getCoverage).reversed()
+                .thenComparing(Comparator.comparingInt(Match::getPantryMatches).reversed()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private Match toMatch(int row, int pantryMatches, Set<String> items) {
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < normalizedNames[row].length; i++) {
+            if (!covers(items, normalizedNames[row][i])) {
+                missing.add(names[row][i]);
+            }
+        }
+        return new Match(summaries[row], pantryMatches, normalizedNames[row].length, missing);
+    }
+
+    private static boolean covers(Set<String> items, String normalizedName) {
+        for (String suffix : suffixes(normalizedName)) {
+            if (items.contains(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists the trailing runs of words of a normalized name, longest first.
+     */
+    private static List<String> suffixes(String normalizedName) {
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add(normalizedName);
+        for (int space = normalizedName.indexOf(' '); space >= 0; space = normalizedName.indexOf(' ', space + 1)) {
+            suffixes.add(normalizedName.substring(space + 1));
+        }
+        return suffixes;
+    }
+
+    /**
+     * Merges a sorted list into sorted candidates, adding one to the count of every row in the list.
+     *
+     * @return the merged rows and their counts
+     */
+    private static int[][] mergeCounting(int[] rows, int[] counts, int[] list) {
+        int[] mergedRows = new int[rows.length + list.length];
+        int[] mergedCounts = new int[mergedRows.length];
+        int n = 0;
+        int i = 0;
+        int j = 0;
+        while (i < rows.length || j < list.length) {
+            if (j == list.length || (i < rows.length && rows[i] < list[j])) {
+                mergedRows[n] = rows[i];
+                mergedCounts[n++] = counts[i++];
+            } else if (i == rows.length || rows[i] > list[j]) {
+                mergedRows[n] = list[j++];
+                mergedCounts[n++] = 1;
+            } else {
+                mergedRows[n] = rows[i];
+                mergedCounts[n++] = counts[i++] + 1;
+                j++;
+            }
+        }
+        return new int[][] {Arrays.copyOf(mergedRows, n), Arrays.copyOf(mergedCounts, n)};
+    }
+
+    /**
+     * Finds the first position at or after from holding a row of at least target, by doubling the
+     * step until it passes the target and then binary-searching the last step.
+     *
+     * @param list sorted rows
+     * @param from the position to start at
+     * @param target the row to look for
+     * @return the position of the first row at least target, or the list length if there is none
+     */
+    private static int gallop(int[] list, int from, int target) {
+        if (from >= list.length || list[from] >= target) {
+            return from;
+        }
+        int low = from;
+        int step = 1;
+        int high = from + step;
+        while (high < list.length && list[high] < target) {
+            low = high;
+            step <<= 1;
+            high = from + step;
+        }
+        high = Math.min(high, list.length);
+        // list[low] < target, and list[high] >= target or high is the length
+        while (low + 1 < high) {
+            int middle = (low + high) >>> 1;
+            if (list[middle] < target) {
+                low = middle;
+            } else {
+                high = middle;
+            }
+        }
+        return high;
+    }
+}
@@ -0,0 +1,184 @@
+package service;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe read-through cache bounded by entry count and entry age.
+ * A missing or expired value is loaded through the caller's loader outside the lock, so a slow
+ * load never blocks readers of other keys. Once the entry count exceeds the capacity, the least
+ * recently used entries are evicted.
+ * <p>
+ * Invalidation is atomic with respect to loads: a value whose load started before an
+ * invalidation is returned to its caller but never stored, so once a write has invalidated the
+ * cache, later reads see the written data.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the cached values
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class ReadThroughCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Incremented on every invalidation; a load may only store its value if it is unchanged */
+    private long invalidations = 0;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries the maximum number of cached values
+     * @param ttl how long a value may be served after it was loaded
+     * @param unit the unit of the time to live
+     */
+    public ReadThroughCache(int maxEntries, long ttl, TimeUnit unit) {
+        this(maxEntries, ttl, unit, System::nanoTime);
+    }
+
+    /**
+     * Creates an empty cache reading time from the given clock.
+     *
+     * @param maxEntries the maximum number of cached values
+     * @param ttl how long a value may be served after it was loaded
+     * @param unit the unit of the time to live
+     * @param clock supplies the current time in nanoseconds
+     */
+    public ReadThroughCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+    }
+
+    /**
+     * Gets a value, loading and caching it if it is missing or expired.
+     * A null result of the loader is returned but not cached.
+     *
+     * @param key the key of the value
+     * @param loader loads the value of a key, for example from the database
+     * @return the cached or loaded value
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadInvalidations;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && clock.getAsLong() - entry.loadedAt < ttlNanos) {
+                hitCount++;
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictionCount++;
+            }
+            missCount++;
+            loadInvalidations = invalidations;
+        }
+
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            if (loadInvalidations == invalidations) {
+                entries.put(key, new Entry<>(value, clock.getAsLong()));
+                Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+                while (entries.size() > maxEntries && eldest.hasNext()) {
+                    eldest.next();
+                    eldest.remove();
+                    evictionCount++;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes a value and prevents loads that are still running from storing a stale copy of it.
+     *
+     * @param key the key of the value
+     */
+    public synchronized void invalidate(K key) {
+        invalidations++;
+        entries.remove(key);
+    }
+
+    /**
+     * Removes all values and prevents loads that are still running from storing their result.
+     */
+    public synchronized void invalidateAll() {
+        invalidations++;
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached values, including expired ones not yet removed.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets the number of reads served from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Gets the number of reads that had to load their value.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of values dropped because they expired or the cache was full.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the share of reads served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing was read yet
+     */
+    public synchronized double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0 : (double) hitCount / requests;
+    }
+
+    /**
+     * A cached value and the time it was loaded.
+     */
+    private static class Entry<V> {
+        final V value;
+        final long loadedAt;
+
+        Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,516 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * Immutable compressed set of catalog rows.
+ * Rows are split into chunks of 65536 by their upper 16 bits. A chunk holding few rows keeps their
+ * lower 16 bits in a sorted char array; a chunk holding more than 4096 rows, where the array would
+ * outgrow it, keeps a 65536-bit bitmap instead. Empty chunks are not stored at all. Set operations
+ * work chunk by chunk and pick the cheapest algorithm for each pair of chunk kinds, so a rare tag
+ * costs a few bytes and intersecting it with a common tag touches only the rows of the rare one.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RecipeBitmap {
+
+    /** Most rows a chunk keeps in an array before it switches to a bitmap */
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private static final RecipeBitmap EMPTY = new RecipeBitmap(new char[0], new Object[0], new int[0], 0);
+
+    /** Upper 16 bits of the rows of each chunk, ascending */
+    private final char[] keys;
+    /** Each chunk: a sorted char[] of lower 16 bits, or a long[1024] bitmap */
+    private final Object[] chunks;
+    /** Rows in each chunk */
+    private final int[] counts;
+    private final int cardinality;
+
+    private RecipeBitmap(char[] keys, Object[] chunks, int[] counts, int size) {
+        this.keys = keys;
+        this.chunks = chunks;
+        this.counts = counts;
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += counts[i];
+        }
+        this.cardinality = total;
+    }
+
+    /**
+     * Gets the empty set.
+     *
+     * @return a set without rows
+     */
+    public static RecipeBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a set of rows.
+     *
+     * @param rows the rows, in any order and possibly repeated; must not be negative
+     * @return the set of the given rows
+     */
+    public static RecipeBitmap of(int... rows) {
+        int[] sorted = rows.clone();
+        Arrays.sort(sorted);
+        Builder builder = new Builder(1);
+        int i = 0;
+        while (i < sorted.length) {
+            if (sorted[i] < 0) {
+                throw new IllegalArgumentException("Negative row: " + sorted[i]);
+            }
+            char key = (char) (sorted[i] >>> 16);
+            char[] lows = new char[Math.min(sorted.length - i, 1 << 16)];
+            int count = 0;
+            for (; i < sorted.length && sorted[i] >>> 16 == key; i++) {
+                char low = (char) sorted[i];
+                if (count == 0 || lows[count - 1] != low) {
+                    lows[count++] = low;
+                }
+            }
+            builder.add(key, count <= ARRAY_LIMIT ? Arrays.copyOf(lows, count) : toBitmap(lows, count), count);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Builds the set of rows 0 to size - 1.
+     *
+     * @param size the number of rows
+     * @return the set of all rows of a catalog of that size
+     */
+    public static RecipeBitmap range(int size) {
+        Builder builder = new Builder(1);
+        for (int start = 0; start < size; start += 1 << 16) {
+            int count = Math.min(size - start, 1 << 16);
+            long[] words = new long[BITMAP_WORDS];
+            Arrays.fill(words, 0, count >>> 6, -1L);
+            if ((count & 63) != 0) {
+                words[count >>> 6] = (1L << count) - 1;
+            }
+            builder.add((char) (start >>> 16), normalize(words, count), count);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the number of rows in the set.
+     *
+     * @return the cardinality
+     */
+    public int cardinality() {
+        return cardinality;
+    }
+
+    /**
+     * Checks whether the set has no rows.
+     *
+     * @return true if the set is empty
+     */
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Checks whether a row is in the set.
+     *
+     * @param row the row
+     * @return true if the set holds the row
+     */
+    public boolean contains(int row) {
+        if (row < 0) {
+            return false;
+        }
+        int i = Arrays.binarySearch(keys, (char) (row >>> 16));
+        return i >= 0 && chunkContains(chunks[i], (char) row);
+    }
+
+    /**
+     * Intersects this set with another.
+     *
+     * @param other the other set
+     * @return the rows in both sets
+     */
+    public RecipeBitmap and(RecipeBitmap other) {
+        Builder builder = new Builder(Math.min(keys.length, other.keys.length));
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                builder.add(keys[i], and(chunks[i], other.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Unites this set with another.
+     *
+     * @param other the other set
+     * @return the rows in either set
+     */
+    public RecipeBitmap or(RecipeBitmap other) {
+        Builder builder = new Builder(keys.length + other.keys.length);
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                builder.add(keys[i], chunks[i], counts[i]);
+                i++;
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                builder.add(other.keys[j], other.chunks[j], other.counts[j]);
+                j++;
+            } else {
+                builder.add(keys[i], or(chunks[i], counts[i], other.chunks[j], other.counts[j]));
+                i++;
+                j++;
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Removes the rows of another set from this set.
+     *
+     * @param other the rows to remove
+     * @return the rows in this set but not in the other
+     */
+    public RecipeBitmap andNot(RecipeBitmap other) {
+        Builder builder = new Builder(keys.length);
+        int j = 0;
+        for (int i = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            if (j < other.keys.length && other.keys[j] == keys[i]) {
+                builder.add(keys[i], andNot(chunks[i], other.chunks[j]));
+            } else {
+                builder.add(keys[i], chunks[i], counts[i]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Counts the rows this set shares with another, without building the intersection.
+     *
+     * @param other the other set
+     * @return the cardinality of the intersection
+     */
+    public int andCardinality(RecipeBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                total += andCardinality(chunks[i], other.chunks[j]);
+                i++;
+                j++;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Lists the rows of the set.
+     *
+     * @return the rows in ascending order
+     */
+    public int[] toArray() {
+        int[] rows = new int[cardinality];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            int high = keys[i] << 16;
+            if (chunks[i] instanceof char[]) {
+                for (char low : (char[]) chunks[i]) {
+                    rows[n++] = high | low;
+                }
+            } else {
+                long[] words = (long[]) chunks[i];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        rows[n++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    // Chunk operations: a chunk is a sorted char[] or a long[] bitmap; results are normalized
+    // so that chunks of up to ARRAY_LIMIT rows are arrays and empty chunks are null
+
+    private static boolean chunkContains(Object chunk, char low) {
+        if (chunk instanceof char[]) {
+            return Arrays.binarySearch((char[]) chunk, low) >= 0;
+        }
+        return (((long[]) chunk)[low >>> 6] & (1L << low)) != 0;
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] x = (char[]) a;
+            char[] y = (char[]) b;
+            char[] result = new char[Math.min(x.length, y.length)];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length && j < y.length) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    result[n++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return n == 0 ? null : Arrays.copyOf(result, n);
+        }
+        if (a instanceof char[] || b instanceof char[]) {
+            char[] array = (char[]) (a instanceof char[] ? a : b);
+            long[] words = (long[]) (a instanceof char[] ? b : a);
+            char[] result = new char[array.length];
+            int n = 0;
+            for (char low : array) {
+                if ((words[low >>> 6] & (1L << low)) != 0) {
+                    result[n++] = low;
+                }
+            }
+            return n == 0 ? null : Arrays.copyOf(result, n);
+        }
+        long[] x = (long[]) a;
+        long[] y = (long[]) b;
+        long[] words = new long[BITMAP_WORDS];
+        int count = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            words[w] = x[w] & y[w];
+            count += Long.bitCount(words[w]);
+        }
+        return normalize(words, count);
+    }
+
+    private static Object or(Object a, int countA, Object b, int countB) {
+        if (a instanceof char[] && b instanceof char[] && countA + countB <= ARRAY_LIMIT) {
+            char[] x = (char[]) a;
+            char[] y = (char[]) b;
+            char[] result = new char[x.length + y.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length || j < y.length) {
+                if (j == y.length || (i < x.length && x[i] < y[j])) {
+                    result[n++] = x[i++];
+                } else if (i == x.length || x[i] > y[j]) {
+                    result[n++] = y[j++];
+                } else {
+                    result[n++] = x[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, n);
+        }
+        long[] words = a instanceof char[] ? toBitmap((char[]) a, countA) : ((long[]) a).clone();
+        if (b instanceof char[]) {
+            for (char low : (char[]) b) {
+                words[low >>> 6] |= 1L << low;
+            }
+        } else {
+            long[] y = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] |= y[w];
+            }
+        }
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return normalize(words, count);
+    }
+
+    private static Object andNot(Object a, Object b) {
+        if (a instanceof char[]) {
+            char[] x = (char[]) a;
+            char[] result = new char[x.length];
+            int n = 0;
+            if (b instanceof char[]) {
+                char[] y = (char[]) b;
+                int j = 0;
+                for (char low : x) {
+                    while (j < y.length && y[j] < low) {
+                        j++;
+                    }
+                    if (j == y.length || y[j] != low) {
+                        result[n++] = low;
+                    }
+                }
+            } else {
+                long[] y = (long[]) b;
+                for (char low : x) {
+                    if ((y[low >>> 6] & (1L << low)) == 0) {
+                        result[n++] = low;
+                    }
+                }
+            }
+            return n == 0 ? null : Arrays.copyOf(result, n);
+        }
+        long[] words = ((long[]) a).clone();
+        if (b instanceof char[]) {
+            for (char low : (char[]) b) {
+                words[low >>> 6] &= ~(1L << low);
+            }
+        } else {
+            long[] y = (long[]) b;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                words[w] &= ~y[w];
+            }
+        }
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return normalize(words, count);
+    }
+
+    private static int andCardinality(Object a, Object b) {
+        if (a instanceof char[] && b instanceof char[]) {
+            char[] x = (char[]) a;
+            char[] y = (char[]) b;
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length && j < y.length) {
+                if (x[i] < y[j]) {
+                    i++;
+                } else if (x[i] > y[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        }
+        if (a instanceof char[] || b instanceof char[]) {
+            char[] array = (char[]) (a instanceof char[] ? a : b);
+            long[] words = (long[]) (a instanceof char[] ? b : a);
+            int count = 0;
+            for (char low : array) {
+                if ((words[low >>> 6] & (1L << low)) != 0) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        long[] x = (long[]) a;
+        long[] y = (long[]) b;
+        int count = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            count += Long.bitCount(x[w] & y[w]);
+        }
+        return count;
+    }
+
+    private static long[] toBitmap(char[] lows, int count) {
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = 0; i < count; i++) {
+            words[lows[i] >>> 6] |= 1L << lows[i];
+        }
+        return words;
+    }
+
+    private static Object normalize(long[] words, int count) {
+        if (count == 0) {
+            return null;
+        }
+        if (count > ARRAY_LIMIT) {
+            return words;
+        }
+        char[] lows = new char[count];
+        int n = 0;
+        for (int w = 0; w < BITMAP_WORDS; w++) {
+            long word = words[w];
+            while (word != 0) {
+                lows[n++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+        return lows;
+    }
+
+    private static int countOf(Object chunk) {
+        if (chunk instanceof char[]) {
+            return ((char[]) chunk).length;
+        }
+        int count = 0;
+        for (long word : (long[]) chunk) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Collects chunks in ascending key order, skipping empty ones.
+     */
+    private static final class Builder {
+        private char[] keys;
+        private Object[] chunks;
+        private int[] counts;
+        private int size = 0;
+
+        Builder(int capacity) {
+            keys = new char[Math.max(1, capacity)];
+            chunks = new Object[keys.length];
+            counts = new int[keys.length];
+        }
+
+        void add(char key, Object chunk) {
+            if (chunk != null) {
+                add(key, chunk, countOf(chunk));
+            }
+        }
+
+        void add(char key, Object chunk, int count) {
+            if (chunk == null || count == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                chunks = Arrays.copyOf(chunks, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            keys[size] = key;
+            chunks[size] = chunk;
+            counts[size] = count;
+            size++;
+        }
+
+        RecipeBitmap build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            return new RecipeBitmap(Arrays.copyOf(keys, size), Arrays.copyOf(chunks, size), Arrays.copyOf(counts, size), size);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package service;
+
+import java.util.Arrays;
+
+/**
+ * A catalog query: ranges the recipe attributes must lie in, the attribute to sort by,
+ * and the maximum number of recipes to return. Nutrition values are the totals of the whole recipe.
+ * <pre>
+ * new RecipeQuery()
+ *         .atMost(Attribute.CALORIES, 500)
+ *         .atLeast(Attribute.PROTEIN, 30)
+ *         .orderBy(Attribute.COOKING_TIME, false)
+ *         .limit(20);
+ * </pre>
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeQuery {
+
+    /**
+     * The recipe attributes that can be filtered and sorted on.
+     */
+    public enum Attribute {
+        /** Total calories in kcal */
+        CALORIES,
+        /** Total protein in grams */
+        PROTEIN,
+        /** Total fat in grams */
+        FAT,
+        /** Total carbohydrates in grams */
+        CARBOHYDRATES,
+        /** Cooking time in minutes */
+        COOKING_TIME,
+        /** Preparation time in minutes */
+        PREPARATION_TIME
+    }
+
+    private final float[] min = new float[Attribute.values().length];
+    private final float[] max = new float[Attribute.values().length];
+    private Attribute orderBy = null;
+    private boolean descending = false;
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Creates a query matching every recipe, in catalog order.
+     */
+    public RecipeQuery() {
+        Arrays.fill(min, Float.NEGATIVE_INFINITY);
+        Arrays.fill(max, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Restricts an attribute to a range. Repeated restrictions of the same attribute are combined.
+     *
+     * @param attribute the attribute
+     * @param min the smallest accepted value
+     * @param max the largest accepted value
+     * @return this query
+     */
+    public RecipeQuery where(Attribute attribute, float min, float max) {
+        this.min[attribute.ordinal()] = Math.max(this.min[attribute.ordinal()], min);
+        this.max[attribute.ordinal()] = Math.min(this.max[attribute.ordinal()], max);
+        return this;
+    }
+
+    /**
+     * Restricts an attribute to values of at least the given minimum.
+     *
+     * @param attribute the attribute
+     * @param min the smallest accepted value
+     * @return this query
+     */
+    public RecipeQuery atLeast(Attribute attribute, float min) {
+        return where(attribute, min, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Restricts an attribute to values of at most the given maximum.
+     *
+     * @param attribute the attribute
+     * @param max the largest accepted value
+     * @return this query
+     */
+    public RecipeQuery atMost(Attribute attribute, float max) {
+        return where(attribute, Float.NEGATIVE_INFINITY, max);
+    }
+
+    /**
+     * Sorts the results by an attribute; recipes with equal values stay in catalog order.
+     *
+     * @param attribute the attribute to sort by
+     * @param descending true for the largest values first
+     * @return this query
+     */
+    public RecipeQuery orderBy(Attribute attribute, boolean descending) {
+        this.orderBy = attribute;
+        this.descending = descending;
+        return this;
+    }
+
+    /**
+     * Limits the number of results to the first ones in sort order.
+     *
+     * @param limit the maximum number of results
+     * @return this query
+     */
+    public RecipeQuery limit(int limit) {
+        this.limit = Math.max(0, limit);
+        return this;
+    }
+
+    /**
+     * Gets the smallest accepted value of an attribute.
+     *
+     * @param attribute the attribute
+     * @return the minimum, negative infinity if unrestricted
+     */
+    public float getMin(Attribute attribute) {
+        return min[attribute.ordinal()];
+    }
+
+    /**
+     * Gets the largest accepted value of an attribute.
+     *
+     * @param attribute the attribute
+     * @return the maximum, positive infinity if unrestricted
+     */
+    public float getMax(Attribute attribute) {
+        return max[attribute.ordinal()];
+    }
+
+    /**
+     * Checks whether the query restricts an attribute.
+     *
+     * @param attribute the attribute
+     * @return true if a range has been set for the attribute
+     */
+    public boolean isRestricted(Attribute attribute) {
+        return min[attribute.ordinal()] != Float.NEGATIVE_INFINITY || max[attribute.ordinal()] != Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Gets the attribute the results are sorted by.
+     *
+     * @return the sort attribute, or null for catalog order
+     */
+    public Attribute getOrderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Checks whether the results are sorted largest first.
+     *
+     * @return true for descending order
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Gets the maximum number of results.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,292 @@
+package service;
+
+import dao.mappers.Recipe;
+import dao.mappers.RecipeSummary;
+import service.RecipeQuery.Attribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * In-memory query engine over the recipe catalog.
+ * Each attribute is held in a primitive column, plus a sorted index of the rows by that column.
+ * A query binary-searches the sorted index of every restricted attribute, scans only the
+ * narrowest of those ranges, checks the remaining ranges against the columns, and keeps the
+ * best k matches in a bounded heap, so its cost depends on the narrowest range and not on the
+ * size of the catalog.
+ * <p>
+ * The engine is immutable once built and may be queried from any number of threads.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeQueryEngine {
+
+    private static final Attribute[] ATTRIBUTES = Attribute.values();
+
+    private final RecipeSummary[] summaries;
+    /** Attribute values by attribute, then by row */
+    private final float[][] values;
+    /** Rows by attribute, ordered by value and then by row */
+    private final int[][] sortedRows;
+    /** Attribute values in the order of sortedRows */
+    private final float[][] sortedValues;
+
+    /**
+     * Builds the engine over the given recipes; the catalog order is the order of the collection.
+     *
+     * @param recipes the recipes, with their nutrition totals and times
+     */
+    public RecipeQueryEngine(Collection<Recipe> recipes) {
+        int size = recipes.size();
+        summaries = new RecipeSummary[size];
+        values = new float[ATTRIBUTES.length][size];
+        int row = 0;
+        for (Recipe recipe : recipes) {
+            summaries[row] = new RecipeSummary(recipe);
+            values[Attribute.CALORIES.ordinal()][row] = recipe.getCalories();
+            values[Attribute.PROTEIN.ordinal()][row] = (float) recipe.getProtein();
+            values[Attribute.FAT.ordinal()][row] = (float) recipe.getFat();
+            values[Attribute.CARBOHYDRATES.ordinal()][row] = (float) recipe.getCarbohydrates();
+            values[Attribute.COOKING_TIME.ordinal()][row] = recipe.getCookingTime();
+            values[Attribute.PREPARATION_TIME.ordinal()][row] = recipe.getPreparationTime();
+            row++;
+        }
+
+        sortedRows = new int[ATTRIBUTES.length][size];
+        sortedValues = new float[ATTRIBUTES.length][size];
+        long[] keys = new long[size];
+        for (Attribute attribute : ATTRIBUTES) {
+            int a = attribute.ordinal();
+            for (int r = 0; r < size; r++) {
+                keys[r] = sortKey(values[a][r], r, false);
+            }
+            Arrays.sort(keys);
+            for (int i = 0; i < size; i++) {
+                int r = (int) keys[i];
+                sortedRows[a][i] = r;
+                sortedValues[a][i] = values[a][r];
+            }
+        }
+    }
+
+    /**
+     * Gets the number of recipes in the engine.
+     *
+     * @return the recipe count
+     */
+    public int size() {
+        return summaries.length;
+    }
+
+    /**
+     * Runs a query.
+     *
+     * @param query the ranges, sort order and limit
+     * @return summaries of the matching recipes, in the requested order
+     */
+    public List<RecipeSummary> query(RecipeQuery query) {
+        int limit = Math.min(query.getLimit(), summaries.length);
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+
+        // The narrowest restricted range drives the scan; the others are checked per row
+        Attribute driver = null;
+        int driverStart = 0;
+        int driverEnd = summaries.length;
+        List<Attribute> checks = new ArrayList<>();
+        for (Attribute attribute : ATTRIBUTES) {
+            if (!query.isRestricted(attribute)) {
+                continue;
+            }
+            checks.add(attribute);
+            float[] sorted = sortedValues[attribute.ordinal()];
+            int start = lowerBound(sorted, query.getMin(attribute));
+            int end = upperBound(sorted, query.getMax(attribute));
+            if (end <= start) {
+                return new ArrayList<>();
+            }
+            if (end - start < driverEnd - driverStart) {
+                driver = attribute;
+                driverStart = start;
+                driverEnd = end;
+            }
+        }
+        checks.remove(driver);
+        int checkCount = checks.size();
+        int[] checkColumns = new int[checkCount];
+        float[] checkMin = new float[checkCount];
+        float[] checkMax = new float[checkCount];
+        for (int c = 0; c < checkCount; c++) {
+            checkColumns[c] = checks.get(c).ordinal();
+            checkMin[c] = query.getMin(checks.get(c));
+            checkMax[c] = query.getMax(checks.get(c));
+        }
+
+        Attribute orderBy = query.getOrderBy();
+        if (driver == null) {
+            // No restriction: the catalog or the sorted index of the sort attribute already is the answer
+            int[] rows = new int[limit];
+            if (orderBy == null) {
+                Arrays.setAll(rows, i -> i);
+            } else {
+                rows = firstInOrder(orderBy, query.isDescending(), limit);
+            }
+            return toSummaries(rows, limit);
+        }
+
+        int[] scan = sortedRows[driver.ordinal()];
+        boolean scanInOrder = driver == orderBy;
+        int orderColumn = orderBy == null ? -1 : orderBy.ordinal();
+
+        // Keep the best `limit` rows in a max-heap of sort keys
+        long[] heap = new long[limit];
+        int heapSize = 0;
+        for (int i = driverStart; i < driverEnd; i++) {
+            int p = scanInOrder && query.isDescending() ? driverEnd - 1 - (i - driverStart) : i;
+            int r = scan[p];
+            long key = orderColumn < 0 ? r : sortKey(values[orderColumn][r], r, query.isDescending());
+            if (scanInOrder && heapSize == limit && (key >> 32) > (heap[0] >> 32)) {
+                break; // scanning in sort order: no later row can beat the ones kept
+            }
+            if (!matches(r, checkColumns, checkMin, checkMax)) {
+                continue;
+            }
+            if (heapSize < limit) {
+                heap[heapSize] = key;
+                siftUp(heap, heapSize++);
+            } else if (key < heap[0]) {
+                heap[0] = key;
+                siftDown(heap, heapSize);
+            }
+        }
+
+        long[] best = Arrays.copyOf(heap, heapSize);
+        Arrays.sort(best);
+        int[] rows = new int[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            rows[i] = (int) best[i];
+        }
+        return toSummaries(rows, heapSize);
+    }
+
+    /**
+     * Takes the first rows in the order of an attribute, keeping equal values in catalog order.
+     */
+    private int[] firstInOrder(Attribute attribute, boolean descending, int limit) {
+        int[] sorted = sortedRows[attribute.ordinal()];
+        int[] rows = new int[limit];
+        if (!descending) {
+            System.arraycopy(sorted, 0, rows, 0, limit);
+            return rows;
+        }
+        // Walk the groups of equal values from the largest down, each group in row order
+        float[] sortedValue = sortedValues[attribute.ordinal()];
+        int count = 0;
+        int end = sorted.length;
+        while (count < limit) {
+            int start = lowerBound(sortedValue, sortedValue[end - 1]);
+            for (int i = start; i < end && count < limit; i++) {
+                rows[count++] = sorted[i];
+            }
+            end = start;
+        }
+        return rows;
+    }
+
+    private boolean matches(int row, int[] columns, float[] min, float[] max) {
+        for (int c = 0; c < columns.length; c++) {
+            float value = values[columns[c]][row];
+            if (value < min[c] || value > max[c]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<RecipeSummary> toSummaries(int[] rows, int count) {
+        List<RecipeSummary> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(summaries[rows[i]]);
+        }
+        return result;
+    }
+
+    /**
+     * Encodes a value and a row into a long whose natural order is the value order
+     * (reversed for descending order), then the row order.
+     */
+    private static long sortKey(float value, int row, boolean descending) {
+        int bits = Float.floatToIntBits(value);
+        int ordered = bits ^ ((bits >> 31) & 0x7fffffff);
+        if (descending) {
+            ordered = ~ordered;
+        }
+        return ((long) ordered << 32) | row;
+    }
+
+    private static int lowerBound(float[] sorted, float min) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < min) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(float[] sorted, float max) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] <= max) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void siftUp(long[] heap, int index) {
+        long key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] >= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    private static void siftDown(long[] heap, int size) {
+        long key = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] > heap[child]) {
+                child++;
+            }
+            if (heap[child] <= key) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+}
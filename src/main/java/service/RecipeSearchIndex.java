@@ -0,0 +1,392 @@
+package service;
+
+import dao.mappers.PreparationStep;
+import dao.mappers.Recipe;
+import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeSummary;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over recipe names, ingredient names and preparation step text.
+ * Latin text is split into lower-case words and matched by prefix; Chinese text is indexed as
+ * single characters and character pairs so that dish names such as "番茄炒蛋" can be found by any
+ * part of the name. Hits in the recipe name weigh more than hits in the ingredients, which in turn
+ * weigh more than hits in the preparation steps.
+ * The index is safe for concurrent use: searches share a read lock, updates take the write lock.
+ * Updates made while a rebuild is reading its recipes are recorded and replayed on top of them
+ * before the rebuilt index is published, so no write is lost to a snapshot taken before it.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeSearchIndex {
+
+    /** Weight of a term found in the recipe name */
+    public static final float NAME_WEIGHT = 3.0f;
+
+    /** Weight of a term found in an ingredient name */
+    public static final float INGREDIENT_WEIGHT = 2.0f;
+
+    /** Weight of a term found in a preparation step */
+    public static final float STEP_WEIGHT = 1.0f;
+
+    /** Share of the weight kept when a query term only matches the beginning of an indexed term */
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    /** Indexed term to the score of every recipe containing it, sorted for prefix lookups */
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    /** Recipe ID to the terms indexed for it, used to remove a recipe again */
+    private final Map<Integer, Set<String>> recipeTerms = new HashMap<>();
+
+    /** Recipe ID to the recipe name and image shown in search results */
+    private final Map<Integer, RecipeSummary> documents = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean built = false;
+
+    /** True while a rebuild is reading its recipes */
+    private volatile boolean rebuilding = false;
+
+    /** Updates made during the rebuild in progress, by recipe ID; null marks a removal */
+    private final Map<Integer, Recipe> pendingUpdates = new HashMap<>();
+
+    /**
+     * Checks whether the index has been filled by {@link #rebuild(Collection)}.
+     *
+     * @return true if the index has been built
+     */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Checks whether the index takes updates, that is whether it is built or being rebuilt.
+     * Writers may skip reading a changed recipe otherwise, since the next rebuild reads fresh data.
+     *
+     * @return true if {@link #put} and {@link #remove} have an effect
+     */
+    public boolean acceptsUpdates() {
+        return built || rebuilding;
+    }
+
+    /**
+     * Replaces the whole content of the index.
+     * Each recipe is expected to carry its ingredients and preparation steps.
+     *
+     * @param recipes all recipes to index
+     */
+    public void rebuild(Collection<Recipe> recipes) {
+        rebuild(() -> recipes);
+    }
+
+    /**
+     * Replaces the whole content of the index with recipes read by the loader.
+     * The loader runs without holding the lock, so searches keep being answered; updates made
+     * meanwhile are applied after the loaded recipes. If the loader fails, the index is left as it was.
+     *
+     * @param loader reads all recipes to index, each with its ingredients and preparation steps
+     */
+    public void rebuild(Supplier<? extends Collection<Recipe>> loader) {
+        lock.writeLock().lock();
+        try {
+            pendingUpdates.clear();
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Collection<Recipe> recipes;
+        try {
+            recipes = loader.get();
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                pendingUpdates.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            recipeTerms.clear();
+            documents.clear();
+            for (Recipe recipe : recipes) {
+                addDocument(recipe);
+            }
+            for (Map.Entry<Integer, Recipe> update : pendingUpdates.entrySet()) {
+                removeDocument(update.getKey());
+                if (update.getValue() != null) {
+                    addDocument(update.getValue());
+                }
+            }
+            pendingUpdates.clear();
+            rebuilding = false;
+            built = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a recipe to the index, replacing any earlier entry with the same ID.
+     * During a rebuild the recipe is recorded and indexed once the rebuild has read its recipes.
+     *
+     * @param recipe the recipe with its ingredients and preparation steps
+     */
+    public void put(Recipe recipe) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                pendingUpdates.put(recipe.getRecipeId(), recipe);
+                return;
+            }
+            removeDocument(recipe.getRecipeId());
+            addDocument(recipe);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a recipe from the index.
+     * During a rebuild the removal is recorded and applied once the rebuild has read its recipes.
+     *
+     * @param recipeId the ID of the recipe to remove
+     */
+    public void remove(int recipeId) {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                pendingUpdates.put(recipeId, null);
+                return;
+            }
+            removeDocument(recipeId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the indexed name and image of a recipe.
+     *
+     * @param recipeId the ID of the recipe
+     * @return the summary of the recipe, or null if the recipe is not indexed
+     */
+    public RecipeSummary getDocument(int recipeId) {
+        lock.readLock().lock();
+        try {
+            return documents.get(recipeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of indexed recipes.
+     *
+     * @return the number of recipes in the index
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the recipes matching every term of the query.
+     * Results are ordered by descending score; equal scores keep ascending recipe ID order.
+     *
+     * @param query the text entered by the user
+     * @return the IDs of the matching recipes, best match first
+     */
+    public List<Integer> search(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query, false));
+        if (terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> scores = null;
+            for (String term : terms) {
+                Map<Integer, Float> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((recipeId, score) -> score + termScores.get(recipeId));
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Float.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Integer.compare(a.getKey(), b.getKey());
+            });
+            List<Integer> recipeIds = new ArrayList<>(ranked.size());
+            for (Map.Entry<Integer, Float> entry : ranked) {
+                recipeIds.add(entry.getKey());
+            }
+            return recipeIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into index terms.
+     *
+     * @param text the text to split
+     * @return the lower-case terms of the text, in order of appearance
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, true);
+    }
+
+    /**
+     * Splits text into terms. Runs of letters and digits become one lower-case word each,
+     * Chinese characters produce every adjacent character pair.
+     *
+     * @param text the text to split
+     * @param hanUnigrams true to also emit every single Chinese character, as done when indexing;
+     *                    false to emit single characters only for one-character runs, as done for queries
+     * @return the terms of the text, in order of appearance
+     */
+    private static List<String> tokenize(String text, boolean hanUnigrams) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        int previousHan = -1;
+        int hanRunLength = 0;
+
+        for (int i = 0; i < normalized.length(); ) {
+            int codePoint = normalized.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HAN) {
+                flushWord(word, tokens);
+                if (hanUnigrams) {
+                    tokens.add(new String(Character.toChars(codePoint)));
+                }
+                if (previousHan >= 0) {
+                    tokens.add(new StringBuilder().appendCodePoint(previousHan).appendCodePoint(codePoint).toString());
+                }
+                previousHan = codePoint;
+                hanRunLength++;
+                continue;
+            }
+
+            if (!hanUnigrams && hanRunLength == 1) {
+                tokens.add(new String(Character.toChars(previousHan)));
+            }
+            previousHan = -1;
+            hanRunLength = 0;
+            if (Character.isLetterOrDigit(codePoint)) {
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+            }
+        }
+        if (!hanUnigrams && hanRunLength == 1) {
+            tokens.add(new String(Character.toChars(previousHan)));
+        }
+        flushWord(word, tokens);
+        return tokens;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        if (word.length() > 0) {
+            tokens.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    /**
+     * Scores every recipe containing an indexed term that equals or starts with the query term.
+     * Caller must hold the read lock.
+     */
+    private Map<Integer, Float> scoreTerm(String term) {
+        Map<Integer, Float> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Float>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            float factor = entry.getKey().equals(term) ? 1.0f : PREFIX_FACTOR;
+            for (Map.Entry<Integer, Float> posting : entry.getValue().entrySet()) {
+                scores.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /** Caller must hold the write lock. */
+    private void addDocument(Recipe recipe) {
+        int recipeId = recipe.getRecipeId();
+        documents.put(recipeId, new RecipeSummary(recipe));
+
+        Map<String, Float> termWeights = new HashMap<>();
+        addTerms(termWeights, recipe.getRecipeName(), NAME_WEIGHT);
+        for (RecipeIngredient ingredient : recipe.getIngredients()) {
+            addTerms(termWeights, ingredient.getName(), INGREDIENT_WEIGHT);
+        }
+        for (PreparationStep step : recipe.getPreparationSteps()) {
+            addTerms(termWeights, step.getDescription(), STEP_WEIGHT);
+        }
+
+        for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new HashMap<>()).put(recipeId, entry.getValue());
+        }
+        recipeTerms.put(recipeId, termWeights.keySet());
+    }
+
+    /** Adds each distinct term of one field once, so long step texts do not outweigh the name. */
+    private void addTerms(Map<String, Float> termWeights, String text, float weight) {
+        for (String term : new LinkedHashSet<>(tokenize(text, true))) {
+            termWeights.merge(term, weight, Float::sum);
+        }
+    }
+
+    /** Caller must hold the write lock. */
+    private void removeDocument(int recipeId) {
+        documents.remove(recipeId);
+        Set<String> terms = recipeTerms.remove(recipeId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(recipeId);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
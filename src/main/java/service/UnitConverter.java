@@ -0,0 +1,318 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Converts quantities between units of measurement.
+ * Every known spelling of a unit is parsed once into a canonical {@link Unit} with a dimension
+ * (mass, volume or count); conversions within a dimension are read from a factor matrix computed
+ * when the class is loaded. Conversions between dimensions go through the density or the piece
+ * weight of the ingredient, so a cup of flour and a cup of oil weigh what they really weigh.
+ * <p>
+ * Ingredients without known density are treated as water, and pieces without known weight as
+ * 50 grams. Quantities in unknown units are taken to be grams.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class UnitConverter {
+
+    /**
+     * The kind of amount a unit measures.
+     */
+    public enum Dimension {
+        /** Measured in grams */
+        MASS,
+        /** Measured in milliliters */
+        VOLUME,
+        /** Measured in pieces */
+        COUNT
+    }
+
+    /**
+     * A canonical unit of measurement.
+     */
+    public static class Unit {
+        private final int index;
+        private final String name;
+        private final Dimension dimension;
+        private final double baseAmount;
+
+        private Unit(int index, String name, Dimension dimension, double baseAmount) {
+            this.index = index;
+            this.name = name;
+            this.dimension = dimension;
+            this.baseAmount = baseAmount;
+        }
+
+        /**
+         * Gets the canonical name of the unit.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the dimension of the unit.
+         *
+         * @return the dimension
+         */
+        public Dimension getDimension() {
+            return dimension;
+        }
+
+        /**
+         * Gets the amount of one unit in grams, milliliters or pieces, depending on the dimension.
+         *
+         * @return the size of the unit in the base unit of its dimension
+         */
+        public double getBaseAmount() {
+            return baseAmount;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /** Density of water in grams per milliliter, used for ingredients of unknown density */
+    public static final double DEFAULT_DENSITY = 1.0;
+
+    /** Weight of one piece in grams, used for ingredients of unknown piece weight */
+    public static final double DEFAULT_PIECE_WEIGHT = 50.0;
+
+    private static final List<Unit> UNITS = new ArrayList<>();
+    private static final Map<String, Unit> ALIASES = new HashMap<>();
+
+    /** Conversion factors within a dimension: FACTORS[from][to], NaN across dimensions */
+    private static final double[][] FACTORS;
+
+    /** Remembered unit of every spelling seen, with UNKNOWN for spellings that are not units */
+    private static final LruCache<String, Unit> PARSED = new LruCache<>(1024, unit -> 1);
+    private static final Unit UNKNOWN = new Unit(-1, "", null, Double.NaN);
+
+    /** Grams per milliliter of common liquid and powdered ingredients */
+    private static final Map<String, Double> DENSITIES = new HashMap<>();
+
+    /** Grams per piece of ingredients commonly counted */
+    private static final Map<String, Double> PIECE_WEIGHTS = new HashMap<>();
+
+    private static final IngredientMatcher DENSITY_MATCHER;
+    private static final IngredientMatcher PIECE_WEIGHT_MATCHER;
+
+    static {
+        unit("g", Dimension.MASS, 1, "g", "gram", "grams", "gr", "克");
+        unit("kg", Dimension.MASS, 1000, "kg", "kilogram", "kilograms", "kgs", "千克", "公斤");
+        unit("mg", Dimension.MASS, 0.001, "mg", "milligram", "milligrams");
+        unit("oz", Dimension.MASS, 28.3495, "oz", "ounce", "ounces");
+        unit("lb", Dimension.MASS, 453.592, "lb", "lbs", "pound", "pounds");
+        unit("jin", Dimension.MASS, 500, "jin", "斤");
+
+        unit("ml", Dimension.VOLUME, 1, "ml", "milliliter", "milliliters", "millilitre", "millilitres", "毫升");
+        unit("l", Dimension.VOLUME, 1000, "l", "liter", "liters", "litre", "litres", "升");
+        unit("cup", Dimension.VOLUME, 236.588, "cup", "cups", "杯");
+        unit("tbsp", Dimension.VOLUME, 14.7868, "tbsp", "tablespoon", "tablespoons", "大勺");
+        unit("tsp", Dimension.VOLUME, 4.92892, "tsp", "teaspoon", "teaspoons", "小勺");
+        unit("spoon", Dimension.VOLUME, 10, "spoon", "spoons", "勺");
+        unit("fl oz", Dimension.VOLUME, 29.5735, "fl oz", "fluid ounce", "fluid ounces");
+
+        unit("piece", Dimension.COUNT, 1, "piece", "pieces", "pc", "pcs", "个", "只", "颗");
+        unit("slice", Dimension.COUNT, 0.5, "slice", "slices", "片");
+        unit("clove", Dimension.COUNT, 1, "clove", "cloves", "瓣");
+
+        FACTORS = new double[UNITS.size()][UNITS.size()];
+        for (Unit from : UNITS) {
+            for (Unit to : UNITS) {
+                FACTORS[from.index][to.index] = from.dimension == to.dimension
+                        ? from.baseAmount / to.baseAmount
+                        : Double.NaN;
+            }
+        }
+
+        DENSITIES.put("water", 1.0);
+        DENSITIES.put("milk", 1.03);
+        DENSITIES.put("olive oil", 0.91);
+        DENSITIES.put("vegetable oil", 0.92);
+        DENSITIES.put("oil", 0.92);
+        DENSITIES.put("butter", 0.96);
+        DENSITIES.put("flour", 0.53);
+        DENSITIES.put("sugar", 0.85);
+        DENSITIES.put("brown sugar", 0.72);
+        DENSITIES.put("salt", 1.2);
+        DENSITIES.put("rice", 0.85);
+        DENSITIES.put("soy sauce", 1.2);
+        DENSITIES.put("oyster sauce", 1.25);
+        DENSITIES.put("ketchup", 1.1);
+        DENSITIES.put("vinegar", 1.01);
+        DENSITIES.put("honey", 1.42);
+        DENSITIES.put("cornstarch", 0.54);
+        DENSITIES.put("coca-cola", 1.04);
+
+        PIECE_WEIGHTS.put("egg", 50.0);
+        PIECE_WEIGHTS.put("onion", 110.0);
+        PIECE_WEIGHTS.put("tomato", 120.0);
+        PIECE_WEIGHTS.put("potato", 170.0);
+        PIECE_WEIGHTS.put("garlic", 5.0);
+        PIECE_WEIGHTS.put("ginger", 10.0);
+        PIECE_WEIGHTS.put("carrot", 60.0);
+        PIECE_WEIGHTS.put("apple", 180.0);
+        PIECE_WEIGHTS.put("banana", 120.0);
+        PIECE_WEIGHTS.put("orange", 130.0);
+        PIECE_WEIGHTS.put("lemon", 60.0);
+        PIECE_WEIGHTS.put("mushroom", 18.0);
+        PIECE_WEIGHTS.put("chicken wing", 90.0);
+        PIECE_WEIGHTS.put("chicken breast", 170.0);
+        PIECE_WEIGHTS.put("bread", 50.0);
+        PIECE_WEIGHTS.put("cheese", 40.0);
+        PIECE_WEIGHTS.put("bay leaf", 0.2);
+
+        DENSITY_MATCHER = new IngredientMatcher(DENSITIES.keySet());
+        PIECE_WEIGHT_MATCHER = new IngredientMatcher(PIECE_WEIGHTS.keySet());
+    }
+
+    private static void unit(String name, Dimension dimension, double baseAmount, String... spellings) {
+        Unit unit = new Unit(UNITS.size(), name, dimension, baseAmount);
+        UNITS.add(unit);
+        for (String spelling : spellings) {
+            ALIASES.put(spelling, unit);
+        }
+    }
+
+    /**
+     * Gets all known units, in the order of their dimensions.
+     *
+     * @return the canonical units
+     */
+    public static List<Unit> getUnits() {
+        return Collections.unmodifiableList(UNITS);
+    }
+
+    /**
+     * Parses a unit as written in a recipe, ignoring case, surrounding spaces and a trailing period.
+     *
+     * @param unit the written unit
+     * @return the canonical unit, or null if the unit is not known
+     */
+    public static Unit parse(String unit) {
+        if (unit == null) {
+            return null;
+        }
+        Unit parsed = PARSED.get(unit);
+        if (parsed == null) {
+            String key = unit.trim().toLowerCase(Locale.ROOT);
+            if (key.endsWith(".")) {
+                key = key.substring(0, key.length() - 1);
+            }
+            parsed = ALIASES.getOrDefault(key, UNKNOWN);
+            PARSED.put(unit, parsed);
+        }
+        return parsed == UNKNOWN ? null : parsed;
+    }
+
+    /**
+     * Gets the factor converting amounts between two units of the same dimension.
+     *
+     * @param from the unit to convert from
+     * @param to the unit to convert to
+     * @return the number of target units in one source unit, or NaN if the dimensions differ
+     */
+    public static double getFactor(Unit from, Unit to) {
+        return FACTORS[from.index][to.index];
+    }
+
+    /**
+     * Gets the factor converting amounts of an ingredient between any two units.
+     * Conversions between dimensions use the density and piece weight of the ingredient.
+     *
+     * @param from the unit to convert from
+     * @param to the unit to convert to
+     * @param ingredientName the name of the ingredient, or null to use the default density and piece weight
+     * @return the number of target units in one source unit
+     */
+    public static double getFactor(Unit from, Unit to, String ingredientName) {
+        if (from.dimension == to.dimension) {
+            return FACTORS[from.index][to.index];
+        }
+        return from.baseAmount * gramsPerBase(from.dimension, ingredientName)
+                / gramsPerBase(to.dimension, ingredientName) / to.baseAmount;
+    }
+
+    /**
+     * Converts a quantity of an ingredient between two written units.
+     *
+     * @param quantity the quantity to convert
+     * @param from the written unit to convert from
+     * @param to the written unit to convert to
+     * @param ingredientName the name of the ingredient, or null to use the default density and piece weight
+     * @return the converted quantity, or NaN if either unit is not known
+     */
+    public static double convert(double quantity, String from, String to, String ingredientName) {
+        Unit fromUnit = parse(from);
+        Unit toUnit = parse(to);
+        if (fromUnit == null || toUnit == null) {
+            return Double.NaN;
+        }
+        return quantity * getFactor(fromUnit, toUnit, ingredientName);
+    }
+
+    /**
+     * Converts a quantity of an ingredient to grams.
+     *
+     * @param quantity the quantity to convert
+     * @param unit the written unit; quantities in unknown units are taken to be grams
+     * @param ingredientName the name of the ingredient, or null to use the default density and piece weight
+     * @return the weight in grams
+     */
+    public static float toGrams(float quantity, String unit, String ingredientName) {
+        Unit parsed = parse(unit);
+        if (parsed == null) {
+            return quantity;
+        }
+        return (float) (quantity * parsed.baseAmount * gramsPerBase(parsed.dimension, ingredientName));
+    }
+
+    /**
+     * Gets the density of an ingredient.
+     *
+     * @param ingredientName the name of the ingredient
+     * @return grams per milliliter, or {@link #DEFAULT_DENSITY} if unknown
+     */
+    public static double getDensity(String ingredientName) {
+        String known = ingredientName == null ? null : DENSITY_MATCHER.match(ingredientName);
+        return known == null ? DEFAULT_DENSITY : DENSITIES.get(known);
+    }
+
+    /**
+     * Gets the weight of one piece of an ingredient.
+     *
+     * @param ingredientName the name of the ingredient
+     * @return grams per piece, or {@link #DEFAULT_PIECE_WEIGHT} if unknown
+     */
+    public static double getPieceWeight(String ingredientName) {
+        String known = ingredientName == null ? null : PIECE_WEIGHT_MATCHER.match(ingredientName);
+        return known == null ? DEFAULT_PIECE_WEIGHT : PIECE_WEIGHTS.get(known);
+    }
+
+    /**
+     * Gets the grams in one base unit (gram, milliliter or piece) of a dimension for an ingredient.
+     */
+    private static double gramsPerBase(Dimension dimension, String ingredientName) {
+        switch (dimension) {
+            case VOLUME:
+                return getDensity(ingredientName);
+            case COUNT:
+                return getPieceWeight(ingredientName);
+            default:
+                return 1.0;
+        }
+    }
+}
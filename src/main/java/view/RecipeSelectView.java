@@ -1,5 +1,6 @@
 package view;
 
+import dao.mappers.RecipeSummary;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
@@ -7,8 +8,8 @@ import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * JavaFX Stage class for the recipe selection view of the recipe management application.
@@ -21,11 +22,8 @@ import java.util.LinkedHashMap;
  */
 public class RecipeSelectView extends Stage {
 
-    /** Map of recipe IDs to their image URLs */
-    public LinkedHashMap<Integer, String> imageUrls;
-    
-    /** List of recipe names for display */
-    public ArrayList<String> imageNames;
+    /** Summaries of the recipes on display */
+    public List<RecipeSummary> recipes;
     
     /** Map linking UI buttons to recipe IDs */
     public LinkedHashMap<Button, Integer> buttonMap;
@@ -76,11 +74,9 @@ public class RecipeSelectView extends Stage {
      * Updates the view with new recipe data.
      * This method is used to refresh the displayed recipes and their associated images.
      * 
-     * @param imageUrls map of recipe IDs to their image URLs
-     * @param imageNames list of recipe names for display
+     * @param recipes summaries of the recipes to display
      */
-    public void update(LinkedHashMap<Integer, String> imageUrls, ArrayList<String> imageNames) {
-        this.imageUrls = imageUrls;
-        this.imageNames = imageNames;
+    public void update(List<RecipeSummary> recipes) {
+        this.recipes = recipes;
     }
 }
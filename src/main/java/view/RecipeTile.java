@@ -0,0 +1,134 @@
+package view;
+
+import dao.mappers.RecipeSummary;
+import javafx.geometry.Pos;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+
+import java.util.function.IntConsumer;
+
+/**
+ * RecipeTile is a reusable recipe card for the recipe selection view.
+ * A tile is built once and then rebound to a different recipe summary on every page flip,
+ * so browsing creates no new nodes, effects or event handlers. Its look, including the hover
+ * state, comes from the style classes defined in recipe_select.css.
+ *
+ * @author Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RecipeTile extends VBox {
+
+    /** Width of the recipe image */
+    public static final double IMAGE_WIDTH = 200;
+
+    /** Height of the recipe image */
+    public static final double IMAGE_HEIGHT = 180;
+
+    private final ImageView imageView = new ImageView();
+    private final Label nameLabel = new Label();
+    /** Line under the name telling why the recipe is listed, hidden when there is none */
+    private final Label noteLabel = new Label();
+    private final Button viewButton = new Button("View Recipe");
+
+    /** ID of the recipe currently shown, 0 while the tile is unbound */
+    private int recipeId;
+
+    /**
+     * Creates an unbound, hidden tile.
+     *
+     * @param onView called with the ID of the bound recipe when the view button is pressed
+     */
+    public RecipeTile(IntConsumer onView) {
+        getStyleClass().add("recipe-tile");
+        setAlignment(Pos.CENTER);
+        setSpacing(15);
+        setPrefWidth(280);
+        setPrefHeight(350);
+
+        imageView.setFitWidth(IMAGE_WIDTH);
+        imageView.setFitHeight(IMAGE_HEIGHT);
+        imageView.setPreserveRatio(true);
+        imageView.setSmooth(true);
+        Rectangle clip = new Rectangle(IMAGE_WIDTH, IMAGE_HEIGHT);
+        clip.setArcWidth(15);
+        clip.setArcHeight(15);
+        imageView.setClip(clip);
+
+        VBox imageContainer = new VBox(imageView);
+        imageContainer.getStyleClass().add("recipe-tile-image");
+        imageContainer.setAlignment(Pos.CENTER);
+
+        nameLabel.getStyleClass().add("recipe-tile-name");
+        nameLabel.setWrapText(true);
+        nameLabel.setMaxWidth(240);
+
+        noteLabel.getStyleClass().add("recipe-tile-note");
+        noteLabel.setWrapText(true);
+        noteLabel.setMaxWidth(240);
+        noteLabel.managedProperty().bind(noteLabel.visibleProperty());
+
+        viewButton.getStyleClass().add("recipe-tile-button");
+        viewButton.setOnAction(e -> onView.accept(recipeId));
+
+        getChildren().addAll(imageContainer, nameLabel, noteLabel, viewButton);
+        unbind();
+    }
+
+    /**
+     * Shows a recipe on this tile. The image is filled in separately through {@link #getImageView()}.
+     *
+     * @param summary the recipe to show
+     */
+    public void bind(RecipeSummary summary) {
+        bind(summary, null);
+    }
+
+    /**
+     * Shows a recipe on this tile with a note under its name. The image is filled in separately
+     * through {@link #getImageView()}.
+     *
+     * @param summary the recipe to show
+     * @param note the note, or null or empty for none
+     */
+    public void bind(RecipeSummary summary, String note) {
+        recipeId = summary.getRecipeId();
+        nameLabel.setText(summary.getRecipeName());
+        noteLabel.setText(note == null ? "" : note);
+        noteLabel.setVisible(note != null && !note.isEmpty());
+        setVisible(true);
+    }
+
+    /**
+     * Clears and hides this tile so it no longer holds on to a recipe or its image.
+     */
+    public void unbind() {
+        recipeId = 0;
+        nameLabel.setText("");
+        noteLabel.setText("");
+        noteLabel.setVisible(false);
+        imageView.setImage(null);
+        setVisible(false);
+    }
+
+    /**
+     * Gets the ID of the recipe currently shown.
+     *
+     * @return the recipe ID, or 0 if the tile is unbound
+     */
+    public int getRecipeId() {
+        return recipeId;
+    }
+
+    /**
+     * Gets the image view of this tile.
+     *
+     * @return the image view showing the recipe image
+     */
+    public ImageView getImageView() {
+        return imageView;
+    }
+}
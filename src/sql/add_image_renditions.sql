@@ -0,0 +1,5 @@
+-- Adds the card thumbnail and detail image renditions to an existing cookbook database.
+-- Run once, then fill the new columns by running the main.ImageRenditionBackfill class.
+ALTER TABLE `recipe`
+  ADD COLUMN `thumbnail_url` varchar(255) DEFAULT NULL AFTER `image_url`,
+  ADD COLUMN `detail_image_url` varchar(255) DEFAULT NULL AFTER `thumbnail_url`;
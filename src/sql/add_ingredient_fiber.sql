@@ -0,0 +1,5 @@
+-- Adds fiber to the ingredients of an existing cookbook database. The nutrition totals of the recipes
+-- are left as they are: those of the sample recipes are curated, and the application keeps the totals
+-- of every recipe it saves up to date from its ingredients.
+ALTER TABLE `ingredient`
+  ADD COLUMN `unit_fiber` decimal(8,2) DEFAULT '0.00' AFTER `unit_carbohydrates`;
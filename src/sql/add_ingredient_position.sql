@@ -0,0 +1,6 @@
+-- Adds a row id to the ingredients of an existing cookbook database. Ids grow in insertion order, so
+-- ordering by them lists the ingredients of a recipe in the order they were entered; existing rows are
+-- numbered in the order of the primary key.
+ALTER TABLE `ingredient`
+  ADD COLUMN `ingredient_id` int unsigned NOT NULL AUTO_INCREMENT AFTER `unit_fiber`,
+  ADD UNIQUE KEY `ingredient_id_UNIQUE` (`ingredient_id`);
@@ -32,7 +32,10 @@ CREATE TABLE `ingredient` (
   `unit_protein` decimal(8,2) DEFAULT '0.00',
   `unit_fat` decimal(8,2) DEFAULT '0.00',
   `unit_carbohydrates` decimal(8,2) DEFAULT '0.00',
+  `unit_fiber` decimal(8,2) DEFAULT '0.00',
+  `ingredient_id` int unsigned NOT NULL AUTO_INCREMENT,
   PRIMARY KEY (`recipe_id`,`name`),
+  UNIQUE KEY `ingredient_id_UNIQUE` (`ingredient_id`),
   KEY `fk_Recipes_idx` (`recipe_id`),
   CONSTRAINT `fk_ingredient_recipe` FOREIGN KEY (`recipe_id`) REFERENCES `recipe` (`recipe_id`) ON DELETE CASCADE
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3;
@@ -89,6 +92,8 @@ CREATE TABLE `recipe` (
   `preparationTime` int unsigned DEFAULT NULL,
   `cookingTime` int unsigned DEFAULT NULL,
   `image_url` varchar(255) DEFAULT NULL,
+  `thumbnail_url` varchar(255) DEFAULT NULL,
+  `detail_image_url` varchar(255) DEFAULT NULL,
   `calories` int DEFAULT '0',
   `protein` decimal(8,2) DEFAULT '0.00',
   `carbohydrates` decimal(8,2) DEFAULT '0.00',
@@ -109,6 +114,33 @@ INSERT INTO `recipe` (`recipe_id`, `name`, `serveamount`, `preparationTime`, `co
 /*!40000 ALTER TABLE `recipe` ENABLE KEYS */;
 UNLOCK TABLES;
 
+--
+-- Table structure for table `recipe_tag`
+--
+
+DROP TABLE IF EXISTS `recipe_tag`;
+/*!40101 SET @saved_cs_client     = @@character_set_client */;
+/*!50503 SET character_set_client = utf8mb4 */;
+CREATE TABLE `recipe_tag` (
+  `recipe_id` int unsigned NOT NULL,
+  `facet` varchar(20) NOT NULL,
+  `value` varchar(45) NOT NULL,
+  PRIMARY KEY (`recipe_id`,`facet`,`value`),
+  KEY `facet_value_idx` (`facet`,`value`),
+  CONSTRAINT `fk_recipe_tag_recipe` FOREIGN KEY (`recipe_id`) REFERENCES `recipe` (`recipe_id`) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb3;
+/*!40101 SET character_set_client = @saved_cs_client */;
+
+--
+-- Dumping data for table `recipe_tag`
+--
+
+LOCK TABLES `recipe_tag` WRITE;
+/*!40000 ALTER TABLE `recipe_tag` DISABLE KEYS */;
+INSERT INTO `recipe_tag` (`recipe_id`, `facet`, `value`) VALUES (100,'allergen','Soy'),(100,'category','Main dish'),(100,'cuisine','Chinese'),(100,'diet','Dairy-free'),(100,'meal_type','Dinner'),(101,'allergen','Soy'),(101,'category','Stew'),(101,'cuisine','Chinese'),(101,'diet','Dairy-free'),(101,'diet','High-protein'),(101,'meal_type','Dinner'),(102,'allergen','Gluten'),(102,'allergen','Soy'),(102,'category','Main dish'),(102,'cuisine','Chinese'),(102,'diet','Dairy-free'),(102,'meal_type','Dinner'),(103,'allergen','Soy'),(103,'category','Casserole'),(103,'cuisine','Chinese'),(103,'diet','Dairy-free'),(103,'diet','High-protein'),(103,'meal_type','Dinner'),(104,'allergen','Soy'),(104,'category','Casserole'),(104,'cuisine','Chinese'),(104,'diet','Dairy-free'),(104,'diet','High-protein'),(104,'meal_type','Lunch'),(105,'allergen','Fish'),(105,'allergen','Soy'),(105,'category','Main dish'),(105,'cuisine','Chinese'),(105,'diet','Dairy-free'),(105,'diet','High-protein'),(105,'diet','Low-calorie'),(105,'meal_type','Dinner'),(106,'allergen','Egg'),(106,'category','Main dish'),(106,'cuisine','Chinese'),(106,'diet','Dairy-free'),(106,'diet','High-protein'),(106,'meal_type','Lunch'),(107,'allergen','Soy'),(107,'category','Main dish'),(107,'cuisine','Chinese'),(107,'diet','Dairy-free'),(107,'meal_type','Dinner'),(108,'allergen','Soy'),(108,'category','Appetizer'),(108,'cuisine','Chinese'),(108,'diet','Low-calorie'),(108,'meal_type','Lunch'),(109,'allergen','Soy'),(109,'category','Stir-fry'),(109,'cuisine','Chinese'),(109,'diet','High-protein'),(109,'diet','Low-calorie'),(109,'meal_type','Dinner'),(110,'allergen','Egg'),(110,'category','Stir-fry'),(110,'cuisine','Chinese'),(110,'diet','Dairy-free'),(110,'diet','Low-calorie'),(110,'diet','Vegetarian'),(110,'meal_type','Breakfast');
+/*!40000 ALTER TABLE `recipe_tag` ENABLE KEYS */;
+UNLOCK TABLES;
+
 --
 -- Table structure for table `users`
 --
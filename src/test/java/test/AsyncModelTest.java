@@ -0,0 +1,77 @@
+package test;
+
+import model.AsyncModel;
+import model.ModelMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for running model calls in the background through AsyncModel.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class AsyncModelTest {
+
+    /**
+     * Verifies that a call runs off the calling thread and completes with the model's result.
+     *
+     * @throws Exception if the call does not complete
+     */
+    @Test
+    public void testCallRunsInBackground() throws Exception {
+        ModelMethod model = mock(ModelMethod.class);
+        Thread caller = Thread.currentThread();
+        when(model.countRecipes()).thenAnswer(invocation -> Thread.currentThread() == caller ? -1 : 42);
+
+        AsyncModel asyncModel = new AsyncModel(() -> model);
+        assertEquals(42, asyncModel.countRecipes().get(5, TimeUnit.SECONDS));
+        assertEquals(0, asyncModel.getPendingCount());
+    }
+
+    /**
+     * Verifies that slow calls run at the same time up to the pool size, that further calls wait
+     * instead of starting more threads, and that cancelAll cancels all pending calls.
+     *
+     * @throws Exception if the calls do not start
+     */
+    @Test
+    public void testConcurrentCallsAndCancellation() throws Exception {
+        int calls = 50;
+        CountDownLatch started = new CountDownLatch(AsyncModel.MAX_THREADS);
+        AtomicInteger running = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ModelMethod model = mock(ModelMethod.class);
+        when(model.login(anyString(), anyString())).thenAnswer(invocation -> {
+            running.incrementAndGet();
+            started.countDown();
+            release.await();
+            return true;
+        });
+
+        AsyncModel asyncModel = new AsyncModel(() -> model);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[calls];
+        for (int i = 0; i < calls; i++) {
+            futures[i] = asyncModel.login("user" + i, "pass1");
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS), "a full pool of calls must be running at once");
+        Thread.sleep(100);
+        assertEquals(AsyncModel.MAX_THREADS, running.get(), "calls beyond the pool size must wait");
+        assertEquals(calls, asyncModel.getPendingCount());
+
+        asyncModel.cancelAll();
+        release.countDown();
+        for (CompletableFuture<?> future : futures) {
+            assertTrue(future.isCancelled());
+        }
+        assertEquals(0, asyncModel.getPendingCount());
+    }
+}
@@ -0,0 +1,80 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import service.CatalogView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the lazily loaded holder of catalog views.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class CatalogViewTest {
+
+    /**
+     * Verifies that the view is loaded once, kept until invalidated, and loaded again afterwards.
+     */
+    @Test
+    public void testLoadsOnceUntilInvalidated() {
+        CatalogView<String> view = new CatalogView<>();
+        AtomicInteger loads = new AtomicInteger();
+        assertFalse(view.isLoaded());
+
+        assertEquals("view 1", view.get(() -> "view " + loads.incrementAndGet()));
+        assertEquals("view 1", view.get(() -> "view " + loads.incrementAndGet()));
+        assertTrue(view.isLoaded());
+
+        view.invalidate();
+        assertFalse(view.isLoaded());
+        assertEquals("view 2", view.get(() -> "view " + loads.incrementAndGet()));
+        assertEquals(2, view.getLoadCount());
+    }
+
+    /**
+     * Verifies that a failed load leaves the holder empty, so the next use tries again.
+     */
+    @Test
+    public void testFailedLoadIsRetried() {
+        CatalogView<String> view = new CatalogView<>();
+        assertThrows(IllegalStateException.class, () -> view.get(() -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertFalse(view.isLoaded());
+        assertEquals("view", view.get(() -> "view"));
+    }
+
+    /**
+     * Verifies that concurrent first uses share a single load.
+     */
+    @Test
+    public void testConcurrentUsesLoadOnce() throws InterruptedException {
+        CatalogView<String> view = new CatalogView<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                view.get(() -> "view");
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(1, view.getLoadCount());
+    }
+}
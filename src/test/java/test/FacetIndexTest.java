@@ -0,0 +1,102 @@
+package test;
+
+import control.RecipeSelectFXMLController;
+import dao.mappers.RecipeSummary;
+import dao.mappers.RecipeTag;
+import org.junit.jupiter.api.Test;
+import service.FacetIndex;
+import service.FacetQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.RecipeFixtures.ids;
+
+/**
+ * Tests for faceted browsing of recipe tags.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class FacetIndexTest {
+
+    /**
+     * Verifies AND across facets, OR within a facet, NOT for excluded values, and the counts of every value.
+     */
+    @Test
+    public void testBrowseAndCounts() {
+        List<RecipeSummary> catalog = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            catalog.add(new RecipeSummary(id, "Recipe " + id, null));
+        }
+        List<RecipeTag> tags = Arrays.asList(
+                new RecipeTag(1, RecipeTag.CUISINE, "Chinese"),
+                new RecipeTag(2, RecipeTag.CUISINE, "Chinese"),
+                new RecipeTag(3, RecipeTag.CUISINE, "Italian"),
+                new RecipeTag(4, RecipeTag.CUISINE, "Thai"),
+                new RecipeTag(1, RecipeTag.DIET, "Vegetarian"),
+                new RecipeTag(3, RecipeTag.DIET, "Vegetarian"),
+                new RecipeTag(4, "Diet", "vegetarian"),
+                new RecipeTag(3, RecipeTag.ALLERGEN, "Egg"),
+                new RecipeTag(99, RecipeTag.ALLERGEN, "Egg"));
+        FacetIndex index = new FacetIndex(catalog, tags);
+
+        FacetIndex.Result all = index.browse(new FacetQuery());
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), ids(all));
+        assertEquals(Arrays.asList("Chinese", "Italian", "Thai"), index.getValues(RecipeTag.CUISINE));
+        assertEquals(2, all.getCount(RecipeTag.CUISINE, "Chinese"));
+        assertEquals(3, all.getCount(RecipeTag.DIET, "Vegetarian"));
+        assertEquals(1, all.getCount(RecipeTag.ALLERGEN, "Egg"));
+
+        FacetIndex.Result result = index.browse(new FacetQuery()
+                .include(RecipeTag.CUISINE, "Chinese")
+                .include(RecipeTag.CUISINE, "Italian")
+                .include(RecipeTag.DIET, "Vegetarian")
+                .exclude(RecipeTag.ALLERGEN, "Egg"));
+        assertEquals(Arrays.asList(1), ids(result));
+        // Counts of a facet ignore its own condition: vegetarian without egg
+        assertEquals(1, result.getCount(RecipeTag.CUISINE, "Thai"));
+        assertEquals(0, result.getCount(RecipeTag.CUISINE, "Italian"));
+        // Chinese or Italian without egg
+        assertEquals(1, result.getCount(RecipeTag.DIET, "Vegetarian"));
+        // Chinese or Italian and vegetarian
+        assertEquals(1, result.getCount(RecipeTag.ALLERGEN, "Egg"));
+
+        assertTrue(index.browse(new FacetQuery().include(RecipeTag.CUISINE, "French")).getRecipes().isEmpty());
+        assertEquals(Arrays.asList(1, 2, 4, 5), ids(index.browse(new FacetQuery().exclude(RecipeTag.ALLERGEN, "Egg"))));
+    }
+
+    /**
+     * Verifies that "Free from" items are labelled with the recipes left without the allergen, not with
+     * the recipes containing it.
+     */
+    @Test
+    public void testFreeFromLabel() {
+        List<RecipeSummary> catalog = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            catalog.add(new RecipeSummary(id, "Recipe " + id, null));
+        }
+        FacetIndex index = new FacetIndex(catalog, Arrays.asList(
+                new RecipeTag(1, RecipeTag.CUISINE, "Chinese"),
+                new RecipeTag(2, RecipeTag.CUISINE, "Chinese"),
+                new RecipeTag(3, RecipeTag.CUISINE, "Chinese"),
+                new RecipeTag(1, RecipeTag.ALLERGEN, "Egg"),
+                new RecipeTag(4, RecipeTag.ALLERGEN, "Egg"),
+                new RecipeTag(2, RecipeTag.ALLERGEN, "Peanut")));
+
+        FacetIndex.Result all = index.browse(new FacetQuery());
+        assertEquals("Egg (3)", RecipeSelectFXMLController.getFacetItemText(all, RecipeTag.ALLERGEN, "Egg"));
+        assertEquals("Chinese (3)", RecipeSelectFXMLController.getFacetItemText(all, RecipeTag.CUISINE, "Chinese"));
+
+        FacetIndex.Result chineseWithoutPeanut = index.browse(new FacetQuery()
+                .include(RecipeTag.CUISINE, "Chinese")
+                .exclude(RecipeTag.ALLERGEN, "Peanut"));
+        assertEquals(Arrays.asList(1, 3), ids(chineseWithoutPeanut));
+        // Excluding egg as well leaves recipe 3; the checked peanut item shows the current result
+        assertEquals("Egg (1)", RecipeSelectFXMLController.getFacetItemText(chineseWithoutPeanut, RecipeTag.ALLERGEN, "Egg"));
+        assertEquals("Peanut (2)", RecipeSelectFXMLController.getFacetItemText(chineseWithoutPeanut, RecipeTag.ALLERGEN, "Peanut"));
+    }
+}
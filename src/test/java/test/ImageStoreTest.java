@@ -0,0 +1,127 @@
+package test;
+
+import dao.mappers.ImageReference;
+import model.ImageService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the content-addressed image store of ImageService.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class ImageStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Verifies that identical uploads are stored once under a sharded, hash-based name.
+     *
+     * @throws Exception if the test files cannot be written
+     */
+    @Test
+    public void testIdenticalImagesAreStoredOnce() throws Exception {
+        ImageService imageService = new ImageService(tempDir.resolve("store"));
+        Path first = Files.write(tempDir.resolve("first.PNG"), new byte[]{1, 2, 3, 4});
+        Path second = Files.write(tempDir.resolve("second.png"), new byte[]{1, 2, 3, 4});
+        Path other = Files.write(tempDir.resolve("other.png"), new byte[]{5, 6, 7});
+
+        Path storedFirst = imageService.duplicateImage(first.toString());
+        Path storedSecond = imageService.duplicateImage(second.toString());
+        Path storedOther = imageService.duplicateImage(other.toString());
+
+        assertEquals(storedFirst, storedSecond);
+        assertNotEquals(storedFirst, storedOther);
+        String fileName = storedFirst.getFileName().toString();
+        assertTrue(fileName.matches("[0-9a-f]{64}\\.png"), fileName);
+        assertEquals(fileName.substring(0, 2), storedFirst.getParent().getParent().getFileName().toString());
+        assertEquals(fileName.substring(2, 4), storedFirst.getParent().getFileName().toString());
+        assertArrayEquals(new byte[]{1, 2, 3, 4}, Files.readAllBytes(storedFirst));
+    }
+
+    /**
+     * Verifies that only old, unreferenced images and their renditions are collected.
+     *
+     * @throws Exception if the test files cannot be written
+     */
+    @Test
+    public void testGarbageCollectionKeepsReferencedAndRecentImages() throws Exception {
+        ImageService imageService = new ImageService(tempDir.resolve("store"));
+        Path kept = placeInStore("a".repeat(64), ".png");
+        Path orphan = placeInStore("b".repeat(64), ".png");
+        Path orphanThumb = placeInStore("b".repeat(64), ".thumb.jpg");
+        Path young = placeInStore("c".repeat(64), ".png");
+
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 2 * ImageService.ORPHAN_GRACE_MILLIS);
+        for (Path path : new Path[]{kept, orphan, orphanThumb}) {
+            Files.setLastModifiedTime(path, old);
+        }
+
+        List<ImageReference> references = Collections.singletonList(new ImageReference(kept.toString(), 1));
+        assertEquals(2, imageService.collectGarbage(references));
+
+        assertTrue(Files.exists(kept));
+        assertTrue(Files.exists(young), "orphans within the grace period must survive");
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(orphanThumb));
+    }
+
+    /**
+     * Verifies that uploading the content of an old orphan protects the stored file from collection.
+     *
+     * @throws Exception if the test files cannot be written
+     */
+    @Test
+    public void testReusedOrphanSurvivesCollection() throws Exception {
+        ImageService imageService = new ImageService(tempDir.resolve("store"));
+        Path upload = Files.write(tempDir.resolve("upload.png"), new byte[]{9, 8, 7});
+        Path stored = imageService.duplicateImage(upload.toString());
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 2 * ImageService.ORPHAN_GRACE_MILLIS);
+        Files.setLastModifiedTime(stored, old);
+
+        assertEquals(stored, imageService.duplicateImage(upload.toString()));
+        assertTrue(Files.getLastModifiedTime(stored).compareTo(old) > 0, "reused files must get a fresh modification time");
+        assertEquals(0, imageService.collectGarbage(Collections.emptyList()));
+        assertTrue(Files.exists(stored));
+    }
+
+    /**
+     * Verifies that an uploaded image is kept, however old, until its pins are released.
+     *
+     * @throws Exception if the test files cannot be written
+     */
+    @Test
+    public void testPinnedUploadSurvivesUntilReleased() throws Exception {
+        ImageService imageService = new ImageService(tempDir.resolve("store"));
+        Path upload = Files.write(tempDir.resolve("pinned.png"), new byte[]{4, 4, 4});
+        Path stored = imageService.duplicateImage(upload.toString());
+        assertEquals(stored, imageService.duplicateImage(upload.toString()));
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 2 * ImageService.ORPHAN_GRACE_MILLIS);
+        Files.setLastModifiedTime(stored, old);
+
+        assertTrue(ImageService.getPinnedImages().contains(stored));
+        assertEquals(0, imageService.collectGarbage(Collections.emptyList()));
+        ImageService.releaseImage(stored);
+        assertEquals(0, imageService.collectGarbage(Collections.emptyList()), "one editor still holds the image");
+        ImageService.releaseImage(stored);
+        assertFalse(ImageService.getPinnedImages().contains(stored));
+        assertEquals(1, imageService.collectGarbage(Collections.emptyList()));
+        assertFalse(Files.exists(stored));
+    }
+
+    private Path placeInStore(String hash, String suffix) throws Exception {
+        Path directory = Files.createDirectories(tempDir.resolve("store").resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)));
+        return Files.write(directory.resolve(hash + suffix), new byte[]{1});
+    }
+}
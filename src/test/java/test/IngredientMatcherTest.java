@@ -0,0 +1,92 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import service.IngredientMatcher;
+import service.NutritionService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for matching free-text ingredient names against the nutrition database.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class IngredientMatcherTest {
+
+    private final IngredientMatcher matcher = new IngredientMatcher(
+            Arrays.asList("pork", "pork belly", "pepper", "bell pepper", "butter", "garlic", "tomatoes", "soy sauce"));
+
+    /**
+     * Verifies that the longest known name contained in the text wins.
+     */
+    @Test
+    public void testLongestMatchWins() {
+        assertEquals("pork belly", matcher.match("Pork Belly"));
+        assertEquals("pork belly", matcher.match("pork belly, thinly sliced"));
+        assertEquals("pork", matcher.match("minced pork"));
+        assertEquals("bell pepper", matcher.match("red bell peppers"));
+        assertEquals("soy sauce", matcher.match("light soy sauce"));
+    }
+
+    /**
+     * Verifies that a general name never matches a more specific entry and that unknown names do not match.
+     */
+    @Test
+    public void testGeneralNameDoesNotMatchSpecificEntry() {
+        assertEquals("pepper", matcher.match("pepper"));
+        assertNull(matcher.match("bell"));
+        assertNull(matcher.match("porkchop"));
+        assertNull(matcher.match(""));
+        assertNull(matcher.match(null));
+    }
+
+    /**
+     * Verifies plural handling and the tie-break between equally long matches.
+     */
+    @Test
+    public void testPluralsAndTieBreak() {
+        assertEquals("tomatoes", matcher.match("Tomato"));
+        assertEquals("tomatoes", matcher.match("cherry tomatoes"));
+        assertEquals("butter", matcher.match("garlic butter"));
+        assertEquals("garlic", matcher.match("butter-fried garlic"));
+    }
+
+    /**
+     * Verifies that the result does not depend on dictionary size or insertion order.
+     */
+    @Test
+    public void testDeterministicOnLargeDictionary() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            names.add("ingredient " + i);
+        }
+        names.add("pork");
+        names.add("pork belly");
+        IngredientMatcher forward = new IngredientMatcher(names);
+        List<String> reversed = new ArrayList<>(names);
+        Collections.reverse(reversed);
+        IngredientMatcher backward = new IngredientMatcher(reversed);
+
+        assertEquals("pork belly", forward.match("crispy pork belly"));
+        assertEquals("pork belly", backward.match("crispy pork belly"));
+        assertEquals("ingredient 19999", forward.match("Ingredient 19999"));
+    }
+
+    /**
+     * Verifies that NutritionService resolves names through the matcher.
+     */
+    @Test
+    public void testNutritionServiceUsesSpecificMatch() {
+        assertEquals(518, NutritionService.getNutritionData("Pork Belly Slices").calories);
+        assertEquals(250, NutritionService.getNutritionData("pork").calories);
+        assertTrue(NutritionService.hasNutritionData("egg"));
+        assertFalse(NutritionService.hasNutritionData("dragon fruit"));
+    }
+}
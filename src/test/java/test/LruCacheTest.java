@@ -0,0 +1,61 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import service.LruCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the weight-bounded LRU cache used by the image loader.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class LruCacheTest {
+
+    /**
+     * Verifies that the least recently used entries are evicted once the capacity is exceeded.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LruCache<String, byte[]> cache = new LruCache<>(100, value -> value.length);
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", new byte[40]);
+        assertNull(cache.get("b"), "b was used least recently and must be evicted");
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.getTotalWeight());
+    }
+
+    /**
+     * Verifies that replacing and removing entries keeps the total weight exact.
+     */
+    @Test
+    public void testReplaceAndRemoveKeepWeight() {
+        LruCache<String, byte[]> cache = new LruCache<>(100, value -> value.length);
+        cache.put("a", new byte[30]);
+        cache.put("a", new byte[50]);
+        assertEquals(1, cache.size());
+        assertEquals(50, cache.getTotalWeight());
+
+        cache.remove("a");
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalWeight());
+    }
+
+    /**
+     * Verifies that a value heavier than the whole capacity is not cached.
+     */
+    @Test
+    public void testRejectsOversizedValue() {
+        LruCache<String, byte[]> cache = new LruCache<>(100, value -> value.length);
+        cache.put("a", new byte[60]);
+        cache.put("huge", new byte[101]);
+        assertNull(cache.get("huge"));
+        assertNotNull(cache.get("a"));
+    }
+}
@@ -0,0 +1,51 @@
+package test;
+
+import dao.mappers.RecipeIngredient;
+import org.junit.jupiter.api.Test;
+import service.NutritionColumns;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for summing the nutrition of a recipe's ingredients.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class NutritionColumnsTest {
+
+    private static RecipeIngredient ingredient(Float quantity, float calories, float protein, float fat, float carbohydrates) {
+        return new RecipeIngredient(0, "ingredient", quantity, "g", "", calories, protein, fat, carbohydrates);
+    }
+
+    /**
+     * Verifies that the totals equal the sums of the per-ingredient totals, skipping null entries and
+     * counting missing values as 0.
+     */
+    @Test
+    public void testTotalsMatchIngredientTotals() {
+        RecipeIngredient fiberRich = ingredient(100f, 0.18f, 0.009f, 0.002f, 0.039f);
+        fiberRich.setUnitFiber(0.012f);
+        List<RecipeIngredient> ingredients = Arrays.asList(
+                ingredient(200f, 1.65f, 0.31f, 0.036f, 0f),
+                ingredient(50f, 3.87f, 0f, 0f, 0.998f),
+                fiberRich,
+                ingredient(null, 10f, 10f, 10f, 10f),
+                null);
+
+        float[] totals = NutritionColumns.totalsOf(ingredients);
+        assertEquals(NutritionColumns.NUTRIENT_COUNT, totals.length);
+        assertEquals(ingredients.get(0).getTotalCalories() + ingredients.get(1).getTotalCalories()
+                + fiberRich.getTotalCalories(), totals[NutritionColumns.CALORIES], 1e-3);
+        assertEquals(62.9f, totals[NutritionColumns.PROTEIN], 1e-3);
+        assertEquals(7.4f, totals[NutritionColumns.FAT], 1e-3);
+        assertEquals(53.8f, totals[NutritionColumns.CARBOHYDRATES], 1e-3);
+        assertEquals(1.2f, totals[NutritionColumns.FIBER], 1e-4);
+        assertArrayEquals(new float[NutritionColumns.NUTRIENT_COUNT], NutritionColumns.totalsOf(Collections.emptyList()));
+    }
+}
@@ -0,0 +1,102 @@
+package test;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.IngredientMatcher;
+import service.NutritionTable;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for converting nutrition CSV files and reading the memory-mapped nutrition table.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class NutritionTableTest {
+
+    private Path directory;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("nutrition-table-test");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * Verifies that a converted table finds foods by normalized name and reads their nutrients.
+     */
+    @Test
+    public void testConvertAndLookUp() throws IOException {
+        Path csv = directory.resolve("foods.csv");
+        Files.writeString(csv, String.join("\n",
+                "name,Calories,Protein,Fat,Carbohydrates",
+                "Pork Belly,518,9.3,53,0",
+                "pork,250,26,17,0",
+                "\"Crème fraîche, full fat\",292,2.4,30,2.8",
+                "Tomatoes,18,0.9,0.2,3.9",
+                "tomato,99,9,9,9",
+                "salt,,,,"), StandardCharsets.UTF_8);
+        Path file = directory.resolve("foods.cbn");
+
+        assertEquals(5, NutritionTable.convert(csv, file));
+        NutritionTable table = NutritionTable.open(file);
+        assertEquals(5, table.size());
+
+        int record = table.indexOf("pork belly");
+        assertTrue(record >= 0);
+        assertEquals("pork belly", table.getName(record));
+        assertEquals(518f, table.getNutrient(record, table.getNutrientIndex("calories")));
+        assertEquals(53f, table.getNutrient(record, table.getNutrientIndex("FAT")));
+        assertEquals(0f, table.getNutrient(record, table.getNutrientIndex("fiber")));
+
+        // duplicate normalized names keep the first row; empty values read as 0
+        assertEquals(18f, table.getNutrient(table.indexOf("tomato"), table.getNutrientIndex("calories")));
+        assertEquals(0f, table.getNutrient(table.indexOf("salt"), table.getNutrientIndex("protein")));
+        assertTrue(table.indexOf("crème fraîche full fat") >= 0);
+        assertEquals(-1, table.indexOf("beef"));
+    }
+
+    /**
+     * Verifies that the table works as the vocabulary of an ingredient matcher.
+     */
+    @Test
+    public void testMatchesAgainstTable() throws IOException {
+        Path csv = directory.resolve("foods.csv");
+        Files.writeString(csv, "name,calories\npork,250\npork belly,518\nbell pepper,31\npepper,251\n", StandardCharsets.UTF_8);
+        Path file = directory.resolve("foods.cbn");
+        NutritionTable.convert(csv, file);
+        IngredientMatcher matcher = new IngredientMatcher(NutritionTable.open(file));
+
+        assertEquals("pork belly", matcher.match("Pork belly, thinly sliced"));
+        assertEquals("pork", matcher.match("minced pork"));
+        assertEquals("bell pepper", matcher.match("red bell peppers"));
+        assertEquals("pepper", matcher.match("pepper"));
+        assertNull(matcher.match("bell"));
+    }
+
+    /**
+     * Verifies that files which are not nutrition tables are rejected.
+     */
+    @Test
+    public void testRejectsInvalidFile() throws IOException {
+        Path file = directory.resolve("invalid.cbn");
+        Files.write(file, new byte[64]);
+        assertThrows(IOException.class, () -> NutritionTable.open(file));
+    }
+}
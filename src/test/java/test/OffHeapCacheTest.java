@@ -0,0 +1,73 @@
+package test;
+
+import dao.cache.OffHeapCache;
+import dao.mappers.RecipeSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the off-heap MyBatis second-level cache.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class OffHeapCacheTest {
+
+    /**
+     * Verifies that a result list spanning several blocks is returned as an equal, independent copy.
+     */
+    @Test
+    public void testResultsSurviveRoundTrip() {
+        OffHeapCache cache = new OffHeapCache("dao.mappers.RecipeMapper");
+        cache.setCapacity(64 * 1024);
+        cache.setBlockSize(256);
+
+        List<RecipeSummary> summaries = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            summaries.add(new RecipeSummary(i, "Recipe " + i, "src/images/dishes/" + i + ".png"));
+        }
+        cache.putObject("page", summaries);
+
+        @SuppressWarnings("unchecked")
+        List<RecipeSummary> cached = (List<RecipeSummary>) cache.getObject("page");
+        assertNotSame(summaries, cached);
+        assertEquals(50, cached.size());
+        assertEquals("Recipe 50", cached.get(49).getRecipeName());
+        assertEquals(1, cache.getHitCount());
+        assertNull(cache.getObject("missing"));
+        assertEquals(1, cache.getMissCount());
+    }
+
+    /**
+     * Verifies that the least recently used results are evicted when the buffer is full
+     * and that clearing the cache frees all blocks.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsedAndClears() {
+        OffHeapCache cache = new OffHeapCache("dao.mappers.RecipeMapper");
+        cache.setCapacity(4 * 1024);
+        cache.setBlockSize(1024);
+
+        cache.putObject("a", new byte[1500]);
+        cache.putObject("b", new byte[1500]);
+        assertNotNull(cache.getObject("a"));
+        cache.putObject("c", new byte[1500]);
+
+        assertNull(cache.getObject("b"), "b was used least recently and must be evicted");
+        assertNotNull(cache.getObject("a"));
+        assertNotNull(cache.getObject("c"));
+        assertEquals(4 * 1024, cache.getUsedBytes());
+
+        cache.putObject("huge", new byte[8 * 1024]);
+        assertNull(cache.getObject("huge"));
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getUsedBytes());
+    }
+}
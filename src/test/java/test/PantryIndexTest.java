@@ -0,0 +1,114 @@
+package test;
+
+import control.RecipeSelectFXMLController;
+import dao.mappers.Recipe;
+import dao.mappers.RecipeIngredient;
+import org.junit.jupiter.api.Test;
+import service.PantryIndex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.RecipeFixtures.matchIds;
+import static test.RecipeFixtures.recipe;
+
+/**
+ * Tests for "cook with what I have" queries over the ingredient index.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class PantryIndexTest {
+
+    /**
+     * Verifies all and at-least-n queries, name normalization and ranking by coverage.
+     */
+    @Test
+    public void testPantryQueries() {
+        PantryIndex index = new PantryIndex(Arrays.asList(
+                recipe(1, "Eggs", "Tomatoes", "Salt", "Sugar"),
+                recipe(2, "Egg", "Tomato"),
+                recipe(3, "Beef", "Light Soy Sauce", "Dark Soy Sauce", "Potato"),
+                recipe(4, "Egg", "Spring Onion", "Salt")));
+        assertArrayEquals(new int[] {0, 1, 3}, index.getPostings("eggs"));
+        assertArrayEquals(new int[] {2}, index.getPostings("soy sauce"));
+
+        // Recipe 2 is fully covered, recipe 1 only half
+        List<PantryIndex.Match> both = index.findRecipesWithAll(Arrays.asList("egg", "tomato"), 10);
+        assertEquals(Arrays.asList(2, 1), matchIds(both));
+        assertEquals(1.0, both.get(0).getCoverage());
+        assertEquals(Arrays.asList("Salt", "Sugar"), both.get(1).getMissingIngredients());
+
+        List<PantryIndex.Match> some = index.findRecipes(Arrays.asList("Egg", "salt", "tomato", "rice"), 2, 10);
+        assertEquals(Arrays.asList(2, 1, 4), matchIds(some));
+        assertEquals(3, some.get(1).getPantryMatches());
+        assertEquals(Arrays.asList(2), matchIds(index.findRecipes(Arrays.asList("egg", "salt", "tomato"), 2, 1)));
+
+        // Soy sauce covers both soy sauces, but soy alone covers nothing
+        PantryIndex.Match beef = index.findRecipesWithAll(Arrays.asList("beef", "soy sauce"), 10).get(0);
+        assertEquals(Arrays.asList("Potato"), beef.getMissingIngredients());
+        assertTrue(index.findRecipesWithAll(Arrays.asList("beef", "soy"), 10).isEmpty());
+        assertTrue(index.findRecipes(new ArrayList<>(), 1, 10).isEmpty());
+    }
+
+    /**
+     * Verifies at-least-n queries on a large catalog against counting every recipe.
+     */
+    @Test
+    public void testLargeCatalogMatchesScan() {
+        Random random = new Random(25);
+        List<Recipe> recipes = new ArrayList<>();
+        for (int id = 1; id <= 50_000; id++) {
+            int count = 2 + random.nextInt(8);
+            String[] ingredients = new String[count];
+            for (int i = 0; i < count; i++) {
+                // Skewed use: low-numbered ingredients are common, high-numbered ones rare
+                ingredients[i] = "ingredient " + (int) Math.pow(random.nextInt(40), 2);
+            }
+            recipes.add(recipe(id, ingredients));
+        }
+        PantryIndex index = new PantryIndex(recipes);
+        List<String> pantry = Arrays.asList("ingredient 0", "ingredient 1", "ingredient 4", "ingredient 900", "ingredient 1521");
+
+        for (int minMatches = 1; minMatches <= pantry.size(); minMatches++) {
+            Set<Integer> expected = new HashSet<>();
+            for (Recipe recipe : recipes) {
+                Set<String> names = recipe.getIngredients().stream().map(RecipeIngredient::getName).collect(Collectors.toSet());
+                if (pantry.stream().filter(names::contains).count() >= minMatches) {
+                    expected.add(recipe.getRecipeId());
+                }
+            }
+            List<PantryIndex.Match> matches = index.findRecipes(pantry, minMatches, Integer.MAX_VALUE);
+            assertEquals(expected, new HashSet<>(matchIds(matches)));
+            for (int i = 1; i < matches.size(); i++) {
+                assertTrue(matches.get(i - 1).getCoverage() >= matches.get(i).getCoverage());
+            }
+        }
+    }
+
+    /**
+     * Verifies the tile note of a pantry result: the share of ingredients at hand and the first missing ones.
+     */
+    @Test
+    public void testPantryNote() {
+        PantryIndex index = new PantryIndex(Arrays.asList(
+                recipe(1, "Egg", "Tomato"),
+                recipe(2, "Egg", "Tomato", "Salt", "Sugar"),
+                recipe(3, "Egg", "Flour", "Milk", "Butter", "Sugar", "Salt")));
+        List<PantryIndex.Match> matches = index.findRecipes(Arrays.asList("egg", "tomato"), 1, 10);
+        assertEquals(Arrays.asList(1, 2, 3), matchIds(matches));
+
+        assertEquals("Have 2 of 2 ingredients (100%)", RecipeSelectFXMLController.getPantryNote(matches.get(0)));
+        assertEquals("Have 2 of 4 ingredients (50%)\nMissing: Salt, Sugar",
+                RecipeSelectFXMLController.getPantryNote(matches.get(1)));
+        assertEquals("Have 1 of 6 ingredients (17%)\nMissing: Flour, Milk, Butter and 2 more",
+                RecipeSelectFXMLController.getPantryNote(matches.get(2)));
+    }
+}
@@ -0,0 +1,83 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import service.ReadThroughCache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the read-through cache holding recipe aggregates.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class ReadThroughCacheTest {
+
+    /**
+     * Verifies that values are loaded once, served from the cache until they expire, and counted.
+     */
+    @Test
+    public void testHitsMissesAndExpiry() {
+        AtomicLong now = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>(10, 1, TimeUnit.SECONDS, now::get);
+
+        assertEquals("recipe 1", cache.get(1, id -> {
+            loads.incrementAndGet();
+            return "recipe " + id;
+        }));
+        assertEquals("recipe 1", cache.get(1, id -> "reloaded"));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals("reloaded", cache.get(1, id -> "reloaded"));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    /**
+     * Verifies that the least recently used value is evicted once the cache is full,
+     * and that missing values are not cached.
+     */
+    @Test
+    public void testSizeBoundAndNullValues() {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>(2, 1, TimeUnit.MINUTES);
+        cache.get(1, id -> "one");
+        cache.get(2, id -> "two");
+        cache.get(1, id -> "reloaded");
+        cache.get(3, id -> "three");
+
+        assertEquals(2, cache.size());
+        assertEquals("one", cache.get(1, id -> "reloaded"));
+        assertEquals("two again", cache.get(2, id -> "two again"));
+
+        assertNull(cache.get(4, id -> null));
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Verifies that a load racing with a write does not leave the pre-write value in the cache.
+     */
+    @Test
+    public void testInvalidationDuringLoadKeepsStaleValueOut() {
+        ReadThroughCache<Integer, String> cache = new ReadThroughCache<>(10, 1, TimeUnit.MINUTES);
+
+        String loaded = cache.get(1, id -> {
+            // A write commits and invalidates while this read is still in the database
+            cache.invalidate(1);
+            return "before write";
+        });
+
+        assertEquals("before write", loaded);
+        assertEquals(0, cache.size());
+        assertEquals("after write", cache.get(1, id -> "after write"));
+        assertEquals("after write", cache.get(1, id -> "unexpected"));
+    }
+}
@@ -0,0 +1,94 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import service.RecipeBitmap;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the compressed row sets behind the facet index.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeBitmapTest {
+
+    private static int[] randomRows(Random random, int count, int bound) {
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = random.nextInt(bound);
+        }
+        return rows;
+    }
+
+    private static BitSet bitSetOf(int[] rows) {
+        BitSet bits = new BitSet();
+        for (int row : rows) {
+            bits.set(row);
+        }
+        return bits;
+    }
+
+    private static void assertSameRows(BitSet expected, RecipeBitmap actual) {
+        assertArrayEquals(expected.stream().toArray(), actual.toArray());
+        assertEquals(expected.cardinality(), actual.cardinality());
+    }
+
+    /**
+     * Verifies set operations against BitSet, for sparse and dense chunks and mixes of both.
+     */
+    @Test
+    public void testOperationsMatchBitSet() {
+        Random random = new Random(24);
+        int[] sizes = {0, 10, 3000, 5000, 60_000, 200_000};
+        for (int sizeA : sizes) {
+            for (int sizeB : sizes) {
+                int[] a = randomRows(random, sizeA, 300_000);
+                int[] b = randomRows(random, sizeB, 300_000);
+                RecipeBitmap x = RecipeBitmap.of(a);
+                RecipeBitmap y = RecipeBitmap.of(b);
+                BitSet bitsA = bitSetOf(a);
+                BitSet bitsB = bitSetOf(b);
+                assertSameRows(bitsA, x);
+
+                BitSet and = (BitSet) bitsA.clone();
+                and.and(bitsB);
+                assertSameRows(and, x.and(y));
+                assertEquals(and.cardinality(), x.andCardinality(y));
+
+                BitSet or = (BitSet) bitsA.clone();
+                or.or(bitsB);
+                assertSameRows(or, x.or(y));
+
+                BitSet andNot = (BitSet) bitsA.clone();
+                andNot.andNot(bitsB);
+                assertSameRows(andNot, x.andNot(y));
+            }
+        }
+    }
+
+    /**
+     * Verifies the full range, membership and the empty set.
+     */
+    @Test
+    public void testRangeAndContains() {
+        RecipeBitmap all = RecipeBitmap.range(70_000);
+        assertEquals(70_000, all.cardinality());
+        assertTrue(all.contains(0));
+        assertTrue(all.contains(69_999));
+        assertFalse(all.contains(70_000));
+        assertFalse(all.contains(-1));
+
+        RecipeBitmap some = RecipeBitmap.of(5, 3, 5, 65_536);
+        assertArrayEquals(new int[] {3, 5, 65_536}, some.toArray());
+        assertArrayEquals(new int[] {3, 5, 65_536}, all.and(some).toArray());
+        assertEquals(69_997, all.andNot(some).cardinality());
+        assertTrue(RecipeBitmap.empty().isEmpty());
+        assertTrue(RecipeBitmap.range(0).isEmpty());
+        assertTrue(some.andNot(all).isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package test;
+
+import control.RecipeDisplayFXMLController;
+import dao.mappers.RecipeIngredient;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.stage.Stage;
+import model.DatabaseManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regression benchmark for the ingredient table of the recipe display view.
+ * Renders a 10-ingredient table repeatedly while changing the serving size and checks
+ * that rendering creates no Model, and with it no DatabaseManager.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+@ExtendWith(ApplicationExtension.class)
+public class RecipeDisplayRenderBenchmarkTest {
+
+    private static final int INGREDIENT_COUNT = 10;
+    private static final int RENDER_COUNT = 200;
+
+    private RecipeDisplayFXMLController controller;
+    private TableView<RecipeIngredient> ingredientsTableView;
+    private TextField serveNumberTextField;
+    private Label totalCaloriesLabel;
+
+    /**
+     * Builds the controller with the UI components it needs and shows the table.
+     *
+     * @param stage test stage provided by ApplicationExtension
+     */
+    @Start
+    public void start(Stage stage) {
+        controller = new RecipeDisplayFXMLController();
+        ingredientsTableView = new TableView<>();
+        serveNumberTextField = new TextField("1");
+        totalCaloriesLabel = new Label();
+
+        setField(controller, "ingredientsTableView", ingredientsTableView);
+        setField(controller, "serveNumberTextField", serveNumberTextField);
+        setField(controller, "totalCaloriesLabel", totalCaloriesLabel);
+        setField(controller, "totalProteinLabel", new Label());
+        setField(controller, "totalFatLabel", new Label());
+        setField(controller, "totalCarbsLabel", new Label());
+        setField(controller, "unitFromCombo", new ComboBox<String>());
+        setField(controller, "unitToCombo", new ComboBox<String>());
+        controller.initialize(null, null);
+
+        ObservableList<RecipeIngredient> ingredients = getField(controller, "selectedIngredients");
+        for (int i = 0; i < INGREDIENT_COUNT; i++) {
+            ingredients.add(new RecipeIngredient(1, "ingredient" + i, 100.0f, "g", "",
+                    1.5f, 0.2f, 0.1f, 0.3f));
+        }
+        ingredientsTableView.setItems(ingredients);
+
+        stage.setScene(new Scene(ingredientsTableView, 900, 500));
+        stage.show();
+    }
+
+    /**
+     * Renders the table repeatedly and verifies that rendering creates no model.
+     *
+     * @throws Exception if the rendering task fails or times out
+     */
+    @Test
+    public void testRenderCreatesNoModel() throws Exception {
+        CompletableFuture<int[]> future = new CompletableFuture<>();
+
+        Platform.runLater(() -> {
+            int createdBefore = DatabaseManager.getCreateCount();
+            for (int i = 0; i < RENDER_COUNT; i++) {
+                serveNumberTextField.setText(String.valueOf(i % 10 + 1));
+                ingredientsTableView.refresh();
+                ingredientsTableView.layout();
+            }
+            future.complete(new int[]{DatabaseManager.getCreateCount() - createdBefore,
+                    controller.servingSizeProperty().get()});
+        });
+
+        int[] result = future.get(30, TimeUnit.SECONDS);
+        assertEquals(0, result[0], "Rendering must not create any Model");
+        assertEquals((RENDER_COUNT - 1) % 10 + 1, result[1]);
+        assertEquals(String.format("%.0f", 150.0f * INGREDIENT_COUNT * result[1]), totalCaloriesLabel.getText());
+    }
+
+    /**
+     * Sets field value using reflection.
+     *
+     * @param target target object containing the field
+     * @param fieldName name of field to set
+     * @param value value to assign to field
+     */
+    private void setField(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (Exception e) {
+            throw new RuntimeException("Field setting failed: " + fieldName, e);
+        }
+    }
+
+    /**
+     * Gets field value using reflection.
+     *
+     * @param target target object containing the field
+     * @param fieldName name of field to read
+     * @param <T> expected type of the field
+     * @return the field value
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getField(Object target, String fieldName) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return (T) field.get(target);
+        } catch (Exception e) {
+            throw new RuntimeException("Field reading failed: " + fieldName, e);
+        }
+    }
+}
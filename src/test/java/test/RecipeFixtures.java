@@ -0,0 +1,85 @@
+package test;
+
+import dao.mappers.Recipe;
+import dao.mappers.RecipeIngredient;
+import dao.mappers.RecipeSummary;
+import service.FacetIndex;
+import service.PantryIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Sample recipes and result helpers shared by the tests of the catalog views.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public final class RecipeFixtures {
+
+    private RecipeFixtures() {
+
+    }
+
+    /**
+     * Creates a recipe named "Recipe id" with the given ingredients, 1 g each.
+     *
+     * @param id the recipe ID
+     * @param ingredients the ingredient names
+     * @return the recipe
+     */
+    public static Recipe recipe(int id, String... ingredients) {
+        Recipe recipe = new Recipe(id, "Recipe " + id, 1, 10, 20);
+        for (String ingredient : ingredients) {
+            recipe.getIngredients().add(new RecipeIngredient(id, ingredient, 1f, "g", "", 0f, 0f, 0f, 0f));
+        }
+        return recipe;
+    }
+
+    /**
+     * Creates a recipe named "Recipe id" with the given nutrition totals and cooking time.
+     *
+     * @param id the recipe ID
+     * @param calories the calorie total
+     * @param protein the protein total
+     * @param cookingTime the cooking time
+     * @return the recipe, without ingredients
+     */
+    public static Recipe recipe(int id, int calories, double protein, int cookingTime) {
+        Recipe recipe = new Recipe(id, "Recipe " + id, 1, 10, cookingTime);
+        recipe.setCalories(calories);
+        recipe.setProtein(protein);
+        return recipe;
+    }
+
+    /**
+     * Gets the IDs of recipe summaries.
+     *
+     * @param summaries the summaries
+     * @return the recipe IDs, in order
+     */
+    public static List<Integer> ids(List<RecipeSummary> summaries) {
+        return summaries.stream().map(RecipeSummary::getRecipeId).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the IDs of the recipes matching a facet query.
+     *
+     * @param result the result of the query
+     * @return the recipe IDs, in catalog order
+     */
+    public static List<Integer> ids(FacetIndex.Result result) {
+        return ids(result.getRecipes());
+    }
+
+    /**
+     * Gets the IDs of the recipes found for a pantry.
+     *
+     * @param matches the matches
+     * @return the recipe IDs, in order
+     */
+    public static List<Integer> matchIds(List<PantryIndex.Match> matches) {
+        return matches.stream().map(match -> match.getRecipe().getRecipeId()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,94 @@
+package test;
+
+import dao.mappers.Recipe;
+import org.junit.jupiter.api.Test;
+import service.RecipeQuery;
+import service.RecipeQuery.Attribute;
+import service.RecipeQueryEngine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static test.RecipeFixtures.ids;
+import static test.RecipeFixtures.recipe;
+
+/**
+ * Tests for range and top-k queries over the recipe catalog.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeQueryEngineTest {
+
+    /**
+     * Verifies range predicates on several attributes, sort order, ties and limits.
+     */
+    @Test
+    public void testRangesAndOrder() {
+        RecipeQueryEngine engine = new RecipeQueryEngine(Arrays.asList(
+                recipe(1, 450, 35, 30),
+                recipe(2, 700, 50, 20),
+                recipe(3, 300, 32, 20),
+                recipe(4, 480, 10, 5),
+                recipe(5, 500, 40, 45),
+                recipe(6, 350, 32, 60)));
+
+        RecipeQuery query = new RecipeQuery()
+                .atMost(Attribute.CALORIES, 500)
+                .atLeast(Attribute.PROTEIN, 30)
+                .orderBy(Attribute.COOKING_TIME, false);
+        assertEquals(Arrays.asList(3, 1, 5, 6), ids(engine.query(query)));
+        assertEquals(Arrays.asList(3, 1), ids(engine.query(query.limit(2))));
+
+        // Equal values keep catalog order in both directions
+        assertEquals(Arrays.asList(2, 5, 1, 3, 6),
+                ids(engine.query(new RecipeQuery().atLeast(Attribute.PROTEIN, 30).orderBy(Attribute.PROTEIN, true))));
+        assertEquals(Arrays.asList(2, 5, 1, 3),
+                ids(engine.query(new RecipeQuery().orderBy(Attribute.PROTEIN, true).limit(4))));
+        assertEquals(Arrays.asList(1, 2, 3),
+                ids(engine.query(new RecipeQuery().limit(3))));
+
+        assertTrue(engine.query(new RecipeQuery().where(Attribute.CALORIES, 501, 699)).isEmpty());
+        assertTrue(engine.query(new RecipeQuery().atLeast(Attribute.CALORIES, 400).atMost(Attribute.CALORIES, 300)).isEmpty());
+        assertTrue(engine.query(new RecipeQuery().limit(0)).isEmpty());
+    }
+
+    /**
+     * Verifies queries over a large catalog against a full scan.
+     */
+    @Test
+    public void testLargeCatalogMatchesScan() {
+        Random random = new Random(23);
+        List<Recipe> recipes = new ArrayList<>();
+        for (int id = 1; id <= 100_000; id++) {
+            recipes.add(recipe(id, random.nextInt(1500), random.nextInt(800) / 10.0, 5 + random.nextInt(120)));
+        }
+        RecipeQueryEngine engine = new RecipeQueryEngine(recipes);
+        assertEquals(recipes.size(), engine.size());
+
+        RecipeQuery query = new RecipeQuery()
+                .where(Attribute.CALORIES, 200, 600)
+                .atLeast(Attribute.PROTEIN, 40)
+                .orderBy(Attribute.COOKING_TIME, false)
+                .limit(50);
+        List<Integer> expected = recipes.stream()
+                .filter(r -> r.getCalories() >= 200 && r.getCalories() <= 600 && (float) r.getProtein() >= 40)
+                .sorted(Comparator.comparingInt(Recipe::getCookingTime))
+                .limit(50)
+                .map(Recipe::getRecipeId)
+                .collect(Collectors.toList());
+        assertEquals(expected, ids(engine.query(query)));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100; i++) {
+            engine.query(query);
+        }
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+    }
+}
@@ -0,0 +1,155 @@
+package test;
+
+import dao.mappers.PreparationStep;
+import dao.mappers.Recipe;
+import dao.mappers.RecipeIngredient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import service.RecipeSearchIndex;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the in-memory recipe search index.
+ * Covers ranking across fields, prefix matching, Chinese dish names and incremental updates.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class RecipeSearchIndexTest {
+
+    private RecipeSearchIndex index;
+
+    /**
+     * Builds an index over a few sample recipes before each test.
+     */
+    @BeforeEach
+    public void setUp() {
+        index = new RecipeSearchIndex();
+        index.rebuild(Arrays.asList(
+                recipe(1, "Beef Brisket Stew with Tomatoes and Potatoes",
+                        new String[]{"Beef brisket", "Potato", "Tomato"},
+                        new String[]{"Blanch the beef", "Simmer over low heat"}),
+                recipe(2, "Scrambled Eggs with Tomatoes",
+                        new String[]{"Eggs", "Tomato"},
+                        new String[]{"Beat the eggs", "Stir-fry the tomatoes"}),
+                recipe(3, "番茄炒蛋",
+                        new String[]{"番茄", "鸡蛋"},
+                        new String[]{"番茄切块"}),
+                recipe(4, "Braised Pork",
+                        new String[]{"Pork belly", "Soy sauce"},
+                        new String[]{"Serve with beef broth"})));
+    }
+
+    /**
+     * Verifies that a name match ranks above an ingredient or step match.
+     */
+    @Test
+    public void testNameMatchRanksFirst() {
+        assertEquals(Arrays.asList(1, 4), index.search("beef"));
+        assertEquals(Arrays.asList(4), index.search("pork"));
+    }
+
+    /**
+     * Verifies that searches ignore case and match word prefixes.
+     */
+    @Test
+    public void testCaseInsensitivePrefixSearch() {
+        assertEquals(Arrays.asList(2, 1), index.search("TOMAT"));
+        assertEquals(Arrays.asList(4), index.search("Brais"));
+    }
+
+    /**
+     * Verifies that every query term must match.
+     */
+    @Test
+    public void testAllTermsMustMatch() {
+        assertEquals(Arrays.asList(2), index.search("tomato eggs"));
+        assertTrue(index.search("beef chocolate").isEmpty());
+        assertTrue(index.search("   ").isEmpty());
+    }
+
+    /**
+     * Verifies that Chinese dish names are found by single characters and by substrings.
+     */
+    @Test
+    public void testChineseSearch() {
+        assertEquals(Arrays.asList(3), index.search("番茄"));
+        assertEquals(Arrays.asList(3), index.search("炒蛋"));
+        assertEquals(Arrays.asList(3), index.search("蛋"));
+        assertTrue(index.search("蛋炒").isEmpty());
+    }
+
+    /**
+     * Verifies that put and remove keep the index up to date.
+     */
+    @Test
+    public void testIncrementalUpdates() {
+        index.put(recipe(2, "Tomato Soup", new String[]{"Tomato"}, new String[]{"Blend"}));
+        assertTrue(index.search("eggs").isEmpty());
+        assertEquals("Tomato Soup", index.getDocument(2).getRecipeName());
+
+        index.put(recipe(5, "Egg Fried Rice", new String[]{"Rice", "Eggs"}, new String[]{}));
+        assertEquals(Arrays.asList(5), index.search("egg"));
+
+        index.remove(1);
+        assertEquals(Arrays.asList(4), index.search("beef"));
+        assertNull(index.getDocument(1));
+        assertEquals(4, index.size());
+    }
+
+    /**
+     * Verifies that writes made while a rebuild reads its recipes are applied on top of the snapshot.
+     */
+    @Test
+    public void testWritesDuringRebuildAreKept() {
+        List<Recipe> snapshot = Arrays.asList(
+                recipe(1, "Beef Brisket Stew", new String[]{"Beef brisket"}, new String[]{}),
+                recipe(2, "Scrambled Eggs", new String[]{"Eggs"}, new String[]{}));
+        index.rebuild(() -> {
+            assertTrue(index.acceptsUpdates());
+            // Written after the snapshot was read, before the rebuild publishes it
+            index.put(recipe(6, "Mushroom Risotto", new String[]{"Rice"}, new String[]{}));
+            index.put(recipe(2, "Tomato Soup", new String[]{"Tomato"}, new String[]{}));
+            index.remove(1);
+            return snapshot;
+        });
+
+        assertTrue(index.isBuilt());
+        assertEquals(Arrays.asList(6), index.search("risotto"));
+        assertEquals("Tomato Soup", index.getDocument(2).getRecipeName());
+        assertTrue(index.search("eggs").isEmpty());
+        assertNull(index.getDocument(1));
+        assertEquals(2, index.size());
+    }
+
+    /**
+     * Verifies that a failed rebuild leaves the index as it was and applies later writes directly.
+     */
+    @Test
+    public void testFailedRebuildKeepsIndex() {
+        assertThrows(IllegalStateException.class, () -> index.rebuild(() -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        assertEquals(4, index.size());
+        index.remove(4);
+        assertEquals(Arrays.asList(1), index.search("beef"));
+    }
+
+    private Recipe recipe(int recipeId, String name, String[] ingredientNames, String[] stepTexts) {
+        Recipe recipe = new Recipe(recipeId, name, 1, 10, 10, "src/images/dishes/" + recipeId + ".jpg");
+        List<RecipeIngredient> ingredients = recipe.getIngredients();
+        for (String ingredientName : ingredientNames) {
+            ingredients.add(new RecipeIngredient(recipeId, ingredientName, 100.0f, "g", "", 0f, 0f, 0f, 0f));
+        }
+        List<PreparationStep> steps = recipe.getPreparationSteps();
+        for (int i = 0; i < stepTexts.length; i++) {
+            steps.add(new PreparationStep(recipeId, i + 1, stepTexts[i]));
+        }
+        return recipe;
+    }
+}
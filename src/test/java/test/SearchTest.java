@@ -7,6 +7,7 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
+import model.AsyncModel;
 import model.Model;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -61,7 +62,7 @@ public class SearchTest {
         // Inject components using reflection
         setField(controller, "searchField", searchField);
         setField(controller, "searchButton", searchButton);
-        setField(controller, "model", mockModel);
+        setField(controller, "asyncModel", new AsyncModel(() -> mockModel));
     }
 
     /**
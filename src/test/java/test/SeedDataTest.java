@@ -0,0 +1,60 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the database scripts keep the curated nutrition totals of the sample recipes.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class SeedDataTest {
+
+    private static final Pattern RECIPE_ROW = Pattern.compile(
+            "\\((\\d+),'[^']*',\\d+,\\d+,\\d+,'[^']*',(\\d+),([\\d.]+),([\\d.]+),([\\d.]+),([\\d.]+)\\)");
+    private static final Pattern RECIPE_UPDATE = Pattern.compile("(?i)UPDATE\\s+`?recipe`?\\s");
+
+    private static String read(String script) throws IOException {
+        return new String(Files.readAllBytes(Paths.get("src/sql", script)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Verifies that the sample recipes are loaded with their curated calories, protein, carbohydrates,
+     * fat and fiber.
+     */
+    @Test
+    public void testSeedTotalsAreCurated() throws IOException {
+        Map<Integer, String> totals = new HashMap<>();
+        Matcher matcher = RECIPE_ROW.matcher(read("cookbook.sql"));
+        while (matcher.find()) {
+            totals.put(Integer.parseInt(matcher.group(1)), matcher.group(2) + " " + matcher.group(3) + " "
+                    + matcher.group(4) + " " + matcher.group(5) + " " + matcher.group(6));
+        }
+        assertEquals(11, totals.size());
+        assertEquals("585 12.00 9.00 55.00 0.00", totals.get(100));
+        assertEquals("450 28.00 35.00 18.00 6.00", totals.get(101));
+        assertEquals("220 12.00 15.00 14.00 4.00", totals.get(110));
+    }
+
+    /**
+     * Verifies that neither the schema nor the fiber migration recomputes the totals of existing recipes
+     * from the ingredient rows, whose nutrition is given per 100 g rather than per unit of quantity.
+     */
+    @Test
+    public void testScriptsDoNotRecomputeTotals() throws IOException {
+        assertFalse(RECIPE_UPDATE.matcher(read("cookbook.sql")).find());
+        assertFalse(RECIPE_UPDATE.matcher(read("add_ingredient_fiber.sql")).find());
+    }
+}
@@ -0,0 +1,59 @@
+package test;
+
+import org.junit.jupiter.api.Test;
+import service.UnitConverter;
+import service.UnitConverter.Dimension;
+import service.UnitConverter.Unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing units and converting quantities between them.
+ *
+ * @author Mengfei Chen and Ziang Liu
+ * @version 1.0
+ * @since 1.0
+ */
+public class UnitConverterTest {
+
+    /**
+     * Verifies that spellings of a unit parse to the same canonical unit.
+     */
+    @Test
+    public void testParse() {
+        Unit tablespoon = UnitConverter.parse("tbsp");
+        assertSame(tablespoon, UnitConverter.parse(" Tablespoons "));
+        assertSame(tablespoon, UnitConverter.parse("Tbsp."));
+        assertEquals(Dimension.VOLUME, tablespoon.getDimension());
+        assertSame(UnitConverter.parse("pieces"), UnitConverter.parse("个"));
+        assertNull(UnitConverter.parse("handful"));
+        assertNull(UnitConverter.parse(null));
+    }
+
+    /**
+     * Verifies conversions between any two units of the same dimension, including pairs with no direct rule.
+     */
+    @Test
+    public void testConvertWithinDimension() {
+        assertEquals(1000, UnitConverter.convert(1, "kg", "grams", null), 1e-9);
+        assertEquals(35.274, UnitConverter.convert(1, "kg", "oz", null), 1e-3);
+        assertEquals(16, UnitConverter.convert(1, "lbs", "oz", null), 1e-3);
+        assertEquals(3, UnitConverter.convert(1, "tbsp", "tsp", null), 1e-3);
+        assertEquals(4.2268, UnitConverter.convert(1, "liters", "cups", null), 1e-3);
+        assertTrue(Double.isNaN(UnitConverter.convert(1, "kg", "handful", null)));
+    }
+
+    /**
+     * Verifies that volume and count are converted to mass through the ingredient's density and piece weight.
+     */
+    @Test
+    public void testConvertToGramsByIngredient() {
+        assertEquals(100, UnitConverter.toGrams(100, "ml", "water"), 1e-3);
+        assertEquals(91, UnitConverter.toGrams(100, "ml", "Extra virgin olive oil"), 1e-3);
+        assertEquals(125.4, UnitConverter.toGrams(1, "cup", "flour"), 0.1);
+        assertEquals(100, UnitConverter.toGrams(2, "pieces", "eggs"), 1e-3);
+        assertEquals(15, UnitConverter.toGrams(3, "cloves", "garlic"), 1e-3);
+        assertEquals(UnitConverter.DEFAULT_PIECE_WEIGHT, UnitConverter.toGrams(1, "piece", "dragon fruit"), 1e-3);
+        assertEquals(42, UnitConverter.toGrams(42, "handful", "spinach"), 1e-3);
+    }
+}